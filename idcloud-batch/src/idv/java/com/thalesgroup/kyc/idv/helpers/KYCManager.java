@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers;
+
+/**
+ * Stand-in for the application class, configured from the command line instead of the QR code and the settings.
+ * Error messages are not localised, the report keeps the result codes.
+ */
+public final class KYCManager {
+
+    //region Definition
+
+    public final static String KYC_QR_CODE_VERSION_KYC2 = "kyc2";
+
+    private static KYCManager sInstance = null;
+
+    private String mBaseUrl = "";
+    private String mBaseCredentials;
+    private String mKycQRCodeVersion = "";
+    private boolean mFacialRecognition;
+
+    //endregion
+
+    //region Life Cycle
+
+    private KYCManager() {
+    }
+
+    public synchronized static KYCManager getInstance() {
+        if (sInstance == null) {
+            sInstance = new KYCManager();
+        }
+
+        return sInstance;
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Configures the backend.
+     *
+     * @param baseUrl           Verification endpoint.
+     * @param baseCredentials   Base64 encoded basic credentials, {@code null} if the backend does not authenticate.
+     * @param facialRecognition {@code true} if the enhanced selfie of the sets is verified.
+     */
+    public void configure(final String baseUrl, final String baseCredentials, final boolean facialRecognition) {
+        mBaseUrl = baseUrl;
+        mBaseCredentials = baseCredentials;
+        mKycQRCodeVersion = baseCredentials != null ? KYC_QR_CODE_VERSION_KYC2 : "";
+        mFacialRecognition = facialRecognition;
+    }
+
+    public boolean isNfcMode() {
+        return false;
+    }
+
+    public boolean isFacialRecognition() {
+        return mFacialRecognition;
+    }
+
+    public String getBaseUrl() {
+        return mBaseUrl;
+    }
+
+    public String getBaseCredentials() {
+        return mBaseCredentials;
+    }
+
+    public String getKycQRCodeVersion() {
+        return mKycQRCodeVersion;
+    }
+
+    public String getErrorMessage(final String errorCode, final String defaultMessage) {
+        return defaultMessage;
+    }
+
+    public String getErrorMessage(final String errorCode) {
+        return getErrorMessage(errorCode, "Unknown error!");
+    }
+
+    //endregion
+}
@@ -0,0 +1,190 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idvconnect.batch;
+
+import android.content.Context;
+
+import com.thalesgroup.kyc.idvconnect.helpers.KYCCaptureStore;
+import com.thalesgroup.kyc.idvconnect.helpers.KYCManager;
+import com.thalesgroup.kyc.idvconnect.helpers.communication.KYCBatchRunner;
+
+import java.io.File;
+
+/**
+ * Runs {@link KYCBatchRunner} on the JVM, with the backend configured from the command line:
+ * <pre>
+ * KYCBatchMain &lt;folder&gt; --url &lt;url&gt; [--credentials &lt;base64&gt;] [--parallelism &lt;n&gt;] [--facial]
+ *     [--liveness active|passive|enhanced]
+ * </pre>
+ * The exit code is {@code 0} once the report is written to the folder.
+ */
+public final class KYCBatchMain {
+
+    //region Definition
+
+    private static final String USAGE = "Usage: KYCBatchMain <folder> --url <url> [--credentials <base64>]"
+                                        + " [--parallelism <n>] [--facial]"
+                                        + " [--liveness active|passive|enhanced]";
+
+    //endregion
+
+    //region Life Cycle
+
+    private KYCBatchMain() {
+        // Entry point only.
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Runs the folder of captures.
+     *
+     * @param args Command line arguments.
+     * @throws InterruptedException If interrupted while waiting for the run.
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        File directory = null;
+        String url = null;
+        String credentials = null;
+        int parallelism = 1;
+        boolean facialRecognition = false;
+        KYCManager.FaceLivenessMode faceLivenessMode = KYCManager.FaceLivenessMode.PASSIVE;
+
+        for (int index = 0; index < args.length; index++) {
+            switch (args[index]) {
+                case "--url":
+                    url = value(args, ++index);
+                    break;
+                case "--credentials":
+                    credentials = value(args, ++index);
+                    break;
+                case "--parallelism":
+                    parallelism = parseCount(value(args, ++index));
+                    break;
+                case "--facial":
+                    facialRecognition = true;
+                    break;
+                case "--liveness":
+                    faceLivenessMode = parseFaceLivenessMode(value(args, ++index));
+                    break;
+                default:
+                    if (args[index].startsWith("--") || directory != null) {
+                        exit("Unknown argument: " + args[index]);
+                    }
+                    directory = new File(args[index]);
+                    break;
+            }
+        }
+
+        if (directory == null || url == null) {
+            exit("Missing folder or url.");
+        }
+
+        KYCManager.getInstance().configure(url, credentials, facialRecognition, faceLivenessMode);
+        // Same location on each run, so that the captures left by an interrupted run are removed.
+        KYCCaptureStore.initialise(new Context(new File(System.getProperty("java.io.tmpdir"), "kyc-batch")));
+
+        final KYCBatchRunner runner = new KYCBatchRunner(directory, parallelism);
+        runner.start();
+        System.exit(runner.awaitCompletion() ? 0 : 1);
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Gets the value of an option.
+     *
+     * @param args  Command line arguments.
+     * @param index Index of the value.
+     * @return Value.
+     */
+    private static String value(final String[] args, final int index) {
+        if (index >= args.length) {
+            exit("Missing value of " + args[index - 1]);
+        }
+
+        return args[index];
+    }
+
+    /**
+     * Parses a positive count.
+     *
+     * @param value Value of the option.
+     * @return Count.
+     */
+    private static int parseCount(final String value) {
+        try {
+            final int count = Integer.parseInt(value);
+            if (count > 0) {
+                return count;
+            }
+        } catch (final NumberFormatException exception) {
+            // Reported below.
+        }
+
+        exit("Invalid count: " + value);
+        return 0;
+    }
+
+    /**
+     * Parses a face liveness mode.
+     *
+     * @param value Value of the option.
+     * @return Face liveness mode.
+     */
+    private static KYCManager.FaceLivenessMode parseFaceLivenessMode(final String value) {
+        switch (value) {
+            case "active":
+                return KYCManager.FaceLivenessMode.ACTIVE;
+            case "passive":
+                return KYCManager.FaceLivenessMode.PASSIVE;
+            case "enhanced":
+                return KYCManager.FaceLivenessMode.ENHANCED_PASSIVE;
+            default:
+                exit("Invalid liveness mode: " + value);
+                return null;
+        }
+    }
+
+    /**
+     * Prints an error and the usage, and exits.
+     *
+     * @param error Error.
+     */
+    private static void exit(final String error) {
+        System.err.println(error);
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+
+    //endregion
+}
@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package android.graphics;
+
+import java.io.OutputStream;
+
+/**
+ * JVM stand-in for the Android class. Only declares the API referenced by the batch sources, the captures of the
+ * manifest are sent as they are and never decoded.
+ */
+public final class Bitmap {
+
+    public enum CompressFormat {
+        JPEG,
+        PNG,
+        WEBP
+    }
+
+    private Bitmap() {
+        // Not instantiable off device.
+    }
+
+    public static Bitmap createScaledBitmap(final Bitmap source, final int width, final int height, final boolean filter) {
+        throw new UnsupportedOperationException("Bitmap is not available on the JVM.");
+    }
+
+    public boolean compress(final CompressFormat format, final int quality, final OutputStream stream) {
+        throw new UnsupportedOperationException("Bitmap is not available on the JVM.");
+    }
+
+    public int getWidth() {
+        throw new UnsupportedOperationException("Bitmap is not available on the JVM.");
+    }
+
+    public int getHeight() {
+        throw new UnsupportedOperationException("Bitmap is not available on the JVM.");
+    }
+
+    public int getByteCount() {
+        throw new UnsupportedOperationException("Bitmap is not available on the JVM.");
+    }
+
+    public void recycle() {
+        // Nothing to release.
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package android.net;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+
+/**
+ * JVM stand-in for the Android class. Only declares the API referenced by the batch sources.
+ */
+public final class Uri {
+
+    private final String mUri;
+
+    private Uri(final String uri) {
+        mUri = uri;
+    }
+
+    public static Uri parse(final String uri) {
+        return new Uri(uri);
+    }
+
+    public Builder buildUpon() {
+        return new Builder(mUri);
+    }
+
+    @Override
+    public String toString() {
+        return mUri;
+    }
+
+    /**
+     * Appends path segments to the URI, query and fragment are not supported.
+     */
+    public static final class Builder {
+
+        private final StringBuilder mUri;
+
+        private Builder(final String uri) {
+            mUri = new StringBuilder(uri);
+        }
+
+        public Builder appendPath(final String segment) {
+            if (mUri.length() == 0 || mUri.charAt(mUri.length() - 1) != '/') {
+                mUri.append('/');
+            }
+
+            try {
+                mUri.append(URLEncoder.encode(segment, "UTF-8").replace("+", "%20"));
+            } catch (final UnsupportedEncodingException exception) {
+                throw new IllegalStateException(exception);
+            }
+
+            return this;
+        }
+
+        public Uri build() {
+            return new Uri(mUri.toString());
+        }
+
+        @Override
+        public String toString() {
+            return mUri.toString();
+        }
+    }
+}
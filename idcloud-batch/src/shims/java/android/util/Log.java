@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package android.util;
+
+/**
+ * JVM stand-in for the Android class. Messages are written to the standard error, debug messages are dropped.
+ */
+public final class Log {
+
+    private Log() {
+        // Utility class.
+    }
+
+    public static int d(final String tag, final String message) {
+        return 0;
+    }
+
+    public static int i(final String tag, final String message) {
+        return print("I", tag, message, null);
+    }
+
+    public static int w(final String tag, final String message) {
+        return print("W", tag, message, null);
+    }
+
+    public static int e(final String tag, final String message) {
+        return print("E", tag, message, null);
+    }
+
+    public static int e(final String tag, final String message, final Throwable throwable) {
+        return print("E", tag, message, throwable);
+    }
+
+    private static synchronized int print(final String level,
+                                          final String tag,
+                                          final String message,
+                                          final Throwable throwable) {
+        System.err.println(level + "/" + tag + ": " + message);
+        if (throwable != null) {
+            throwable.printStackTrace();
+        }
+        return 0;
+    }
+}
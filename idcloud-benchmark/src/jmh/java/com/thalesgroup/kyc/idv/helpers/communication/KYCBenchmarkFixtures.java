@@ -0,0 +1,222 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers.communication;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Realistic payloads for the benchmarks, generated deterministically so that runs are comparable.
+ *
+ * Images are random bytes framed by the JPEG markers: compressed image data has about the same entropy, which is
+ * what matters for Base64 and JSON processing. Sizes follow what the apps capture and receive.
+ */
+public final class KYCBenchmarkFixtures {
+
+    //region Definition
+
+    /**
+     * Size of a document side captured by the document SDK.
+     */
+    public static final int DOCUMENT_IMAGE_SIZE = 3 * 1024 * 1024;
+
+    /**
+     * Size of each frame of the Aware server package.
+     */
+    public static final int AWARE_FRAME_SIZE = 200 * 1024;
+
+    /**
+     * Number of frames of the Aware server package.
+     */
+    public static final int AWARE_FRAME_COUNT = 8;
+
+    /**
+     * Size of the portraits returned in the verification result.
+     */
+    public static final int PORTRAIT_SIZE = 100 * 1024;
+
+    private static final long SEED = 0x4B5943L;
+
+    //endregion
+
+    //region Life Cycle
+
+    private KYCBenchmarkFixtures() {
+        // Utility class.
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Creates a JPEG like image.
+     *
+     * @param size Size of the image in bytes.
+     * @param seed Seed, different seeds give different images.
+     * @return Image.
+     */
+    public static byte[] image(final int size, final int seed) {
+        final byte[] image = new byte[size];
+        new Random(SEED + seed).nextBytes(image);
+
+        // SOI and EOI markers.
+        image[0] = (byte) 0xFF;
+        image[1] = (byte) 0xD8;
+        image[size - 2] = (byte) 0xFF;
+        image[size - 1] = (byte) 0xD9;
+
+        return image;
+    }
+
+    /**
+     * Creates the Aware server package returned by the liveness SDK at the end of the selfie capture.
+     *
+     * @return Server package JSON.
+     */
+    public static String awareServerPackage() {
+        final StringBuilder json = new StringBuilder();
+
+        json.append("{\"video\":{\"meta_data\":{")
+            .append("\"client_device_brand\":\"samsung\",")
+            .append("\"client_device_model\":\"SM-G991B\",")
+            .append("\"client_os_version\":\"13\",")
+            .append("\"client_version\":\"3.3.1\",")
+            .append("\"localization\":\"en-US\",")
+            .append("\"programming_language_version\":\"Java 11\",")
+            .append("\"username\":\"kyc\"")
+            .append("},\"workflow_data\":{\"workflow\":\"charlie4\",\"frames\":[");
+
+        for (int index = 0; index < AWARE_FRAME_COUNT; index++) {
+            if (index > 0) {
+                json.append(',');
+            }
+
+            json.append("{\"data\":\"").append(base64(image(AWARE_FRAME_SIZE, 100 + index)))
+                .append("\",\"timestamp\":").append(1_600_000_000_000L + index * 66L)
+                .append(",\"tags\":[\"autocapture\"]}");
+        }
+
+        return json.append("]}}}").toString();
+    }
+
+    /**
+     * Creates the data groups read from the chip of a passport: MRZ, facial image, signature image and the
+     * optional details, with sizes as found on common documents.
+     *
+     * @return Data groups by name.
+     */
+    public static Map<String, byte[]> chipDataGroups() {
+        final Map<String, byte[]> dataGroups = new LinkedHashMap<>();
+
+        dataGroups.put("DG1", image(93, 1));
+        dataGroups.put("DG2", image(18 * 1024, 2));
+        dataGroups.put("DG7", image(6 * 1024, 7));
+        dataGroups.put("DG11", image(180, 11));
+        dataGroups.put("DG12", image(140, 12));
+        dataGroups.put("DG14", image(350, 14));
+        dataGroups.put("DG15", image(160, 15));
+
+        return dataGroups;
+    }
+
+    /**
+     * Creates the read status of the data groups, all read successfully.
+     *
+     * @param dataGroups Data groups.
+     * @return Status by data group name.
+     */
+    public static Map<String, Integer> chipStatus(final Map<String, byte[]> dataGroups) {
+        final Map<String, Integer> status = new LinkedHashMap<>();
+
+        for (final String name : dataGroups.keySet()) {
+            status.put(name, 0);
+        }
+
+        return status;
+    }
+
+    /**
+     * Creates the response of a finished verification with document, face and liveness results, including the
+     * document portrait, the selfie and the captured liveness frame.
+     *
+     * @return Server response JSON.
+     */
+    public static String finishedResult() {
+        final StringBuilder json = new StringBuilder();
+
+        json.append("{\"id\":\"8a6f2b7e-7b1c-4e0e-9d55-3a6c1a3b9e21\",\"status\":\"Finished\",\"state\":{\"result\":{")
+            .append("\"code\":0,\"message\":\"Verification finished\",\"type\":\"Success\",\"object\":{")
+            .append("\"document\":{")
+            .append("\"firstName\":\"ANNA MARIA\",\"surname\":\"ERIKSSON\",\"birthDate\":\"1974-08-12\",")
+            .append("\"expiryDate\":\"2031-04-15\",\"documentType\":\"Passport\",\"gender\":\"F\",")
+            .append("\"documentNumber\":\"L898902C3\",\"nationality\":\"UTO\",\"result\":\"Passed\",")
+            .append("\"totalVerifications\":38,")
+            .append("\"portrait\":\"").append(base64(image(PORTRAIT_SIZE, 200))).append("\",")
+            .append("\"mrzTextFields\":{")
+            .append("\"MrzRawData\":\"P<UTOERIKSSON<<ANNA<MARIA<<<<<<<<<<<<<<<<<<<L898902C36UTO7408122F1204159ZE184226B<<<<<10\",")
+            .append("\"DocumentType\":\"P\",\"IssuingState\":\"UTO\",\"LastName\":\"ERIKSSON\",")
+            .append("\"FirstName\":\"ANNA MARIA\",\"DocumentNumber\":\"L898902C3\",\"DateOfBirth\":\"740812\",")
+            .append("\"Nationality\":\"UTO\",\"Sex\":\"F\",\"DateOfExpiry\":\"310415\"},")
+            .append("\"failedVerifications\":[");
+
+        for (int index = 0; index < 3; index++) {
+            if (index > 0) {
+                json.append(',');
+            }
+
+            json.append("{\"category\":\"Visible\",\"name\":\"Check ").append(index)
+                .append("\",\"type\":\"Pattern\",\"score\":").append(40 + index)
+                .append(",\"threshold\":50}");
+        }
+
+        json.append("]},")
+            .append("\"face\":{\"result\":\"Passed\",\"score\":92,")
+            .append("\"image\":\"").append(base64(image(PORTRAIT_SIZE, 201))).append("\"},")
+            .append("\"enhancedLiveness\":{\"video\":{")
+            .append("\"autocapture_result\":{\"captured_frame\":\"").append(base64(image(PORTRAIT_SIZE, 202)))
+            .append("\",\"captured_frame_is_constructed\":false,\"feedback\":[]},")
+            .append("\"liveness_result\":{\"score\":100,\"feedback\":[]}}}")
+            .append("}}}}");
+
+        return json.toString();
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    private static String base64(final byte[] data) {
+        return new String(Base64.getEncoder().encode(data), StandardCharsets.US_ASCII);
+    }
+
+    //endregion
+}
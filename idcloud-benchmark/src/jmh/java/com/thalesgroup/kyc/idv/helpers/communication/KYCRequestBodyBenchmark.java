@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers.communication;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writing of the document verification request, front and back side, to the connection. The images are encoded to
+ * Base64 while the body is written, the output itself is discarded.
+ */
+@State(Scope.Benchmark)
+public class KYCRequestBodyBenchmark {
+
+    /**
+     * Output stream which only counts the bytes written.
+     */
+    private static final class CountingSink extends OutputStream {
+        private long mCount;
+
+        @Override
+        public void write(final int value) {
+            mCount++;
+        }
+
+        @Override
+        public void write(final byte[] buffer, final int offset, final int length) {
+            mCount += length;
+        }
+    }
+
+    private byte[] mDocFront;
+    private byte[] mDocBack;
+
+    @Setup
+    public void setup() {
+        mDocFront = KYCBenchmarkFixtures.image(KYCBenchmarkFixtures.DOCUMENT_IMAGE_SIZE, 400);
+        mDocBack = KYCBenchmarkFixtures.image(KYCBenchmarkFixtures.DOCUMENT_IMAGE_SIZE, 401);
+    }
+
+    @Benchmark
+    public long documentRequest() throws JSONException, IOException {
+        final KYCRequestBody body = new KYCRequestBody();
+
+        // Same structure as the document verification request.
+        final JSONObject front = new JSONObject();
+        front.put("white", body.attachBinary(mDocFront));
+
+        final JSONObject back = new JSONObject();
+        back.put("white", body.attachBinary(mDocBack));
+
+        final JSONObject document = new JSONObject();
+        document.put("front", front);
+        document.put("back", back);
+        document.put("captureMethod", "SDK");
+
+        final JSONObject input = new JSONObject();
+        input.put("document", document);
+
+        final JSONObject json = new JSONObject();
+        json.put("name", "Verify_Document_Face_Enhanced_Liveness");
+        json.put("input", input);
+        body.setJson(json);
+
+        final CountingSink sink = new CountingSink();
+        body.writeTo(sink);
+
+        return sink.mCount;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers.communication;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+
+/**
+ * Decision on failed verification results, covering a range rule, a conditional rule (negative face match) and the
+ * default decision.
+ */
+@State(Scope.Benchmark)
+public class KYCResultRulesBenchmark {
+
+    private KYCResponse[] mResults;
+
+    @Setup
+    public void setup() throws IOException {
+        mResults = new KYCResponse[]{
+                failedResult(4602, null),
+                failedResult(5332, null),
+                failedResult(0, "MATCH_NEGATIVE"),
+                failedResult(9999, null)
+        };
+    }
+
+    @Benchmark
+    public void decide(final Blackhole blackhole) {
+        for (final KYCResponse result : mResults) {
+            blackhole.consume(KYCResultRules.FACE_FAILURE.decide(result));
+        }
+    }
+
+    /**
+     * Parses the result of a failed verification.
+     *
+     * @param code       Result code.
+     * @param faceResult Face match result or {@code null} if no face.
+     * @return Verification result.
+     * @throws IOException If the response cannot be parsed.
+     */
+    private static KYCResponse failedResult(final int code, final String faceResult) throws IOException {
+        final String object = faceResult == null ? "{}" : "{\"face\":{\"result\":\"" + faceResult + "\"}}";
+
+        return KYCServerResponse.parse("{\"id\":\"8a6f2b7e\",\"status\":\"Failed\",\"state\":{\"result\":{"
+                                       + "\"code\":" + code + ",\"message\":\"Failed\",\"object\":" + object
+                                       + "}}}").getResult();
+    }
+}
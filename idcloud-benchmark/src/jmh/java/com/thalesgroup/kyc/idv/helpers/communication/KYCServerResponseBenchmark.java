@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers.communication;
+
+import com.thalesgroup.kyc.idv.helpers.util.ImageUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parsing of a finished verification result with portraits, alone and followed by the decoding of the images as
+ * done when the result is displayed. The response is streamed from its bytes, as received from the connection.
+ */
+@State(Scope.Benchmark)
+public class KYCServerResponseBenchmark {
+
+    private byte[] mFinishedResult;
+
+    @Setup
+    public void setup() {
+        mFinishedResult = KYCBenchmarkFixtures.finishedResult().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public KYCResponse parse() throws IOException {
+        return KYCServerResponse.parse(new ByteArrayInputStream(mFinishedResult)).getResult();
+    }
+
+    @Benchmark
+    public void parseAndDecodeImages(final Blackhole blackhole) throws IOException {
+        final KYCResponse response = KYCServerResponse.parse(new ByteArrayInputStream(mFinishedResult)).getResult();
+
+        blackhole.consume(response.getDocument().getPortrait());
+        blackhole.consume(response.getFace().getImage());
+        blackhole.consume(ImageUtil.imageFromBase64(response.getEnhancedLiveness().getCapturedFrame()));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers.communication;
+
+import org.json.JSONException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.StringReader;
+import java.util.Map;
+
+/**
+ * Building of the request bodies which are created from captured data: the enhanced liveness request, which
+ * re-parses the whole Aware server package, and the NFC request, which encodes the chip data groups.
+ *
+ * The serialized body is returned, as {@code KYCRequestBody} serializes the JSON before sending it.
+ */
+@State(Scope.Benchmark)
+public class KYCVerificationJsonBenchmark {
+
+    private static final String SCENARIO = "Verify_Document_Face_Enhanced_Liveness";
+
+    private String mAwareServerPackage;
+    private Map<String, byte[]> mDataGroups;
+    private Map<String, Integer> mStatus;
+    private byte[] mCom;
+    private byte[] mSod;
+    private byte[] mSignature;
+
+    @Setup
+    public void setup() {
+        mAwareServerPackage = KYCBenchmarkFixtures.awareServerPackage();
+        mDataGroups = KYCBenchmarkFixtures.chipDataGroups();
+        mStatus = KYCBenchmarkFixtures.chipStatus(mDataGroups);
+        mCom = KYCBenchmarkFixtures.image(30, 300);
+        mSod = KYCBenchmarkFixtures.image(2 * 1024, 301);
+        mSignature = KYCBenchmarkFixtures.image(256, 302);
+    }
+
+    @Benchmark
+    public String enhancedLiveness() throws JSONException {
+        return KYCVerificationJson.enhancedLiveness(new StringReader(mAwareServerPackage), SCENARIO).toString();
+    }
+
+    @Benchmark
+    public String nfcVerification() throws JSONException {
+        return KYCVerificationJson.nfcVerification(mCom, mSod, mDataGroups, mStatus, mSignature, SCENARIO).toString();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers.util;
+
+import com.thalesgroup.kyc.idv.helpers.communication.KYCBenchmarkFixtures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Base64 encoding and decoding of captured images, from a selfie up to a high resolution document side.
+ */
+@State(Scope.Benchmark)
+public class ImageUtilBenchmark {
+
+    @Param({"262144", "1048576", "3145728", "6291456"})
+    public int mImageSize;
+
+    private byte[] mImage;
+    private String mBase64;
+
+    @Setup
+    public void setup() {
+        mImage = KYCBenchmarkFixtures.image(mImageSize, 500);
+        mBase64 = ImageUtil.base64FromImage(mImage);
+    }
+
+    @Benchmark
+    public String base64FromImage() {
+        return ImageUtil.base64FromImage(mImage);
+    }
+
+    @Benchmark
+    public byte[] imageFromBase64() {
+        return ImageUtil.imageFromBase64(mBase64);
+    }
+}
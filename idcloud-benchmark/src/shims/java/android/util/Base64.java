@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package android.util;
+
+/**
+ * JVM stand-in for the Android class, backed by {@code java.util.Base64}.
+ */
+public class Base64 {
+
+    public static final int DEFAULT = 0;
+    public static final int NO_PADDING = 1;
+    public static final int NO_WRAP = 2;
+    public static final int URL_SAFE = 8;
+    public static final int NO_CLOSE = 16;
+
+    private Base64() {
+        // Utility class.
+    }
+
+    public static byte[] encode(final byte[] input, final int flags) {
+        return encoder(flags).encode(input);
+    }
+
+    public static String encodeToString(final byte[] input, final int flags) {
+        return new String(encode(input, flags), java.nio.charset.StandardCharsets.US_ASCII);
+    }
+
+    public static byte[] decode(final String input, final int flags) {
+        return decoder(flags).decode(input);
+    }
+
+    public static byte[] decode(final byte[] input, final int flags) {
+        return decoder(flags).decode(input);
+    }
+
+    static java.util.Base64.Encoder encoder(final int flags) {
+        java.util.Base64.Encoder encoder;
+        if ((flags & URL_SAFE) != 0) {
+            encoder = java.util.Base64.getUrlEncoder();
+        } else if ((flags & NO_WRAP) != 0) {
+            encoder = java.util.Base64.getEncoder();
+        } else {
+            encoder = java.util.Base64.getMimeEncoder(76, new byte[] {'\n'});
+        }
+
+        return (flags & NO_PADDING) != 0 ? encoder.withoutPadding() : encoder;
+    }
+
+    static java.util.Base64.Decoder decoder(final int flags) {
+        // Like Android, the default decoder skips line breaks.
+        return (flags & URL_SAFE) != 0 ? java.util.Base64.getUrlDecoder() : java.util.Base64.getMimeDecoder();
+    }
+}
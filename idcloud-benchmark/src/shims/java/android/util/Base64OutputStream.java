@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package android.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * JVM stand-in for the Android class, backed by {@code java.util.Base64}.
+ */
+public class Base64OutputStream extends FilterOutputStream {
+
+    private final OutputStream mEncoder;
+
+    public Base64OutputStream(final OutputStream out, final int flags) {
+        super(out);
+
+        final boolean noClose = (flags & Base64.NO_CLOSE) != 0;
+        mEncoder = Base64.encoder(flags).wrap(new FilterOutputStream(out) {
+            @Override
+            public void write(final byte[] buffer, final int offset, final int length) throws IOException {
+                out.write(buffer, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!noClose) {
+                    out.close();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void write(final int value) throws IOException {
+        mEncoder.write(value);
+    }
+
+    @Override
+    public void write(final byte[] buffer, final int offset, final int length) throws IOException {
+        mEncoder.write(buffer, offset, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        mEncoder.close();
+    }
+}
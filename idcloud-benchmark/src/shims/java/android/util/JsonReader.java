@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package android.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * JVM stand-in for the Android class, backed by the Gson reader which it was derived from.
+ */
+public final class JsonReader implements Closeable {
+
+    private final com.google.gson.stream.JsonReader mReader;
+
+    public JsonReader(final Reader in) {
+        mReader = new com.google.gson.stream.JsonReader(in);
+    }
+
+    public void setLenient(final boolean lenient) {
+        mReader.setLenient(lenient);
+    }
+
+    public boolean isLenient() {
+        return mReader.isLenient();
+    }
+
+    public void beginArray() throws IOException {
+        mReader.beginArray();
+    }
+
+    public void endArray() throws IOException {
+        mReader.endArray();
+    }
+
+    public void beginObject() throws IOException {
+        mReader.beginObject();
+    }
+
+    public void endObject() throws IOException {
+        mReader.endObject();
+    }
+
+    public boolean hasNext() throws IOException {
+        return mReader.hasNext();
+    }
+
+    public JsonToken peek() throws IOException {
+        return JsonToken.valueOf(mReader.peek().name());
+    }
+
+    public String nextName() throws IOException {
+        return mReader.nextName();
+    }
+
+    public String nextString() throws IOException {
+        return mReader.nextString();
+    }
+
+    public boolean nextBoolean() throws IOException {
+        return mReader.nextBoolean();
+    }
+
+    public void nextNull() throws IOException {
+        mReader.nextNull();
+    }
+
+    public double nextDouble() throws IOException {
+        return mReader.nextDouble();
+    }
+
+    public long nextLong() throws IOException {
+        return mReader.nextLong();
+    }
+
+    public int nextInt() throws IOException {
+        return mReader.nextInt();
+    }
+
+    public void skipValue() throws IOException {
+        mReader.skipValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        mReader.close();
+    }
+}
@@ -71,15 +71,21 @@ import com.thalesgroup.kyc.idvconnect.gui.fragment.FragmentMissingPermissions;
 import com.thalesgroup.kyc.idvconnect.helpers.AbstractOption;
 import com.thalesgroup.kyc.idvconnect.helpers.KYCConfiguration;
 import com.thalesgroup.kyc.idvconnect.helpers.DataContainer;
+import com.thalesgroup.kyc.idvconnect.helpers.KYCCaptureStore;
 import com.thalesgroup.kyc.idvconnect.helpers.KYCManager;
+import com.thalesgroup.kyc.idvconnect.helpers.KYCStoredData;
 import com.thalesgroup.kyc.idvconnect.helpers.OptionAdapter;
 import com.thalesgroup.kyc.idvconnect.helpers.PermissionManager;
+import com.thalesgroup.kyc.idvconnect.helpers.communication.KYCBatchRunner;
+import com.thalesgroup.kyc.idvconnect.helpers.communication.KYCCommunication;
+import com.thalesgroup.kyc.idvconnect.helpers.util.ImageEncoder;
 import com.thalesgroup.kyc.idvconnect.helpers.util.ImageUtil;
 import com.thalesgroup.kyc.idvconnect.helpers.util.JsonUtil;
 
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -193,6 +199,12 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
         // Init all required SDK's
         KYCManager.getInstance().initialise(this);
 
+        // Debug builds only: verify a folder of captures without UI.
+        if (BuildConfig.DEBUG && getIntent().hasExtra(KYCBatchRunner.EXTRA_DIRECTORY)) {
+            new KYCBatchRunner(new File(getIntent().getStringExtra(KYCBatchRunner.EXTRA_DIRECTORY)),
+                               getIntent().getIntExtra(KYCBatchRunner.EXTRA_PARALLELISM, 1)).start();
+        }
+
         // Setup Toolbar, Drawer and related icon.
         mNavigationView.setNavigationItemSelectedListener(this);
         mOptionAdapter = new OptionAdapter(this, KYCManager.getInstance().getOptions());
@@ -291,9 +303,12 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
                     } else {
                         progressBarHide();
 
-                        // Raw data for image
+                        // Raw data for image, encoded in the background.
+                        final byte[] rawBytes = acuantImage.getRawBytes();
                         if (mFrontDocument) {
-                            DataContainer.instance().mDocFront = acuantImage.getRawBytes();
+                            DataContainer.instance().setDocFront(KYCCaptureStore.storeImage(() -> ImageEncoder.DOCUMENT.encode(rawBytes)));
+                            // Overlap session creation and front upload with the back side scan (opt-in).
+                            DataContainer.instance().mKYCCommunication.startFrontUpload();
                             if (mDocumentType == AbstractOption.DocumentType.IdCard) {
                                 scanBackSide();
                             } else if (KYCManager.getInstance().isFacialRecognition()) {
@@ -302,7 +317,7 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
                                 displayFragment(new FragmentKycOverview(), true, true);
                             }
                         } else {
-                            DataContainer.instance().mDocBack = acuantImage.getRawBytes();
+                            DataContainer.instance().setDocBack(KYCCaptureStore.storeImage(() -> ImageEncoder.DOCUMENT.encode(rawBytes)));
                             if (KYCManager.getInstance().isFacialRecognition()) {
                                 displayFragment(new FragmentFaceIdTutorial(), true, true);
                             } else {
@@ -371,7 +386,8 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
         } else {
             final Bitmap image = FaceCapturedImage.Companion.getBitmapImage();
             if (image != null) {
-                DataContainer.instance().mSelfie = ImageUtil.bitmapToBytes(image);
+                // Encoded in the background.
+                DataContainer.instance().setSelfie(KYCCaptureStore.storeImage(() -> ImageUtil.bitmapToBytes(image)));
                 displayFragment(new FragmentKycOverview(), true, true);
 
                 // Cleanup Cache directory
@@ -392,11 +408,12 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
         if (resultCode == FaceCaptureActivity.RESPONSE_SUCCESS_CODE) {
 
             // Get image
-            byte[] imageBytes = readFromFile(data.getStringExtra(FaceCaptureActivity.OUTPUT_URL));
+            final byte[] imageBytes = readFromFile(data.getStringExtra(FaceCaptureActivity.OUTPUT_URL));
 
             // Display capture result
             if (imageBytes != null) {
-                DataContainer.instance().mSelfie = imageBytes;
+                // Encoded in the background.
+                DataContainer.instance().setSelfie(KYCCaptureStore.storeImage(() -> ImageEncoder.SELFIE.encode(imageBytes)));
                 displayFragment(new FragmentKycOverview(), true, true);
 
                 // Cleanup Cache directory
@@ -436,8 +453,15 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
             builder.setNegativeButton("Cancel", null);
             builder.show();
         } else {
-            if (DataContainer.instance().mEnhancedSelfieJson != null) {
-                JsonUtil.logJson(DataContainer.instance().mEnhancedSelfieJson, "Server Aware Data");
+            final KYCStoredData serverPackage = DataContainer.instance().mEnhancedSelfieJson;
+            if (serverPackage != null) {
+                if (BuildConfig.DEBUG) {
+                    try {
+                        JsonUtil.logJson(serverPackage.readString(), "Server Aware Data");
+                    } catch (final IOException exception) {
+                        Log.w("KYC", "Cannot read the server package: " + exception.getMessage());
+                    }
+                }
                 displayFragment(new FragmentKycOverview(), true, true);
 
                 // Cleanup Cache directory
@@ -519,6 +543,8 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
      * @param docType Document type.
      */
     public void openDocScanActivity(final AbstractOption.DocumentType docType) {
+        KYCCommunication.warmUp();
+
         final Intent cameraIntent = new Intent(MainActivity.this, AcuantCameraActivity.class);
         cameraIntent.putExtra(Constants.ACUANT_EXTRA_CAMERA_OPTIONS,
                 new AcuantCameraOptions.DocumentCameraOptionsBuilder()
@@ -533,6 +559,8 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
      * Opens the face scanning activity.
      */
     public void openFaceScanActivity() {
+        KYCCommunication.warmUp();
+
         // Active liveness mode
         if (KYCManager.getInstance().isActiveFaceLivenessMode()) {
             final Intent cameraIntent = new Intent(MainActivity.this, FacialLivenessActivity.class);
@@ -19,6 +19,7 @@ import com.aware.face_liveness.api.exceptions.FaceLivenessException;
 import com.thalesgroup.kyc.idvconnect.R;
 import com.thalesgroup.kyc.idvconnect.gui.fragment.AwareLivenessFragment;
 import com.thalesgroup.kyc.idvconnect.helpers.DataContainer;
+import com.thalesgroup.kyc.idvconnect.helpers.KYCCaptureStore;
 
 import java.lang.ref.WeakReference;
 
@@ -80,8 +81,8 @@ public class AwareLivenessActivity extends ActivityWithSpinner implements FaceLi
 
     public void onCaptureEnd() {
         try {
-            DataContainer.instance().mEnhancedSelfieJson = mLivenessApi.getServerPackage();
-            DataContainer.instance().mSelfie = mLivenessApi.getCapturedImage();
+            DataContainer.instance().setEnhancedSelfieJson(KYCCaptureStore.storeText(mLivenessApi.getServerPackage()));
+            DataContainer.instance().setSelfie(KYCCaptureStore.storeImage(mLivenessApi.getCapturedImage()));
         } catch (FaceLivenessException e) {
             //getServerPackage can throw an exception on an error
             e.printStackTrace();
@@ -27,8 +27,6 @@
 
 package com.thalesgroup.kyc.idvconnect.gui.fragment;
 
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.os.Bundle;
 import android.util.DisplayMetrics;
 import android.view.KeyEvent;
@@ -45,10 +43,12 @@ import android.widget.TextView;
 import com.thalesgroup.kyc.idvconnect.R;
 import com.thalesgroup.kyc.idvconnect.helpers.DataContainer;
 import com.thalesgroup.kyc.idvconnect.helpers.KYCManager;
+import com.thalesgroup.kyc.idvconnect.helpers.KYCStoredData;
 import com.thalesgroup.kyc.idvconnect.helpers.communication.KYCCommunication;
 import com.thalesgroup.kyc.idvconnect.helpers.communication.KYCSession;
 import com.thalesgroup.kyc.idvconnect.helpers.communication.structures.KYCResponse;
 import com.thalesgroup.kyc.idvconnect.helpers.communication.structures.KycAlert;
+import com.thalesgroup.kyc.idvconnect.helpers.util.ImageLoader;
 
 import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.FragmentManager;
@@ -83,6 +83,7 @@ public class FragmentKycOverview extends AbstractFragmentBase {
 
     private Button mButtonNext;
     private KYCCommunication mKYCCommunication;
+    private KYCSession mSession;
 
     private View mRetValue;
     private int mRetryStep;
@@ -116,7 +117,7 @@ public class FragmentKycOverview extends AbstractFragmentBase {
         mLayoutCheckFace = mRetValue.findViewById(R.id.fragment_kyc_overview_layout_check_face);
 
         // Display current data.
-        final byte[] selfie = DataContainer.instance().mSelfie;
+        final KYCStoredData selfie = DataContainer.instance().mSelfie;
         showBitmap(selfie, mIvSelfie);
         showBitmap(DataContainer.instance().mDocFront, ivDocFront);
         showBitmap(DataContainer.instance().mDocBack, ivDocBack);
@@ -141,8 +142,8 @@ public class FragmentKycOverview extends AbstractFragmentBase {
         mRetValue.setOnKeyListener((view, keyCode, keyEvent) -> {
             if (keyCode == KeyEvent.KEYCODE_BACK && keyEvent.getAction() == KeyEvent.ACTION_UP ) {
                 getMainActivity().progressBarHide();
-                if (mKYCCommunication != null) {
-                    mKYCCommunication.removeListener();
+                if (mSession != null) {
+                    mSession.cancel();
                 }
             }
 
@@ -165,17 +166,33 @@ public class FragmentKycOverview extends AbstractFragmentBase {
      */
     private void showBitmap(final byte[] data,
                             final ImageView imageView) {
-        if (data != null) {
-            final Bitmap bitmap = BitmapFactory.decodeByteArray(data, 0, data.length);
-            final DisplayMetrics displayMetrics = new DisplayMetrics();
-            getMainActivity().getWindowManager().getDefaultDisplay().getMetrics(displayMetrics);
-
-            imageView.setMinimumHeight(displayMetrics.heightPixels);
-            imageView.setMinimumWidth(displayMetrics.widthPixels);
-            imageView.setImageBitmap(bitmap);
-        } else {
-            imageView.setVisibility(View.GONE);
-        }
+        resize(imageView);
+        ImageLoader.load(data, imageView);
+    }
+
+    /**
+     * Re sizes and displays a captured image. It is decoded once, later calls display the cached image.
+     *
+     * @param data Captured image.
+     * @param imageView {@code ImageView} in which to display the image.
+     */
+    private void showBitmap(final KYCStoredData data,
+                            final ImageView imageView) {
+        resize(imageView);
+        ImageLoader.load(data, imageView);
+    }
+
+    /**
+     * Re sizes an {@code ImageView} to the display.
+     *
+     * @param imageView {@code ImageView}.
+     */
+    private void resize(final ImageView imageView) {
+        final DisplayMetrics displayMetrics = new DisplayMetrics();
+        getMainActivity().getWindowManager().getDefaultDisplay().getMetrics(displayMetrics);
+
+        imageView.setMinimumHeight(displayMetrics.heightPixels);
+        imageView.setMinimumWidth(displayMetrics.widthPixels);
     }
 
     /**
@@ -418,7 +435,7 @@ public class FragmentKycOverview extends AbstractFragmentBase {
 
         // Send data to server and wait for response.
         mKYCCommunication = DataContainer.instance().mKYCCommunication;
-        mKYCCommunication.verifyDocument(new KYCSession.KYCResponseHandler() {
+        mSession = mKYCCommunication.verifyDocument(new KYCSession.KYCResponseHandler() {
                     @Override
                     public void onSuccess(final KYCResponse response) {
                         // Operation finished. We can hide progress bar.
@@ -450,6 +467,11 @@ public class FragmentKycOverview extends AbstractFragmentBase {
                         // Display issue description.
                         displayError(error, null, KYCSession.RETRY_ABORT);
                     }
+
+                    @Override
+                    public void onCancelled() {
+                        // Cancelled when leaving this screen, nothing to display.
+                    }
                 }, DataContainer.instance().mVerificationStep);
     }
 
@@ -1,6 +1,7 @@
 package com.thalesgroup.kyc.idvconnect.helpers;
 
 import com.thalesgroup.kyc.idvconnect.helpers.communication.KYCCommunication;
+import com.thalesgroup.kyc.idvconnect.helpers.util.ImageLoader;
 
 /**
  * Class to hold verification data.
@@ -12,12 +13,12 @@ public final class DataContainer {
     static private DataContainer sInstance = null;
 
     // Doc data
-    public byte[] mDocFront;
-    public byte[] mDocBack;
+    public KYCStoredData mDocFront;
+    public KYCStoredData mDocBack;
 
     // Selfie data
-    public byte[] mSelfie;
-    public String mEnhancedSelfieJson;
+    public KYCStoredData mSelfie;
+    public KYCStoredData mEnhancedSelfieJson;
 
     // Server session data
     public int mVerificationStep = KYCCommunication.STEP_START_VERIFICATION;
@@ -55,13 +56,79 @@ public final class DataContainer {
      * Clears all the data.
      */
     public void clearDocData() {
-        mDocFront = null;
-        mDocBack = null;
-        mSelfie = null;
-        mEnhancedSelfieJson = null;
+        mKYCCommunication.cancelFrontUpload();
+        ImageLoader.clear();
+        // Captured images and liveness data are deleted once the verifications sending them are done.
+        setDocFront(null);
+        setDocBack(null);
+        setSelfie(null);
+        setEnhancedSelfieJson(null);
         mVerificationStep = KYCCommunication.STEP_START_VERIFICATION;
     }
 
+    /**
+     * Sets the front side image of the document, the replaced one is released.
+     *
+     * @param docFront Stored data or {@code null}.
+     */
+    public void setDocFront(final KYCStoredData docFront) {
+        if (mDocFront != docFront) {
+            release(mDocFront);
+            mDocFront = docFront;
+        }
+    }
+
+    /**
+     * Sets the back side image of the document, the replaced one is released.
+     *
+     * @param docBack Stored data or {@code null}.
+     */
+    public void setDocBack(final KYCStoredData docBack) {
+        if (mDocBack != docBack) {
+            release(mDocBack);
+            mDocBack = docBack;
+        }
+    }
+
+    /**
+     * Sets the selfie image, the replaced one is released.
+     *
+     * @param selfie Stored data or {@code null}.
+     */
+    public void setSelfie(final KYCStoredData selfie) {
+        if (mSelfie != selfie) {
+            release(mSelfie);
+            mSelfie = selfie;
+        }
+    }
+
+    /**
+     * Sets the enhanced liveness data, the replaced one is released.
+     *
+     * @param enhancedSelfieJson Stored data or {@code null}.
+     */
+    public void setEnhancedSelfieJson(final KYCStoredData enhancedSelfieJson) {
+        if (mEnhancedSelfieJson != enhancedSelfieJson) {
+            release(mEnhancedSelfieJson);
+            mEnhancedSelfieJson = enhancedSelfieJson;
+        }
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Releases the reference of the container to stored data.
+     *
+     * @param data Stored data or {@code null}.
+     */
+    private static void release(final KYCStoredData data) {
+        if (data != null) {
+            data.release();
+        }
+    }
+
     //endregion
 
 }
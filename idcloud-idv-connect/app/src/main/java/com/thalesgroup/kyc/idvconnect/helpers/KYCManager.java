@@ -27,6 +27,7 @@
 
 package com.thalesgroup.kyc.idvconnect.helpers;
 
+import android.content.ComponentCallbacks;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.os.Handler;
@@ -43,15 +44,21 @@ import com.thalesgroup.kyc.idvconnect.gui.MainActivity;
 import com.thalesgroup.kyc.idvconnect.gui.animation.EaseInterpolators;
 import com.thalesgroup.kyc.idvconnect.gui.fragment.FragmentPrivacyPolicy;
 import com.thalesgroup.kyc.idvconnect.gui.fragment.FragmentQRCodeReader;
+import com.thalesgroup.kyc.idvconnect.helpers.communication.KYCCommunication;
+import com.thalesgroup.kyc.idvconnect.helpers.communication.KYCSessionMetrics;
 
+import java.io.File;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import androidx.annotation.IdRes;
+import androidx.annotation.NonNull;
 
 /**
  * Utility methods.
@@ -64,6 +71,9 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
 
     private Context mContext;
     private SharedPreferences mPreferences;
+    private final Object mErrorMessagesLock = new Object();
+    private volatile Map<String, String> mErrorMessages;
+    private boolean mConfigurationListened;
 
     private final static String SHARED_PREF_KEY = "KYCOptions";
 
@@ -107,6 +117,31 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
     public void initialise(final Context context) {
         mContext = context;
         mPreferences = context.getSharedPreferences(SHARED_PREF_KEY, Context.MODE_PRIVATE);
+
+        // Error messages follow the locale of the new context.
+        invalidateErrorMessages();
+        if (!mConfigurationListened) {
+            mConfigurationListened = true;
+            context.getApplicationContext().registerComponentCallbacks(new ComponentCallbacks() {
+                @Override
+                public void onConfigurationChanged(@NonNull final android.content.res.Configuration newConfig) {
+                    invalidateErrorMessages();
+                }
+
+                @Override
+                public void onLowMemory() {
+                    // Nothing to release.
+                }
+            });
+        }
+        KYCCaptureStore.initialise(context);
+
+        // Connect to the configured backend while the user is still on the home screen.
+        KYCCommunication.warmUp();
+
+        if (BuildConfig.DEBUG && KYCConfiguration.IDCLOUD_METRICS_FILE != null) {
+            KYCSessionMetrics.setExportFile(new File(context.getFilesDir(), KYCConfiguration.IDCLOUD_METRICS_FILE));
+        }
     }
 
     //endregion
@@ -480,6 +515,7 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
                 if(getKycQRCodeVersion().equals(KYC_QR_CODE_VERSION_KYC2)) {
                     setBaseCredentials(elements[1]);
                     setBaseUrl(elements[2]);
+                    KYCCommunication.warmUp();
                 } else {
                     Log.i("QR Scan", mContext.getString(R.string.STRING_QR_CODE_ERROR_FAILED));
                     sender.continueScanning();
@@ -496,30 +532,67 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
 
     //endregion
 
+    /**
+     * Gets the localized message of an error code.
+     *
+     * @param errorCode      Error code.
+     * @param defaultMessage Message returned if the code is unknown.
+     * @return Error message.
+     */
     public String getErrorMessage(String errorCode, String defaultMessage) {
-        String[] errorCodes = mContext.getResources().getStringArray(R.array.error_codes);
-        String[] errorMessages = mContext.getResources().getStringArray(R.array.error_messages);
-
-        for (int i = 0; i < errorCodes.length; i++) {
-            if (errorCodes[i].equals(errorCode)) {
-                return errorMessages[i];
-            }
-        }
+        final String message = getErrorMessages().get(errorCode);
 
-        return defaultMessage;
+        return message != null ? message : defaultMessage;
     }
 
+    /**
+     * Gets the localized message of an error code.
+     *
+     * @param errorCode Error code.
+     * @return Error message.
+     */
     public String getErrorMessage(String errorCode) {
-        String[] errorCodes = mContext.getResources().getStringArray(R.array.error_codes);
-        String[] errorMessages = mContext.getResources().getStringArray(R.array.error_messages);
+        return getErrorMessage(errorCode, "Unknown error!");
+    }
 
-        for (int i = 0; i < errorCodes.length; i++) {
-            if (errorCodes[i].equals(errorCode)) {
-                String result = errorMessages[i];
-                return result;
+    /**
+     * Gets the error messages by code, loaded from the resources on first use. Error paths of the network threads
+     * only read the map.
+     *
+     * @return Read-only error messages.
+     */
+    private Map<String, String> getErrorMessages() {
+        Map<String, String> errorMessages = mErrorMessages;
+        if (errorMessages == null) {
+            synchronized (mErrorMessagesLock) {
+                errorMessages = mErrorMessages;
+                if (errorMessages == null) {
+                    final String[] errorCodes = mContext.getResources().getStringArray(R.array.error_codes);
+                    final String[] messages = mContext.getResources().getStringArray(R.array.error_messages);
+                    final Map<String, String> map = new HashMap<>(errorCodes.length * 2);
+
+                    for (int i = 0; i < errorCodes.length && i < messages.length; i++) {
+                        // First entry wins, as with the former linear lookup.
+                        if (!map.containsKey(errorCodes[i])) {
+                            map.put(errorCodes[i], messages[i]);
+                        }
+                    }
+
+                    errorMessages = Collections.unmodifiableMap(map);
+                    mErrorMessages = errorMessages;
+                }
             }
         }
 
-        return "Unknown error!";
+        return errorMessages;
+    }
+
+    /**
+     * Drops the error messages, they are loaded again with the current locale on next use.
+     */
+    private void invalidateErrorMessages() {
+        synchronized (mErrorMessagesLock) {
+            mErrorMessages = null;
+        }
     }
 }
@@ -0,0 +1,518 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idvconnect.helpers.communication;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.thalesgroup.kyc.idvconnect.helpers.communication.structures.KYCResponse;
+
+import com.thalesgroup.kyc.idvconnect.helpers.KYCCaptureStore;
+import com.thalesgroup.kyc.idvconnect.helpers.KYCStoredData;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a folder of captures through the verification backend without the UI, using the same request builders and
+ * pollers as the application, and reports throughput, per step latency and result codes.
+ * <p>
+ * The folder contains a {@code manifest.json} file listing the capture sets, file paths are relative to the folder:
+ * <pre>
+ * {"sets": [{"id": "passport-01", "front": "p01_front.jpg", "back": "p01_back.jpg",
+ *            "selfie": "p01_selfie.jpg", "enhancedSelfie": "p01_liveness.json"}]}
+ * </pre>
+ * Only {@code front} is mandatory. The report is written to {@code report.json} in the same folder and logged. In
+ * debug builds the runner is started with:
+ * <pre>
+ * adb shell am start -n com.thalesgroup.kyc.idvconnect/.gui.MainActivity \
+ *     --es kyc_batch_dir /sdcard/Android/data/com.thalesgroup.kyc.idvconnect/files/batch --ei kyc_batch_parallelism 4
+ * </pre>
+ * On the JVM, without a device, the runner is started by {@code idcloud-batch} with the same folder.
+ */
+public final class KYCBatchRunner {
+
+    //region Definition
+
+    public static final String EXTRA_DIRECTORY = "kyc_batch_dir";
+    public static final String EXTRA_PARALLELISM = "kyc_batch_parallelism";
+
+    private static final String TAG = "KYC";
+    private static final String MANIFEST = "manifest.json";
+    private static final String REPORT = "report.json";
+    private static final String TOTAL = "total";
+
+    /**
+     * Capture set listed in the manifest.
+     */
+    private static final class Item {
+        private final String mId;
+        private final JSONObject mEntry;
+        private KYCSession mSession;
+        private long mStart;
+        private long mLatency;
+        private String mOutcome;
+        private int mCode;
+        private String mMessage;
+        private final List<KYCStoredData> mStored = new ArrayList<>();
+
+        private Item(final String id, final JSONObject entry) {
+            mId = id;
+            mEntry = entry;
+        }
+    }
+
+    private final File mDirectory;
+    private final int mParallelism;
+    private final KYCCommunication mCommunication;
+    private final ExecutorService mLoader = Executors.newSingleThreadExecutor();
+    private final Map<String, List<Long>> mLatencies = new TreeMap<>();
+    private final List<Item> mItems = new ArrayList<>();
+    private final Queue<Item> mPending = new ArrayDeque<>();
+    private int mRemaining;
+    private long mStart;
+    private volatile boolean mReported;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code KYCBatchRunner} instance.
+     *
+     * @param directory   Folder with the manifest and the captures.
+     * @param parallelism Number of concurrent verification sessions.
+     */
+    public KYCBatchRunner(final File directory, final int parallelism) {
+        mDirectory = directory;
+        mParallelism = Math.max(1, parallelism);
+        // Requests of the run are timed by their own transport, other verifications are not affected.
+        mCommunication = new KYCCommunication(new TimingTransport(KYCCommunication.getTransport()));
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Starts the run. The backend configuration must be initialised beforehand.
+     */
+    public void start() {
+        mLoader.execute(() -> {
+            try {
+                final JSONArray sets = new JSONObject(readText(new File(mDirectory, MANIFEST))).getJSONArray("sets");
+                synchronized (this) {
+                    for (int index = 0; index < sets.length(); index++) {
+                        final JSONObject entry = sets.getJSONObject(index);
+                        final Item item = new Item(entry.optString("id", String.valueOf(index)), entry);
+                        mItems.add(item);
+                        mPending.add(item);
+                    }
+                    mRemaining = mItems.size();
+                }
+            } catch (final IOException | JSONException exception) {
+                Log.e(TAG, "Batch: cannot read " + MANIFEST + " in " + mDirectory, exception);
+                mLoader.shutdown();
+                return;
+            }
+
+            Log.i(TAG, "Batch: " + mItems.size() + " sets, parallelism " + mParallelism);
+
+            mStart = SystemClock.elapsedRealtime();
+
+            if (mItems.isEmpty()) {
+                finish();
+                return;
+            }
+
+            for (int index = 0; index < mParallelism; index++) {
+                startNext();
+            }
+        });
+    }
+
+    /**
+     * Waits until the run is finished.
+     *
+     * @return {@code true} if the report was written, {@code false} if the run failed.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public boolean awaitCompletion() throws InterruptedException {
+        while (!mLoader.awaitTermination(1, TimeUnit.MINUTES)) {
+            Log.d(TAG, "Batch: waiting for " + getRemaining() + " sets");
+        }
+
+        return mReported;
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Gets the number of sets which are not completed yet.
+     *
+     * @return Number of sets.
+     */
+    private synchronized int getRemaining() {
+        return mRemaining;
+    }
+
+    /**
+     * Sends the next pending set, if any. Called on the loader thread.
+     */
+    private void startNext() {
+        final Item item;
+        synchronized (this) {
+            item = mPending.poll();
+        }
+
+        if (item == null) {
+            return;
+        }
+
+        final KYCCapture capture;
+        try {
+            capture = new KYCCapture(readImage(item, "front"),
+                                     readImage(item, "back"),
+                                     readImage(item, "selfie"),
+                                     readText(item, "enhancedSelfie"));
+        } catch (final IOException exception) {
+            complete(item, "ERROR", 0, exception.getMessage());
+            return;
+        }
+
+        final KYCSession session = mCommunication.createSession(capture, new KYCSession.KYCResponseHandler() {
+            @Override
+            public void onSuccess(final KYCResponse response) {
+                complete(item, "SUCCESS", response.getCode(), response.getMessage());
+            }
+
+            @Override
+            public void onFailure(final String error) {
+                complete(item, "FAILURE", 0, error);
+            }
+
+            @Override
+            public void onFailureRetry(final String error, final int retryStep) {
+                complete(item, "RETRY", retryStep, error);
+            }
+
+            @Override
+            public void onFailureAbort(final String error) {
+                complete(item, "ABORT", 0, error);
+            }
+
+            @Override
+            public void onCancelled() {
+                complete(item, "CANCELLED", 0, null);
+            }
+        });
+
+        // Set before sending, the first callback may arrive before verifyCapture returns.
+        synchronized (this) {
+            item.mStart = SystemClock.elapsedRealtime();
+            item.mSession = session;
+        }
+        mCommunication.verifyCapture(session);
+    }
+
+    /**
+     * Records the outcome of a set and sends the next one.
+     *
+     * @param item    Capture set.
+     * @param outcome Outcome.
+     * @param code    Result code of the backend or retry step.
+     * @param message Message.
+     */
+    private void complete(final Item item, final String outcome, final int code, final String message) {
+        final boolean done;
+        synchronized (this) {
+            item.mLatency = item.mStart == 0 ? 0 : SystemClock.elapsedRealtime() - item.mStart;
+            item.mOutcome = outcome;
+            item.mCode = code;
+            item.mMessage = message;
+            if (item.mStart != 0) {
+                record(TOTAL, item.mLatency);
+            }
+            done = --mRemaining == 0;
+        }
+
+        for (final KYCStoredData data : item.mStored) {
+            data.release();
+        }
+
+        Log.d(TAG, "Batch: " + item.mId + " " + outcome + " (" + code + ") in " + item.mLatency + " ms");
+
+        if (done) {
+            mLoader.execute(this::finish);
+        } else {
+            mLoader.execute(this::startNext);
+        }
+    }
+
+    /**
+     * Writes and logs the report.
+     */
+    private void finish() {
+        final String report;
+        try {
+            report = buildReport(SystemClock.elapsedRealtime() - mStart).toString(2);
+        } catch (final JSONException exception) {
+            Log.e(TAG, "Batch: cannot build report", exception);
+            mLoader.shutdown();
+            return;
+        }
+
+        Log.i(TAG, "Batch report:\n" + report);
+
+        try (OutputStream output = new FileOutputStream(new File(mDirectory, REPORT))) {
+            output.write(report.getBytes(StandardCharsets.UTF_8));
+            mReported = true;
+        } catch (final IOException exception) {
+            Log.e(TAG, "Batch: cannot write " + REPORT, exception);
+        }
+
+        mLoader.shutdown();
+    }
+
+    /**
+     * Builds the run report.
+     *
+     * @param duration Duration of the run in milliseconds.
+     * @return Report.
+     * @throws JSONException If report cannot be built.
+     */
+    private synchronized JSONObject buildReport(final long duration) throws JSONException {
+        final JSONObject report = new JSONObject();
+        report.put("sets", mItems.size());
+        report.put("parallelism", mParallelism);
+        report.put("durationMs", duration);
+        report.put("setsPerMinute", duration == 0 ? 0 : mItems.size() * 60000.0 / duration);
+
+        final JSONObject latencies = new JSONObject();
+        for (final Map.Entry<String, List<Long>> entry : mLatencies.entrySet()) {
+            final List<Long> values = entry.getValue();
+            Collections.sort(values);
+
+            final JSONObject latency = new JSONObject();
+            latency.put("count", values.size());
+            latency.put("p50", percentile(values, 50));
+            latency.put("p90", percentile(values, 90));
+            latency.put("p99", percentile(values, 99));
+            latency.put("max", values.get(values.size() - 1));
+            latencies.put(entry.getKey(), latency);
+        }
+        report.put("latencyMs", latencies);
+
+        final JSONObject outcomes = new JSONObject();
+        final JSONArray items = new JSONArray();
+        for (final Item item : mItems) {
+            final String key = item.mOutcome + ("SUCCESS".equals(item.mOutcome) ? ":" + item.mCode : "");
+            outcomes.put(key, outcomes.optInt(key) + 1);
+
+            final JSONObject entry = new JSONObject();
+            entry.put("id", item.mId);
+            entry.put("outcome", item.mOutcome);
+            entry.put("code", item.mCode);
+            entry.put("latencyMs", item.mLatency);
+            entry.putOpt("message", item.mMessage);
+            if (item.mSession != null) {
+                entry.put("metrics", item.mSession.getMetrics().toJson());
+            }
+            items.put(entry);
+        }
+        report.put("outcomes", outcomes);
+        report.put("items", items);
+
+        return report;
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param key     Step name.
+     * @param latency Latency in milliseconds.
+     */
+    private synchronized void record(final String key, final long latency) {
+        List<Long> values = mLatencies.get(key);
+        if (values == null) {
+            values = new ArrayList<>();
+            mLatencies.put(key, values);
+        }
+        values.add(latency);
+    }
+
+    /**
+     * Gets the nearest rank percentile of sorted values.
+     *
+     * @param values     Sorted values.
+     * @param percentile Percentile.
+     * @return Value.
+     */
+    private static long percentile(final List<Long> values, final int percentile) {
+        final int rank = (int) Math.ceil(percentile / 100.0 * values.size());
+        return values.get(Math.max(0, rank - 1));
+    }
+
+    /**
+     * Reads an image referenced by the manifest into the capture store. It is released once the set completes.
+     *
+     * @param item Capture set.
+     * @param name Key of the file in the manifest entry.
+     * @return Stored image or {@code null} if not referenced.
+     * @throws IOException If file cannot be read.
+     */
+    private KYCStoredData readImage(final Item item, final String name) throws IOException {
+        final String path = item.mEntry.optString(name, null);
+        return path == null ? null : keep(item, KYCCaptureStore.storeImage(readFile(new File(mDirectory, path))));
+    }
+
+    /**
+     * Reads a text file referenced by the manifest into the capture store. It is released once the set completes.
+     *
+     * @param item Capture set.
+     * @param name Key of the file in the manifest entry.
+     * @return Stored text or {@code null} if not referenced.
+     * @throws IOException If file cannot be read.
+     */
+    private KYCStoredData readText(final Item item, final String name) throws IOException {
+        final String path = item.mEntry.optString(name, null);
+        return path == null ? null
+                : keep(item, KYCCaptureStore.storeText(new String(readFile(new File(mDirectory, path)), StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Tracks stored data of a set.
+     *
+     * @param item Capture set.
+     * @param data Stored data.
+     * @return Stored data.
+     */
+    private KYCStoredData keep(final Item item, final KYCStoredData data) {
+        item.mStored.add(data);
+        return data;
+    }
+
+    /**
+     * Reads a text file.
+     *
+     * @param file File.
+     * @return File content.
+     * @throws IOException If file cannot be read.
+     */
+    private static String readText(final File file) throws IOException {
+        return new String(readFile(file), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a file.
+     *
+     * @param file File.
+     * @return File content.
+     * @throws IOException If file cannot be read.
+     */
+    private static byte[] readFile(final File file) throws IOException {
+        final byte[] bytes = new byte[(int) file.length()];
+        try (InputStream input = new FileInputStream(file)) {
+            int offset = 0;
+            while (offset < bytes.length) {
+                final int read = input.read(bytes, offset, bytes.length - offset);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of " + file);
+                }
+                offset += read;
+            }
+        }
+        return bytes;
+    }
+
+    //endregion
+
+    //region Transport
+
+    /**
+     * Transport measuring the duration of each exchange, grouped by verification step.
+     */
+    private final class TimingTransport implements KYCTransport {
+        private final KYCTransport mDelegate;
+
+        private TimingTransport(final KYCTransport delegate) {
+            mDelegate = delegate;
+        }
+
+        @Override
+        public void execute(final KYCRequest request, final ResponseHandler handler) {
+            final long start = SystemClock.elapsedRealtime();
+            final String key = "step" + request.getStep();
+
+            mDelegate.execute(request, new ResponseHandler() {
+                @Override
+                public void onSuccess(final int statusCode,
+                                      final Map<String, List<String>> headers,
+                                      final String response) {
+                    record(key, SystemClock.elapsedRealtime() - start);
+                    handler.onSuccess(statusCode, headers, response);
+                }
+
+                @Override
+                public void onFailure(final int statusCode, final String error) {
+                    record(key, SystemClock.elapsedRealtime() - start);
+                    handler.onFailure(statusCode, error);
+                }
+            });
+        }
+
+        @Override
+        public void warmUp(final URL url) {
+            mDelegate.warmUp(url);
+        }
+    }
+
+    //endregion
+}
@@ -33,23 +33,23 @@ import com.thalesgroup.kyc.idvconnect.BuildConfig;
 import com.thalesgroup.kyc.idvconnect.helpers.DataContainer;
 import com.thalesgroup.kyc.idvconnect.helpers.KYCConfiguration;
 import com.thalesgroup.kyc.idvconnect.helpers.KYCManager;
+import com.thalesgroup.kyc.idvconnect.helpers.KYCStoredData;
 import com.thalesgroup.kyc.idvconnect.helpers.communication.structures.KYCResponse;
-import com.thalesgroup.kyc.idvconnect.helpers.util.ImageUtil;
-import com.thalesgroup.kyc.idvconnect.helpers.util.JsonUtil;
+import com.thalesgroup.kyc.idvconnect.helpers.communication.structures.KycLivenessResult;
 
-import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
+import java.io.Reader;
 import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.Iterator;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static com.thalesgroup.kyc.idvconnect.helpers.KYCManager.KYC_QR_CODE_VERSION_KYC2;
 import static com.thalesgroup.kyc.idvconnect.helpers.communication.KYCSession.RETRY_SELFIE_SCAN;
@@ -77,8 +77,11 @@ public class KYCCommunication {
     private static final String SCENARIO_FACE_PASSIVE_LIVENESS = "Connect_Verify_Document_Face_Passive_Liveness";
     private static final String SCENARIO_FACE_ENHANCED_PASSIVE_LIVENESS = "Connect_Verify_Document_Face_Enhanced_Liveness";
 
-    private static KYCSession mSession;
-    private static int mCurrentStep = 1;
+    private KYCSession mSession;
+    private static FrontUpload sFrontUpload;
+    private static final Object sFrontUploadLock = new Object();
+    private static KYCTransport sTransport;
+    private final KYCTransport mTransport;
 
     private String getFaceScenario() {
         if (KYCManager.getInstance().isActiveFaceLivenessMode()) {
@@ -108,6 +111,46 @@ public class KYCCommunication {
         void onFinished(String response, String error);
     }
 
+    /**
+     * Speculative session creation and front side upload, started before the verification is submitted.
+     */
+    private static final class FrontUpload {
+        static final int UPLOADING = 0;
+        static final int UPLOADED = 1;
+        static final int ATTACHED = 2;
+        static final int FAILED = 3;
+
+        final KYCStoredData mDocFront;
+        final boolean mIsSelfie;
+        KYCSession mSession;
+        int mState = UPLOADING;
+
+        FrontUpload(final KYCStoredData docFront, final boolean isSelfie) {
+            mDocFront = docFront;
+            mIsSelfie = isSelfie;
+        }
+    }
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code KYCCommunication} instance sending its requests through the shared transport.
+     */
+    public KYCCommunication() {
+        this(null);
+    }
+
+    /**
+     * Creates a new {@code KYCCommunication} instance.
+     *
+     * @param transport Transport of the requests sent by this instance, {@code null} for the shared transport.
+     */
+    KYCCommunication(final KYCTransport transport) {
+        mTransport = transport;
+    }
+
     //endregion
 
     //region Public API
@@ -116,35 +159,185 @@ public class KYCCommunication {
      * Sends the document and face images to the verification backend for verification.
      *
      * @param handler Callback.
+     * @return Session of the verification, which can be cancelled on its own while other verifications are running.
      */
-    public void verifyDocument(final KYCSession.KYCResponseHandler handler, int startStep) {
-        // Prepare session.
+    public KYCSession verifyDocument(final KYCSession.KYCResponseHandler handler, int startStep) {
+        // Prepare session. Each verification has its own session, previous ones keep running independently.
         if (startStep == STEP_START_VERIFICATION) {
-            mSession = new KYCSession(KYCManager.getInstance().getBaseUrl(), handler);
-            step1RequestPrepareAndSend();
+            // Continue speculative upload if it still matches the captured data.
+            if (resumeFrontUpload(handler)) {
+                return mSession;
+            }
+
+            final KYCSession session = new KYCSession(KYCManager.getInstance().getBaseUrl(),
+                                                      new KYCCapture(DataContainer.instance()),
+                                                      handler);
+            session.setSelfie(DataContainer.instance().mSelfie != null);
+            mSession = session;
+            step1RequestPrepareAndSend(session);
         }
-        else if (startStep == STEP_DOC_FRONT_VERIFICATION) {
-            mSession.setHandler(handler);
-            step2RequestPrepareAndSend();
+        else {
+            // Retry of a single step, with the data captured again.
+            final KYCSession session = mSession;
+            session.setHandler(handler);
+            session.setCapture(new KYCCapture(DataContainer.instance()));
+
+            if (startStep == STEP_DOC_FRONT_VERIFICATION) {
+                step2RequestPrepareAndSend(session);
+            }
+            else if (startStep == STEP_DOC_BACK_VERIFICATION) {
+                step3RequestPrepareAndSend(session);
+            }
+            else if (startStep == STEP_SELFIE_VERIFICATION) {
+                if (KYCManager.getInstance().isEnhancedPassiveFaceLivenessMode()) {
+                    enhancedLivenessStep5RequestPrepareAndSend(session);
+                }
+                else {
+                    step5RequestPrepareAndSend(session);
+                }
+            }
         }
-        else if (startStep == STEP_DOC_BACK_VERIFICATION) {
-            mSession.setHandler(handler);
-            step3RequestPrepareAndSend();
+
+        return mSession;
+    }
+
+    /**
+     * Creates the session of a capture which is verified without going through {@code DataContainer}.
+     *
+     * @param capture Captured data.
+     * @param handler Callback.
+     * @return Session of the verification, started by {@link #verifyCapture(KYCSession)}.
+     */
+    KYCSession createSession(final KYCCapture capture, final KYCSession.KYCResponseHandler handler) {
+        final KYCSession session = new KYCSession(KYCManager.getInstance().getBaseUrl(), capture, handler);
+        session.setSelfie(capture.getSelfie() != null);
+
+        return session;
+    }
+
+    /**
+     * Sends the capture of a session to the verification backend. Several captures may be verified at the same
+     * time, the latest verification used by the UI flow is not affected.
+     *
+     * @param session Session created by {@link #createSession(KYCCapture, KYCSession.KYCResponseHandler)}.
+     */
+    void verifyCapture(final KYCSession session) {
+        step1RequestPrepareAndSend(session);
+    }
+
+    /**
+     * Creates the verification session and uploads the front side right after it was captured, while the user
+     * continues with the back side. The verification submitted later on continues with this session.
+     *
+     * Any previous speculative upload is discarded, so this method has to be called each time the front side is
+     * (re)captured. Does nothing unless {@link KYCConfiguration#IDCLOUD_SPECULATIVE_FRONT_UPLOAD} is enabled.
+     */
+    public void startFrontUpload() {
+        cancelFrontUpload();
+
+        final KYCStoredData docFront = DataContainer.instance().mDocFront;
+        if (!KYCConfiguration.IDCLOUD_SPECULATIVE_FRONT_UPLOAD
+            || docFront == null
+            || DataContainer.instance().mVerificationStep != STEP_START_VERIFICATION) {
+            return;
         }
-        else if (startStep == STEP_SELFIE_VERIFICATION) {
-            mSession.setHandler(handler);
 
-            if (KYCManager.getInstance().isEnhancedPassiveFaceLivenessMode()) {
-                enhancedLivenessStep5RequestPrepareAndSend();
+        // Selfie is captured later on, scenario is selected according to the current configuration.
+        final FrontUpload upload = new FrontUpload(docFront, KYCManager.getInstance().isFacialRecognition());
+        upload.mSession = new KYCSession(KYCManager.getInstance().getBaseUrl(),
+                                         new KYCCapture(DataContainer.instance()),
+                                         new KYCSession.KYCResponseHandler() {
+            @Override
+            public void onSuccess(final KYCResponse response) {
+                // Nothing to do, speculative upload stops after the front side.
+            }
+
+            @Override
+            public void onFailure(final String error) {
+                onFrontUploadFailed(upload, error);
+            }
+
+            @Override
+            public void onFailureRetry(final String error, final int retryStep) {
+                onFrontUploadFailed(upload, error);
+            }
+
+            @Override
+            public void onFailureAbort(final String error) {
+                onFrontUploadFailed(upload, error);
             }
-            else {
-                step5RequestPrepareAndSend();
+
+            @Override
+            public void onCancelled() {
+                // Discarded, nothing to do.
             }
+        });
+
+        synchronized (sFrontUploadLock) {
+            sFrontUpload = upload;
+        }
+
+        upload.mSession.setSelfie(upload.mIsSelfie);
+        mSession = upload.mSession;
+        step1RequestPrepareAndSend(upload.mSession);
+    }
+
+    /**
+     * Discards the speculative front side upload, if any. The upload in progress is aborted.
+     */
+    public void cancelFrontUpload() {
+        final FrontUpload upload;
+        synchronized (sFrontUploadLock) {
+            upload = sFrontUpload;
+            sFrontUpload = null;
+        }
+
+        if (upload != null) {
+            upload.mSession.cancel();
         }
     }
 
     /**
-     * Removes the callback listener.
+     * Sets the transport used to communicate with the verification backend.
+     *
+     * @param transport Transport.
+     */
+    public static synchronized void setTransport(final KYCTransport transport) {
+        sTransport = transport;
+    }
+
+    /**
+     * Gets the transport used to communicate with the verification backend.
+     *
+     * @return Transport shared by all the verification steps.
+     */
+    public static synchronized KYCTransport getTransport() {
+        if (sTransport == null) {
+            sTransport = new KYCHttpTransport(KYCConfiguration.IDCLOUD_TRANSPORT_POOL_SIZE);
+        }
+
+        return sTransport;
+    }
+
+    /**
+     * Opens a connection to the configured verification backend ahead of the first request. Safe to call often, the
+     * transport ignores the call while the connection is warm.
+     */
+    public static void warmUp() {
+        final String baseUrl = KYCManager.getInstance().getBaseUrl();
+        if (baseUrl == null || baseUrl.isEmpty()) {
+            return;
+        }
+
+        try {
+            getTransport().warmUp(new URL(baseUrl));
+        } catch (final MalformedURLException exception) {
+            // Nothing to warm up, the verification reports the error.
+        }
+    }
+
+    /**
+     * Removes the callback listener of the latest verification.
      */
     public void removeListener() {
         if (mSession != null) {
@@ -152,33 +345,123 @@ public class KYCCommunication {
         }
     }
 
+    /**
+     * Cancels the latest verification, if still in progress: the active connection is aborted, scheduled polls are stopped and the
+     * request payload is released. The handler is notified with {@link KYCSession.KYCResponseHandler#onCancelled()}.
+     */
+    public void cancel() {
+        if (mSession != null) {
+            mSession.cancel();
+        }
+    }
+
     //endregion
 
     //region Private Helpers
 
+    /**
+     * Attaches the verification to the speculative front side upload.
+     *
+     * @param handler Callback.
+     * @return {@code True} if the verification continues with the speculative session, {@code false} if it has to
+     * start from scratch.
+     */
+    private boolean resumeFrontUpload(final KYCSession.KYCResponseHandler handler) {
+        final FrontUpload upload;
+        final boolean isUploaded;
+
+        synchronized (sFrontUploadLock) {
+            upload = sFrontUpload;
+            sFrontUpload = null;
+
+            if (upload == null) {
+                return false;
+            }
+
+            // Front side retaken, scenario changed or upload failed.
+            if (  (upload.mDocFront != DataContainer.instance().mDocFront)
+                ||(upload.mIsSelfie != (DataContainer.instance().mSelfie != null))
+                ||(upload.mState == FrontUpload.FAILED)) {
+                upload.mSession.cancel();
+                return false;
+            }
+
+            // Back side and selfie were captured after the upload was started.
+            upload.mSession.setCapture(new KYCCapture(DataContainer.instance()));
+            upload.mSession.setHandler(handler);
+            isUploaded = upload.mState == FrontUpload.UPLOADED;
+            upload.mState = FrontUpload.ATTACHED;
+        }
+
+        mSession = upload.mSession;
+
+        // Otherwise the upload is still in progress and continues with the back side once done.
+        if (isUploaded) {
+            step3RequestPrepareAndSend(upload.mSession);
+        }
+
+        return true;
+    }
+
+    /**
+     * Continues after the front side upload, unless the front side was uploaded speculatively and the verification
+     * was not submitted yet.
+     *
+     * @param session Verification session.
+     */
+    private void onFrontUploaded(final KYCSession session) {
+        synchronized (sFrontUploadLock) {
+            if (sFrontUpload != null && sFrontUpload.mSession == session) {
+                sFrontUpload.mState = FrontUpload.UPLOADED;
+                return;
+            }
+        }
+
+        step3RequestPrepareAndSend(session);
+    }
+
+    /**
+     * Marks the speculative upload as failed, the verification will start from scratch once submitted.
+     *
+     * @param upload Speculative upload.
+     * @param error  Error.
+     */
+    private static void onFrontUploadFailed(final FrontUpload upload, final String error) {
+        if (BuildConfig.DEBUG) {
+            Log.w("KYC", "Speculative front upload failed: " + error);
+        }
+
+        synchronized (sFrontUploadLock) {
+            if (upload.mState != FrontUpload.ATTACHED) {
+                upload.mState = FrontUpload.FAILED;
+            }
+        }
+    }
+
     /**
      * Step #1 verification step with the verification backend.
+     *
+     * @param session Verification session.
      * */
-    private void step1RequestPrepareAndSend() {
-        mCurrentStep = 1;
+    private void step1RequestPrepareAndSend(final KYCSession session) {
+        session.setCurrentStep(1);
+
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getBaseUrl());
-            connection.setDoOutput(true);
-            connection.setRequestMethod("POST");
+            // Build post JSON
+            final KYCRequestBody body = new KYCRequestBody(step1RequestCreateJSON(session.isSelfie()));
+
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_POST, session.getBaseUrl(), body);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
+                Log.w("KYC", "URL: " + request.getUrl().toString());
             }
 
-            // Build post JSON
-            final JSONObject json = step1RequestCreateJSON(DataContainer.instance().mSelfie != null);
-
-            // Send request in a new Thread and handle response
-            getConnectionResponse(json, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, (response, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
@@ -190,66 +473,66 @@ public class KYCCommunication {
 
                         // Failed to get valid operation session id.
                         if (sessionId == null || sessionId.isEmpty()) {
-                            mSession.handleError("Failed to get valid session id.");
+                            session.handleError("Failed to get valid session id.");
                             return;
                         }
 
                         final String status = res.getString("status");
                         if (status != null && status.equalsIgnoreCase(STATE_FAILED)) {
                             final String message = res.getJSONObject("status").getJSONObject("result").getString("message");
-                            mSession.handleErrorRetry(message, KYCSession.RETRY_DOC_SCAN);
+                            session.handleErrorRetry(message, KYCSession.RETRY_DOC_SCAN);
                             return;
                         } else if (status != null && status.equalsIgnoreCase(STATE_ERROR)) {
-                            mSession.handleErrorAbort("Configuration error.");
+                            session.handleErrorAbort("Configuration error.");
                             return;
                         }
 
                         // Pass get the session id to current session and continue.
-                        mSession.updateWithSessionId(sessionId);
+                        session.updateWithSessionId(sessionId);
                         // Call it directly so we don't have to deal with sync.
-                        step2RequestPrepareAndSend();
+                        step2RequestPrepareAndSend(session);
                     } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
+                        session.handleErrorAbort(exception.getLocalizedMessage());
                     }
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
 
         } catch (final IOException | JSONException exception) {
             // Communication / json parsing issue.
-            mSession.handleErrorAbort(exception.getLocalizedMessage());
+            session.handleErrorAbort(exception.getLocalizedMessage());
         }
     }
 
     /**
      * Step #2 verification step with the verification backend.
      *
+     * @param session Verification session.
      * */
-    private void step2RequestPrepareAndSend() {
-        mCurrentStep = 2;
+    private void step2RequestPrepareAndSend(final KYCSession session) {
+        session.setCurrentStep(2);
+
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getUrlDocumentFront());
-            connection.setDoInput(true);
-            connection.setRequestMethod("PATCH");
+            // Build post JSON
+            final KYCRequestBody body = step2RequestCreateJSON(session.getCapture().getDocFront(), session.isSelfie());
+
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_PATCH, session.getUrlDocumentFront(), body);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
+                Log.w("KYC", "URL: " + request.getUrl().toString());
             }
 
-            // Build post JSON
-            final JSONObject json = step2RequestCreateJSON(DataContainer.instance().mDocFront, DataContainer.instance().mSelfie != null);
-
-            // Send request in a new Thread and handle response
-            getConnectionResponse(json, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, (response, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
@@ -261,66 +544,65 @@ public class KYCCommunication {
 
                         // Failed to get valid operation session id.
                         if (sessionId == null || sessionId.isEmpty()) {
-                            mSession.handleError("Failed to get valid session id.");
+                            session.handleError("Failed to get valid session id.");
                             return;
                         }
 
                         final String status = res.getString("status");
                         if (status != null && status.equalsIgnoreCase(STATE_FAILED)) {
                             final String message = res.getJSONObject("status").getJSONObject("result").getString("message");
-                            mSession.handleErrorRetry(message, KYCSession.RETRY_DOC_SCAN);
+                            session.handleErrorRetry(message, KYCSession.RETRY_DOC_SCAN);
                             return;
                         } else if (status != null && status.equalsIgnoreCase(STATE_ERROR)) {
-                            mSession.handleErrorAbort("Configuration error.");
+                            session.handleErrorAbort("Configuration error.");
                             return;
                         }
 
                         // Pass get the session id to current session and continue.
-                        mSession.updateWithSessionId(sessionId);
+                        session.updateWithSessionId(sessionId);
                         // Call it directly so we don't have to deal with sync.
-                        step3RequestPrepareAndSend();
+                        onFrontUploaded(session);
                     } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
+                        session.handleErrorAbort(exception.getLocalizedMessage());
                     }
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
 
         } catch (final IOException | JSONException exception) {
             // Communication / json parsing issue.
-            mSession.handleErrorAbort(exception.getLocalizedMessage());
+            session.handleErrorAbort(exception.getLocalizedMessage());
         }
     }
 
     /**
      * Step #3 verification step with the verification backend.
      *
+     * @param session Verification session.
      * */
-    private void step3RequestPrepareAndSend() {
-        mCurrentStep = 3;
+    private void step3RequestPrepareAndSend(final KYCSession session) {
+        session.setCurrentStep(3);
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getUrlDocumentBack());
-            connection.setDoInput(true);
-            connection.setRequestMethod("PATCH");
+            // Build post JSON
+            final KYCRequestBody body = step3RequestCreateJSON(session.getCapture().getDocBack(), session.isSelfie());
+
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_PATCH, session.getUrlDocumentBack(), body);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
+                Log.w("KYC", "URL: " + request.getUrl().toString());
             }
 
-            // Build post JSON
-            final JSONObject json = step3RequestCreateJSON(DataContainer.instance().mDocBack, DataContainer.instance().mSelfie != null);
-
-            // Send request in a new Thread and handle response
-            getConnectionResponse(json, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, (response, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
@@ -332,66 +614,65 @@ public class KYCCommunication {
 
                         // Failed to get valid operation session id.
                         if (sessionId == null || sessionId.isEmpty()) {
-                            mSession.handleError("Failed to get valid session id.");
+                            session.handleError("Failed to get valid session id.");
                             return;
                         }
 
                         final String status = res.getString("status");
                         if (status != null && status.equalsIgnoreCase(STATE_FAILED)) {
                             final String message = res.getJSONObject("status").getJSONObject("result").getString("message");
-                            mSession.handleErrorRetry(message, KYCSession.RETRY_DOC_SCAN);
+                            session.handleErrorRetry(message, KYCSession.RETRY_DOC_SCAN);
                             return;
                         } else if (status != null && status.equalsIgnoreCase(STATE_ERROR)) {
-                            mSession.handleErrorAbort("Configuration error.");
+                            session.handleErrorAbort("Configuration error.");
                             return;
                         }
 
                         // Pass get the session id to current session and continue.
-                        mSession.updateWithSessionId(sessionId);
+                        session.updateWithSessionId(sessionId);
                         // Call it directly so we don't have to deal with sync.
-                        step4RequestPrepareAndSend();
+                        step4RequestPrepareAndSend(session);
                     } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
+                        session.handleErrorAbort(exception.getLocalizedMessage());
                     }
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
 
         } catch (final IOException | JSONException exception) {
             // Communication / json parsing issue.
-            mSession.handleErrorAbort(exception.getLocalizedMessage());
+            session.handleErrorAbort(exception.getLocalizedMessage());
         }
     }
 
     /**
      * Step #4 verification step with the verification backend.
      *
+     * @param session Verification session.
      * */
-    private void step4RequestPrepareAndSend() {
-        mCurrentStep = 4;
+    private void step4RequestPrepareAndSend(final KYCSession session) {
+        session.setCurrentStep(4);
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getUrlDocument());
-            connection.setDoInput(true);
-            connection.setRequestMethod("PATCH");
+            // Build post JSON
+            final KYCRequestBody body = new KYCRequestBody(step4RequestCreateJSON(session.getCapture().getSelfie() != null));
+
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_PATCH, session.getUrlDocument(), body);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
+                Log.w("KYC", "URL: " + request.getUrl().toString());
             }
 
-            // Build post JSON
-            final JSONObject json = step4RequestCreateJSON(DataContainer.instance().mSelfie != null);
-
-            // Send request in a new Thread and handle response
-            getConnectionResponse(json, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, (response, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
@@ -402,66 +683,60 @@ public class KYCCommunication {
                         final String status = res.getString("status");
 
                         // Server operation is finished.
-                        if (status != null && status.equalsIgnoreCase(STATE_WAITING) && DataContainer.instance().mSelfie != null) {
+                        if (status != null && status.equalsIgnoreCase(STATE_WAITING) && session.getCapture().getSelfie() != null) {
                             if (KYCManager.getInstance().isEnhancedPassiveFaceLivenessMode()) {
-                                enhancedLivenessStep5RequestPrepareAndSend();
+                                enhancedLivenessStep5RequestPrepareAndSend(session);
                             }
                             else {
-                                step5RequestPrepareAndSend();
+                                step5RequestPrepareAndSend(session);
                             }
-                        } else if (status != null && status.equalsIgnoreCase(STATE_FINISHED) && DataContainer.instance().mSelfie == null) {
-                            final KYCResponse result = new KYCResponse(res.getJSONObject("state").getJSONObject("result"));
-                            mSession.handleResult(result);
+                        } else if (status != null && status.equalsIgnoreCase(STATE_FINISHED) && session.getCapture().getSelfie() == null) {
+                            final KYCResponse result = getResult(res);
+                            session.handleResult(result);
                         } else {
-                            final int statusCode = res.getJSONObject("state").getJSONObject("result").getInt("code");
-                            final String message = res.getJSONObject("state").getJSONObject("result").getString("message");
-                            mSession.handleErrorRetry("Status: " + status +
-                                    "\nCode: " + statusCode +
-                                    "\n" + KYCManager.getInstance().getErrorMessage(""+ statusCode, message),
-                                    KYCSession.RETRY_DOC_SCAN);
+                            handleVerificationResult(session, KYCResultRules.FAILURE, status, getResult(res));
                         }
                     } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
+                        session.handleErrorAbort(exception.getLocalizedMessage());
                     }
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
 
         } catch (final IOException | JSONException exception) {
             // Communication / json parsing issue.
-            mSession.handleErrorAbort(exception.getLocalizedMessage());
+            session.handleErrorAbort(exception.getLocalizedMessage());
         }
     }
 
     /**
      * Step #5 verification step with the verification backend.
      *
+     * @param session Verification session.
      * */
-    private void step5RequestPrepareAndSend() {
-        mCurrentStep = 5;
+    private void step5RequestPrepareAndSend(final KYCSession session) {
+        session.setCurrentStep(5);
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getUrlSelfie());
-            connection.setDoInput(true);
-            connection.setRequestMethod("PATCH");
+            // Build post JSON
+            final KYCRequestBody body = step5RequestCreateJSON(session.getCapture().getSelfie());
+
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_PATCH, session.getUrlSelfie(), body);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
+                Log.w("KYC", "URL: " + request.getUrl().toString());
             }
 
-            // Build post JSON
-            final JSONObject json = step5RequestCreateJSON(DataContainer.instance().mSelfie);
-
-            // Send request in a new Thread and handle response
-            getConnectionResponse(json, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, (response, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
@@ -473,63 +748,57 @@ public class KYCCommunication {
 
                         // Server operation is finished.
                         if (status != null && status.equalsIgnoreCase(STATE_FINISHED)) {
-                            final KYCResponse result = new KYCResponse(res.getJSONObject("state").getJSONObject("result"));
-                            mSession.handleResult(result);
+                            final KYCResponse result = getResult(res);
+                            session.handleResult(result);
                         }
                         else if (  (status != null && status.equalsIgnoreCase(STATE_RUNNING))
                                  &&(KYCManager.getInstance().isPassiveFaceLivenessMode())) {
-                            passiveLivenessStep6RequestPrepareAndSend(0);
+                            passiveLivenessStep6RequestPrepareAndSend(session, new KYCPoller());
                         }
                         else {
-                            final int statusCode = res.getJSONObject("state").getJSONObject("result").getInt("code");
-                            final String message = res.getJSONObject("state").getJSONObject("result").getString("message");
-                            mSession.handleErrorRetry("Status: " + status +
-                                    "\nCode: " + statusCode +
-                                    "\n" + KYCManager.getInstance().getErrorMessage(""+ statusCode, message),
-                                    KYCSession.RETRY_DOC_SCAN);
+                            handleVerificationResult(session, KYCResultRules.FAILURE, status, getResult(res));
                         }
                     } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
+                        session.handleErrorAbort(exception.getLocalizedMessage());
                     }
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
 
         } catch (final IOException | JSONException exception) {
             // Communication / json parsing issue.
-            mSession.handleErrorAbort(exception.getLocalizedMessage());
+            session.handleErrorAbort(exception.getLocalizedMessage());
         }
     }
 
     /**
      * Step #5 verification step with the verification backend.
      *
+     * @param session Verification session.
      * */
-    private void enhancedLivenessStep5RequestPrepareAndSend() {
-        mCurrentStep = 5;
+    private void enhancedLivenessStep5RequestPrepareAndSend(final KYCSession session) {
+        session.setCurrentStep(5);
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getUrlEnhancedLiveness());
-            connection.setDoInput(true);
-            connection.setRequestMethod("PATCH");
+            // Build post JSON
+            final KYCRequestBody body = new KYCRequestBody(enhancedLivenessStep5RequestCreateJSON(session.getCapture().getEnhancedSelfieJson()));
+
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_PATCH, session.getUrlEnhancedLiveness(), body);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
+                Log.w("KYC", "URL: " + request.getUrl().toString());
             }
 
-            // Build post JSON
-            final JSONObject json = enhancedLivenessStep5RequestCreateJSON(DataContainer.instance().mEnhancedSelfieJson);
-
-            // Send request in a new Thread and handle response
-            getConnectionResponse(json, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, (response, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
@@ -541,65 +810,65 @@ public class KYCCommunication {
 
                         // Failed to get valid operation session id.
                         if (sessionId == null || sessionId.isEmpty()) {
-                            mSession.handleError("Failed to get valid session id.");
+                            session.handleError("Failed to get valid session id.");
                             return;
                         }
 
                         final String status = res.getString("status");
                         if (status != null && status.equalsIgnoreCase(STATE_FAILED)) {
                             final String message = res.getJSONObject("status").getJSONObject("result").getString("message");
-                            mSession.handleErrorRetry(message, KYCSession.RETRY_DOC_SCAN);
+                            session.handleErrorRetry(message, KYCSession.RETRY_DOC_SCAN);
                             return;
                         } else if (status != null && status.equalsIgnoreCase(STATE_ERROR)) {
-                            mSession.handleErrorAbort("Configuration error.");
+                            session.handleErrorAbort("Configuration error.");
                             return;
                         }
 
                         // Pass get the session id to current session and continue.
-                        mSession.updateWithSessionId(sessionId);
+                        session.updateWithSessionId(sessionId);
                         // Call it directly so we don't have to deal with sync.
-                        enhancedLivenessStep6RequestPrepareAndSend(0);
+                        enhancedLivenessStep6RequestPrepareAndSend(session, new KYCPoller());
                     } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
+                        session.handleErrorAbort(exception.getLocalizedMessage());
                     }
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
 
         } catch (final IOException | JSONException exception) {
             // Communication / json parsing issue.
-            mSession.handleErrorAbort(exception.getLocalizedMessage());
+            session.handleErrorAbort(exception.getLocalizedMessage());
         }
     }
 
     /**
      * Step #6 verification step with the verification backend.
      *
-     *  @param counter Polling counter.
+     *  @param session Verification session.
+     *  @param poller Polling scheduler.
      *
      * */
-    private void passiveLivenessStep6RequestPrepareAndSend(int counter) {
-        mCurrentStep = 6;
+    private void passiveLivenessStep6RequestPrepareAndSend(final KYCSession session, final KYCPoller poller) {
+        session.setCurrentStep(6);
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getUrlPassiveLivenessPollResult());
-            connection.setRequestMethod("GET");
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_GET, session.getUrlPassiveLivenessPollResult(), null);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
-                Log.w("KYC", "Try #" + (counter + 1));
+                Log.w("KYC", "URL: " + request.getUrl().toString());
+                Log.w("KYC", "Try #" + poller.getAttempt());
             }
 
-            // Send request in a new Thread and handle response
-            getConnectionResponse(null, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, poller, (response, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
@@ -611,108 +880,58 @@ public class KYCCommunication {
 
                         // Server operation still running.
                         if (status != null && status.equalsIgnoreCase(STATE_RUNNING)) {
-                            if (counter > KYCConfiguration.IDCLOUD_NUMBER_OF_RETRIES) {
-                                mSession.handleError("Failed to Poll final result, numbers of retries was reached.");
-                            }
-                            else {
-                                Thread.sleep(KYCConfiguration.IDCLOUD_RETRY_DELAY_SEC * 1000);
-
-                                passiveLivenessStep6RequestPrepareAndSend(counter + 1);
+                            if (!poller.scheduleNext(() -> passiveLivenessStep6RequestPrepareAndSend(session, poller))) {
+                                session.handleError("Failed to Poll final result, polling timeout was reached.");
                             }
                         }
                         // Server operation is finished.
                         else if (status != null && status.equalsIgnoreCase(STATE_FINISHED)) {
-                            final KYCResponse result = new KYCResponse(res.getJSONObject("state").getJSONObject("result"));
-                            mSession.handleResult(result);
+                            final KYCResponse result = getResult(res);
+                            session.handleResult(result);
                         } else {
-                            final int statusCode = res.getJSONObject("state").getJSONObject("result").getInt("code");
-                            final String message = res.getJSONObject("state").getJSONObject("result").getString("message");
-
-                            // Specific error management for passive liveness error (Poor Quality / Not Live)
-                            if (statusCode == 5321) {
-                                final KYCResponse result = new KYCResponse(res.getJSONObject("state").getJSONObject("result"));
-                                String assessment = null;
-                                String livenessError = "Error during liveness processing";
-
-                                if (result.getLivenessResult() != null)  {
-                                    assessment = result.getLivenessResult().getAssessment();
-                                    livenessError = result.getLivenessResult().getError();
-                                }
-
-                                if (assessment != null) {
-                                    if (assessment.equals("NotLive")) {
-                                        mSession.handleErrorRetry(KYCManager.getInstance().getErrorMessage("9901"), RETRY_SELFIE_SCAN);
-                                    }
-                                    else if (assessment.equals("PoorQuality")) {
-                                        mSession.handleErrorRetry(KYCManager.getInstance().getErrorMessage("9902"), RETRY_SELFIE_SCAN);
-                                    }
-                                } else {
-                                    mSession.handleErrorRetry(livenessError, RETRY_SELFIE_SCAN);
-                                }
-                            }
-                            else if (  (statusCode >= 5331)
-                                     &&(statusCode <= 5333)) {
-                                final KYCResponse result = new KYCResponse(res.getJSONObject("state").getJSONObject("result"));
-
-                                if (statusCode == 5332) {
-                                    mSession.handleErrorRetry(KYCManager.getInstance().getErrorMessage("5332"), RETRY_SELFIE_SCAN);
-                                }
-                                else {
-                                    mSession.handleErrorRetry(KYCManager.getInstance().getErrorMessage(String.valueOf(statusCode), message), RETRY_SELFIE_SCAN);
-                                }
-                            }
-
-                            // Default error display
-                            else {
-                                mSession.handleErrorRetry("Status: " + status +
-                                        "\nCode: " + statusCode +
-                                        "\n" + KYCManager.getInstance().getErrorMessage(""+ statusCode, message),
-                                        KYCSession.RETRY_DOC_SCAN);
-                            }
+                            handleVerificationResult(session, KYCResultRules.PASSIVE_LIVENESS_FAILURE, status, getResult(res));
                         }
                     } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
-                    } catch (InterruptedException exception) {
-                        mSession.handleErrorAbort(exception.toString());
+                        session.handleErrorAbort(exception.getLocalizedMessage());
                     }
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
 
         } catch (final IOException exception) {
             // Communication / json parsing issue.
-            mSession.handleErrorAbort(exception.getLocalizedMessage());
+            session.handleErrorAbort(exception.getLocalizedMessage());
         }
     }
 
     /**
      * Step #6 verification step with the verification backend.
      *
-     *  @param counter Polling counter.
+     *  @param session Verification session.
+     *  @param poller Polling scheduler.
      *
      * */
-    private void enhancedLivenessStep6RequestPrepareAndSend(int counter) {
-        mCurrentStep = 6;
+    private void enhancedLivenessStep6RequestPrepareAndSend(final KYCSession session, final KYCPoller poller) {
+        session.setCurrentStep(6);
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getUrlEnhancedLivenessPollResult());
-            connection.setRequestMethod("GET");
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_GET, session.getUrlEnhancedLivenessPollResult(), null);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
-                Log.w("KYC", "Try #" + (counter + 1));
+                Log.w("KYC", "URL: " + request.getUrl().toString());
+                Log.w("KYC", "Try #" + poller.getAttempt());
             }
 
-            // Send request in a new Thread and handle response
-            getConnectionResponse(null, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, poller, (response, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
@@ -724,60 +943,32 @@ public class KYCCommunication {
 
                         // Server operation still running.
                         if (status != null && status.equalsIgnoreCase(STATE_RUNNING)) {
-                            if (counter > KYCConfiguration.IDCLOUD_NUMBER_OF_RETRIES) {
-                                mSession.handleError("Failed to Poll final result, numbers of retries was reached.");
-                            }
-                            else {
-                                Thread.sleep(KYCConfiguration.IDCLOUD_RETRY_DELAY_SEC * 1000);
-
-                                enhancedLivenessStep6RequestPrepareAndSend(counter + 1);
+                            if (!poller.scheduleNext(() -> enhancedLivenessStep6RequestPrepareAndSend(session, poller))) {
+                                session.handleError("Failed to Poll final result, polling timeout was reached.");
                             }
                         }
                         // Server operation is finished.
                         else if (status != null && status.equalsIgnoreCase(STATE_FINISHED)) {
-                            final KYCResponse result = new KYCResponse(res.getJSONObject("state").getJSONObject("result"));
-                            mSession.handleResult(result);
+                            final KYCResponse result = getResult(res);
+                            session.handleResult(result);
                         } else {
-                            final int statusCode = res.getJSONObject("state").getJSONObject("result").getInt("code");
-                            final String message = res.getJSONObject("state").getJSONObject("result").getString("message");
-
-                            // Specific error management for passive liveness error (Poor Quality / Not Live)
-                            if (  (statusCode >= 5331)
-                                &&(statusCode <= 5333)) {
-                                final KYCResponse result = new KYCResponse(res.getJSONObject("state").getJSONObject("result"));
-
-                                if (statusCode == 5332) {
-                                    mSession.handleErrorRetry(KYCManager.getInstance().getErrorMessage("5332"), RETRY_SELFIE_SCAN);
-                                }
-                                else {
-                                    mSession.handleErrorRetry(KYCManager.getInstance().getErrorMessage(String.valueOf(statusCode), message), RETRY_SELFIE_SCAN);
-                                }
-                            }
-                            // Default error display
-                            else {
-                                mSession.handleErrorRetry("Status: " + status +
-                                                "\nCode: " + statusCode +
-                                                "\n" + KYCManager.getInstance().getErrorMessage(""+ statusCode, message),
-                                        KYCSession.RETRY_DOC_SCAN);
-                            }
+                            handleVerificationResult(session, KYCResultRules.ENHANCED_LIVENESS_FAILURE, status, getResult(res));
                         }
                     } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
-                    } catch (InterruptedException exception) {
-                        mSession.handleErrorAbort(exception.toString());
+                        session.handleErrorAbort(exception.getLocalizedMessage());
                     }
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
 
         } catch (final IOException exception) {
             // Communication / json parsing issue.
-            mSession.handleErrorAbort(exception.getLocalizedMessage());
+            session.handleErrorAbort(exception.getLocalizedMessage());
         }
     }
 
@@ -804,16 +995,18 @@ public class KYCCommunication {
      * @param docFront Front side of document.
      * @param isSelfie Selfie availability.
      *
-     * @return JSON representation of the data.
+     * @return Body with JSON representation of the data, image is streamed when the body is written.
      *
      * @throws JSONException If error occurred while setting up JSON object.
      */
-    private JSONObject step2RequestCreateJSON(final byte[] docFront,
-                                              final boolean isSelfie) throws JSONException {
+    private KYCRequestBody step2RequestCreateJSON(final KYCStoredData docFront,
+                                                  final boolean isSelfie) throws JSONException {
+        final KYCRequestBody body = new KYCRequestBody();
+
         // Build document node with front doc.
         final JSONObject input = new JSONObject();
         if (docFront != null) {
-            input.put("frontWhiteImage", ImageUtil.base64FromImage(docFront));
+            input.put("frontWhiteImage", body.attachBinary(docFront));
         }
 
         // Build final JSON.
@@ -821,7 +1014,7 @@ public class KYCCommunication {
         json.put("name", isSelfie ? getFaceScenario() : SCENARIO_DOC);
         json.put("input", input);
 
-        return json;
+        return body.setJson(json);
     }
 
     /**
@@ -830,16 +1023,18 @@ public class KYCCommunication {
      * @param docBack Back side of document.
      * @param isSelfie Selfie availability.
      *
-     * @return JSON representation of the data.
+     * @return Body with JSON representation of the data, image is streamed when the body is written.
      *
      * @throws JSONException If error occurred while setting up JSON object.
      */
-    private JSONObject step3RequestCreateJSON(final byte[] docBack,
-                                              final boolean isSelfie) throws JSONException {
+    private KYCRequestBody step3RequestCreateJSON(final KYCStoredData docBack,
+                                                  final boolean isSelfie) throws JSONException {
+        final KYCRequestBody body = new KYCRequestBody();
+
         // Build document node with back doc.
         final JSONObject input = new JSONObject();
         if (docBack != null) {
-            input.put("backWhiteImage", ImageUtil.base64FromImage(docBack));
+            input.put("backWhiteImage", body.attachBinary(docBack));
         }
 
         // Build final JSON.
@@ -847,7 +1042,7 @@ public class KYCCommunication {
         json.put("name", isSelfie ? getFaceScenario() : SCENARIO_DOC);
         json.put("input", input);
 
-        return json;
+        return body.setJson(json);
     }
 
     /**
@@ -872,15 +1067,17 @@ public class KYCCommunication {
      *
      * @param selfie Selfie image.
      *
-     * @return JSON representation of the data.
+     * @return Body with JSON representation of the data, image is streamed when the body is written.
      *
      * @throws JSONException If error occurred while setting up JSON object.
      */
-    private JSONObject step5RequestCreateJSON(final byte[] selfie) throws JSONException {
+    private KYCRequestBody step5RequestCreateJSON(final KYCStoredData selfie) throws JSONException {
+        final KYCRequestBody body = new KYCRequestBody();
+
         // Build document node with selfie.
         final JSONObject input = new JSONObject();
         if (selfie != null) {
-            input.put("face", ImageUtil.base64FromImage(selfie));
+            input.put("face", body.attachBinary(selfie));
         }
 
         // Build final JSON.
@@ -888,7 +1085,7 @@ public class KYCCommunication {
         json.put("name", getFaceScenario());
         json.put("input", input);
 
-        return json;
+        return body.setJson(json);
     }
 
     /**
@@ -899,42 +1096,29 @@ public class KYCCommunication {
      * @return JSON representation of the data.
      *
      * @throws JSONException If error occurred while setting up JSON object.
+     * @throws IOException If the Aware server data could not be read from the capture store.
      */
-    private JSONObject enhancedLivenessStep5RequestCreateJSON(final String enhancedSelfieJson) throws JSONException {
-        // Build document node with enhanced liveness Aware data.
-        final JSONObject serverData = new JSONObject(enhancedSelfieJson);
-        final JSONArray frames = serverData.getJSONObject("video").getJSONObject("workflow_data").getJSONArray("frames");
-        final JSONObject metaData = serverData.getJSONObject("video").getJSONObject("meta_data");
+    private JSONObject enhancedLivenessStep5RequestCreateJSON(final KYCStoredData enhancedSelfieJson) throws JSONException, IOException {
+        // Read only the first 3 frames and the meta data expected by the backend from the Aware data.
+        final Reader reader = new InputStreamReader(enhancedSelfieJson.openStream(), StandardCharsets.UTF_8);
+        final KYCLivenessPackage serverPackage = KYCLivenessPackage.read(reader,
+                                                                         3,
+                                                                         "client_device_brand",
+                                                                         "client_device_model",
+                                                                         "client_os_version",
+                                                                         "client_version",
+                                                                         "localization",
+                                                                         "programming_language_version");
 
         JSONObject newServerData = new JSONObject();
-        JSONArray newFrames = new JSONArray();
         JSONObject newWorkflowData = new JSONObject();
-        JSONObject newMetaData = new JSONObject();
-
-        // Get 3 first frames and update timestamps
-        JSONObject frame1 = (JSONObject) frames.get(0);
-        JSONObject frame2 = (JSONObject) frames.get(1);
-        JSONObject frame3 = (JSONObject) frames.get(2);
-
-        // New frames
-        newFrames.put(0, frame1);
-        newFrames.put(1, frame2);
-        newFrames.put(2, frame3);
 
         // New Workflow Data
-        newWorkflowData.put("frames", newFrames);
-
-        // New Meta Data
-        newMetaData.put("client_device_brand", metaData.get("client_device_brand"));
-        newMetaData.put("client_device_model", metaData.get("client_device_model"));
-        newMetaData.put("client_os_version", metaData.get("client_os_version"));
-        newMetaData.put("client_version", metaData.get("client_version"));
-        newMetaData.put("localization", metaData.get("localization"));
-        newMetaData.put("programming_language_version", metaData.get("programming_language_version"));
+        newWorkflowData.put("frames", serverPackage.getFrames());
 
         // Rebuild Aware server data
         JSONObject video = new JSONObject();
-        video.put("meta_data", newMetaData);
+        video.put("meta_data", serverPackage.getMetaData());
         video.put("workflow_data", newWorkflowData);
         newServerData.put("video", video);
 
@@ -950,128 +1134,294 @@ public class KYCCommunication {
     }
 
     /**
-     * Setups the {@code HttpURLConnection} (authorization, content type, type).
+     * Creates the request and setups the headers (authorization, content type).
      *
+     * @param session Verification session.
+     * @param method HTTP method.
      * @param url URL.
+     * @param body Body or {@code null} if request has no body.
      *
-     * @return {@code HttpURLConnection}.
-     *
-     * @throws IOException If error occurs while opening the connection.
+     * @return {@code KYCRequest}.
      */
-    private HttpURLConnection getUrlConnection(final URL url) throws IOException {
-        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    private KYCRequest createRequest(final KYCSession session,
+                                     final String method,
+                                     final URL url,
+                                     final KYCRequestBody body) {
+        final KYCRequest request = new KYCRequest(method, url, body, session.getCurrentStep());
+        request.getMetrics().setBuildTimeMs(session.getStepElapsedMs());
 
-        connection.addRequestProperty("Accept", "application/json");
-        connection.addRequestProperty("Content-Type", "application/json");
+        request.addHeader("Accept", "application/json");
+        request.addHeader("Content-Type", "application/json");
 
         if (KYCManager.getInstance().getKycQRCodeVersion().equals(KYC_QR_CODE_VERSION_KYC2)) {
-            connection.addRequestProperty("Authorization", "Basic " + KYCManager.getInstance().getBaseCredentials());
+            request.addHeader("Authorization", "Basic " + KYCManager.getInstance().getBaseCredentials());
+        }
+
+        // Kept by the retries of the request, so the backend applies the step once even if a response was lost.
+        if (body != null) {
+            request.addHeader(KYCRequest.HEADER_IDEMPOTENCY_KEY, UUID.randomUUID().toString());
         }
-        return connection;
+        return request;
+    }
+
+    /**
+     * Gets the transport of the requests sent by this instance.
+     *
+     * @return Transport given at creation or the shared transport.
+     */
+    private KYCTransport getRequestTransport() {
+        return mTransport != null ? mTransport : getTransport();
     }
 
     /**
      * Sends data to verification backend.
      *
-     * @param json JSON body.
-     * @param connection Connection.
+     * @param session Verification session.
+     * @param request Request.
      * @param handler Callback.
      */
-    private void getConnectionResponse(final JSONObject json,
-                                       final HttpURLConnection connection,
+    private void getConnectionResponse(final KYCSession session,
+                                       final KYCRequest request,
                                        final GenericResponse handler) {
-        new Thread(() -> {
-            try {
-                if (json != null) {
-                    JsonUtil.logJson(json.toString(), "JSON Request");
-                }
+        getConnectionResponse(session, request, null, handler);
+    }
 
-                // Prepare stream.
-                if (json != null) {
-                    final OutputStream outputStream = connection.getOutputStream();
-                    outputStream.write(json.toString().getBytes());
-                    outputStream.flush();
-                }
+    /**
+     * Sends data to verification backend.
+     *
+     * @param session Verification session.
+     * @param request Request.
+     * @param poller Polling scheduler updated with the server {@code Retry-After} header, may be {@code null}.
+     * @param handler Callback.
+     */
+    private void getConnectionResponse(final KYCSession session,
+                                       final KYCRequest request,
+                                       final KYCPoller poller,
+                                       final GenericResponse handler) {
+        getConnectionResponse(session, request, poller, null, handler);
+    }
+
+    /**
+     * Sends data to verification backend. A request failing on a transient error is sent again with backoff, with
+     * the same idempotency key, so the current step is resumed within the same backend session.
+     *
+     * @param session Verification session.
+     * @param request Request.
+     * @param poller  Polling scheduler updated with the server {@code Retry-After} header, may be {@code null}.
+     * @param retries Retry scheduler, {@code null} before the first failure.
+     * @param handler Callback.
+     */
+    private void getConnectionResponse(final KYCSession session,
+                                       final KYCRequest request,
+                                       final KYCPoller poller,
+                                       final KYCPoller retries,
+                                       final GenericResponse handler) {
+        if (!session.setActiveRequest(request, poller)) {
+            // Session cancelled, nothing is sent. A handler set since the cancellation must not wait for a response.
+            session.handleCancelled();
+            return;
+        }
 
-                // Execute request.
-                connection.connect();
+        request.getMetrics().setPoll(poller != null);
 
-                // Read response.
-                final StringBuilder responseSB = new StringBuilder();
-                final BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                String line = reader.readLine();
+        getRequestTransport().execute(request, new KYCTransport.ResponseHandler() {
+            @Override
+            public void onSuccess(final int statusCode,
+                                  final Map<String, List<String>> headers,
+                                  final String response) {
+                session.clearActiveRequest(request);
+                session.getMetrics().add(request.getMetrics());
 
-                while (line != null) {
-                    responseSB.append(line);
-                    line = reader.readLine();
+                if (poller != null) {
+                    final List<String> retryAfter = headers.get("Retry-After");
+                    poller.setRetryAfter(retryAfter != null && !retryAfter.isEmpty() ? retryAfter.get(0) : null);
                 }
-                if (responseSB != null) {
-                    JsonUtil.logJson(responseSB.toString(), "JSON Response");
+
+                handler.onFinished(response, null);
+            }
+
+            @Override
+            public void onFailure(final int statusCode, final String error) {
+                session.clearActiveRequest(request);
+
+                // Cancelled session has already notified its handler.
+                if (statusCode == KYCTransport.STATUS_CANCELLED) {
+                    return;
                 }
-                
-                handler.onFinished(responseSB.toString(), null);
-
-            } catch (final IOException exception) {
-                Log.e("KYC", "Fail: " + exception.toString());
-
-                try  {
-                    StringBuilder sb;
-
-                    // Log Header Fields
-                    Map<String, List<String>> headerFields = connection.getHeaderFields();
-                    sb = new StringBuilder();
-                    Iterator<?> it = headerFields.keySet().iterator();
-                    sb.append('\n');
-                    sb.append("<HEADERS url=\"" + connection.getURL().toString() + "\">");
-
-                    while (it.hasNext()) {
-                        String name = (String) it.next();
-                        sb.append('\n');
-                        sb.append("[" + name + "]:");
-                        sb.append(connection.getHeaderField(name));
-                    }
-                    sb.append('\n');
-                    sb.append("</HEADERS>");
 
-                    if (sb != null) {
-                        Log.e("KYC", sb.toString());
+                session.getMetrics().add(request.getMetrics());
 
-                        // HTTP Error 401
-                        if (sb.toString().contains("401 Unauthorized")) {
-                            handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9911", null));
-                        }
-                        // HTTP Error 403
-                        else if (sb.toString().contains("403 Forbidden")) {
-                            if (mCurrentStep == 1) {
-                                handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9910", null));
-                            } else {
-                                handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9919", null));
-                            }
-                        }
-                        // HTTP Error 404
-                        else if (sb.toString().contains("404 Not Found")) {
-                            if (mCurrentStep == 1) {
-                                handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9910", null));
-                            } else {
-                                handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9919", null));
-                            }
-                        }
-                        // HTTP Error XXX
-                        else {
-                            handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9912", null));
-                        }
-                    }
-                    else {
-                        handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9919", null));
-                    }
-                } catch (final Exception e) {
-                    handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9919", null));
+                // Encoding changed by the transport, not a failure of the backend: sent again without delay.
+                if (statusCode == KYCTransport.STATUS_RESEND) {
+                    Log.w("KYC", "Resending " + request.getMethod() + " after: " + error);
+                    getConnectionResponse(session, request.nextAttempt(), poller, retries, handler);
+                    return;
+                }
+
+                if (isTransient(statusCode) && retry(session, request, poller, retries, handler)) {
+                    Log.w("KYC", "Retrying " + request.getMethod() + " after: " + error);
+                    return;
                 }
+
+                handler.onFinished(null, getErrorMessage(statusCode, request.getStep()));
             }
+        });
+    }
+
+    /**
+     * Schedules the next attempt of a request which failed on a transient error.
+     *
+     * @param session Verification session.
+     * @param request Failed request.
+     * @param poller  Polling scheduler of the request, may be {@code null}.
+     * @param retries Retry scheduler, {@code null} before the first failure.
+     * @param handler Callback.
+     * @return {@code True} if scheduled or session cancelled, {@code false} if no attempt is left.
+     */
+    private boolean retry(final KYCSession session,
+                          final KYCRequest request,
+                          final KYCPoller poller,
+                          final KYCPoller retries,
+                          final GenericResponse handler) {
+        final KYCPoller scheduler = retries != null ? retries : KYCPoller.forRetries();
+        if (scheduler.getAttempt() >= KYCConfiguration.IDCLOUD_REQUEST_MAX_ATTEMPTS) {
+            return false;
+        }
+
+        final KYCRequest next = request.nextAttempt();
+        // Registered, so that cancelling the session stops the pending retry.
+        if (!session.setActiveRequest(next, scheduler)) {
+            return true;
+        }
 
-            // Disconnect
-            connection.disconnect();
-        }).start();
+        return scheduler.scheduleNext(() -> getConnectionResponse(session, next, poller, scheduler, handler));
+    }
+
+    /**
+     * Checks if the failure is transient and the request worth sending again.
+     *
+     * @param statusCode HTTP status code or one of the {@code KYCTransport.STATUS_} codes. Only
+     *                   {@link KYCTransport#STATUS_NO_RESPONSE} is transient among the latter.
+     * @return {@code True} if transient, else {@code false}.
+     */
+    private static boolean isTransient(final int statusCode) {
+        switch (statusCode) {
+            case KYCTransport.STATUS_NO_RESPONSE:
+            case HttpURLConnection.HTTP_CLIENT_TIMEOUT:
+            case HttpURLConnection.HTTP_INTERNAL_ERROR:
+            case HttpURLConnection.HTTP_BAD_GATEWAY:
+            case HttpURLConnection.HTTP_UNAVAILABLE:
+            case HttpURLConnection.HTTP_GATEWAY_TIMEOUT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Gets the verification result of the response.
+     *
+     * @param response Response received from verification server.
+     * @return Verification result.
+     * @throws JSONException If the result is missing.
+     */
+    private static KYCResponse getResult(final JSONObject response) throws JSONException {
+        return new KYCResponse(response.getJSONObject("state").getJSONObject("result"));
+    }
+
+    /**
+     * Handles the verification result according to the decision of the rules.
+     *
+     * @param session Verification session.
+     * @param rules Rules of the verification step.
+     * @param status Verification status.
+     * @param result Verification result.
+     */
+    private static void handleVerificationResult(final KYCSession session,
+                                                 final KYCResultRules rules,
+                                                 final String status,
+                                                 final KYCResponse result) {
+        final KYCResultRules.Decision decision = rules.decide(result);
+
+        switch (decision.getAction()) {
+            case KYCResultRules.ACTION_RESULT:
+                session.handleResult(result);
+                break;
+            case KYCResultRules.ACTION_RETRY_DOC:
+                session.handleErrorRetry(getErrorMessage(decision, status, result), KYCSession.RETRY_DOC_SCAN);
+                break;
+            case KYCResultRules.ACTION_RETRY_SELFIE:
+                session.handleErrorRetry(getErrorMessage(decision, status, result), RETRY_SELFIE_SCAN);
+                break;
+            default:
+                session.handleErrorAbort(getErrorMessage(decision, status, result));
+                break;
+        }
+    }
+
+    /**
+     * Builds the error message of a failed verification.
+     *
+     * @param decision Decision of the rules.
+     * @param status Verification status.
+     * @param result Verification result.
+     *
+     * @return Error message.
+     */
+    private static String getErrorMessage(final KYCResultRules.Decision decision,
+                                          final String status,
+                                          final KYCResponse result) {
+        final String code = String.valueOf(result.getCode());
+
+        switch (decision.getMessage()) {
+            case KYCResultRules.MESSAGE_LOCAL:
+                return KYCManager.getInstance().getErrorMessage(code);
+            case KYCResultRules.MESSAGE_DETAILED:
+                return "Status: " + status
+                        + "\nCode: " + code
+                        + "\n" + KYCManager.getInstance().getErrorMessage(code, result.getMessage());
+            case KYCResultRules.MESSAGE_LIVENESS:
+                final KycLivenessResult liveness = result.getLivenessResult();
+                final String assessment = liveness != null ? liveness.getAssessment() : null;
+                if ("NotLive".equals(assessment)) {
+                    return KYCManager.getInstance().getErrorMessage("9901");
+                } else if ("PoorQuality".equals(assessment)) {
+                    return KYCManager.getInstance().getErrorMessage("9902");
+                } else if (liveness != null && liveness.getError() != null) {
+                    return liveness.getError();
+                }
+                return "Error during liveness processing";
+            default:
+                return KYCManager.getInstance().getErrorMessage(code, result.getMessage());
+        }
+    }
+
+    /**
+     * Maps the HTTP status code to a readable error message.
+     *
+     * @param statusCode HTTP status code.
+     * @param step Verification step which issued the request.
+     *
+     * @return Error message.
+     */
+    private static String getErrorMessage(final int statusCode, final int step) {
+        switch (statusCode) {
+            // HTTP Error 401
+            case HttpURLConnection.HTTP_UNAUTHORIZED:
+                return KYCManager.getInstance().getErrorMessage("9911", null);
+
+            // HTTP Error 403 & 404
+            case HttpURLConnection.HTTP_FORBIDDEN:
+            case HttpURLConnection.HTTP_NOT_FOUND:
+                return KYCManager.getInstance().getErrorMessage(step == 1 ? "9910" : "9919", null);
+
+            case KYCTransport.STATUS_UNKNOWN:
+                return KYCManager.getInstance().getErrorMessage("9919", null);
+
+            // HTTP Error XXX
+            default:
+                return KYCManager.getInstance().getErrorMessage("9912", null);
+        }
     }
 }
 
@@ -0,0 +1,305 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idvconnect.helpers.communication;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Timings and payload sizes of a single exchange with the verification backend. Filled by the {@code KYCTransport}
+ * while the request is executed.
+ */
+public final class KYCExchangeMetrics {
+
+    //region Definition
+
+    private final int mStep;
+    private final String mMethod;
+    private boolean mPoll;
+    private int mAttempt = 1;
+    private long mBuildTimeMs;
+    private long mConnectTimeMs;
+    private long mBytesSent;
+    private long mContentBytesSent;
+    private long mUploadTimeMs;
+    private long mTimeToFirstByteMs;
+    private long mBytesReceived;
+    private long mContentBytesReceived;
+    private long mDownloadTimeMs;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code KYCExchangeMetrics} instance.
+     *
+     * @param step   Verification step which issued the request.
+     * @param method HTTP method.
+     */
+    KYCExchangeMetrics(final int step, final String method) {
+        mStep = step;
+        mMethod = method;
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Records the connection setup, or the reuse of a kept alive connection.
+     *
+     * @param durationMs Duration in milliseconds.
+     */
+    public synchronized void recordConnect(final long durationMs) {
+        mConnectTimeMs = durationMs;
+    }
+
+    /**
+     * Records the upload of the request body.
+     *
+     * @param bytes        Number of bytes sent.
+     * @param contentBytes Size of the body before compression.
+     * @param durationMs   Duration in milliseconds.
+     */
+    public synchronized void recordUpload(final long bytes, final long contentBytes, final long durationMs) {
+        mBytesSent = bytes;
+        mContentBytesSent = contentBytes;
+        mUploadTimeMs = durationMs;
+    }
+
+    /**
+     * Records the response.
+     *
+     * @param timeToFirstByteMs Time between the end of the upload and the response status, in milliseconds.
+     * @param bytes             Number of bytes received.
+     * @param contentBytes      Size of the body after decompression.
+     * @param durationMs        Download duration in milliseconds.
+     */
+    public synchronized void recordResponse(final long timeToFirstByteMs,
+                                            final long bytes,
+                                            final long contentBytes,
+                                            final long durationMs) {
+        mTimeToFirstByteMs = timeToFirstByteMs;
+        mBytesReceived = bytes;
+        mContentBytesReceived = contentBytes;
+        mDownloadTimeMs = durationMs;
+    }
+
+    /**
+     * Gets the verification step which issued the request.
+     *
+     * @return Verification step.
+     */
+    public int getStep() {
+        return mStep;
+    }
+
+    /**
+     * Gets the HTTP method.
+     *
+     * @return HTTP method.
+     */
+    public String getMethod() {
+        return mMethod;
+    }
+
+    /**
+     * Checks if the request polls the result of a server operation.
+     *
+     * @return {@code True} if polling request, else {@code false}.
+     */
+    public synchronized boolean isPoll() {
+        return mPoll;
+    }
+
+    /**
+     * Gets the attempt number of the request.
+     *
+     * @return Attempt number, starting at 1.
+     */
+    public synchronized int getAttempt() {
+        return mAttempt;
+    }
+
+    /**
+     * Gets the time spent building the request body.
+     *
+     * @return Duration in milliseconds.
+     */
+    public synchronized long getBuildTimeMs() {
+        return mBuildTimeMs;
+    }
+
+    /**
+     * Gets the connection setup time.
+     *
+     * @return Duration in milliseconds.
+     */
+    public synchronized long getConnectTimeMs() {
+        return mConnectTimeMs;
+    }
+
+    /**
+     * Gets the number of bytes sent.
+     *
+     * @return Number of bytes.
+     */
+    public synchronized long getBytesSent() {
+        return mBytesSent;
+    }
+
+    /**
+     * Gets the size of the request body before compression.
+     *
+     * @return Number of bytes.
+     */
+    public synchronized long getContentBytesSent() {
+        return mContentBytesSent;
+    }
+
+    /**
+     * Gets the compression ratio of the request body.
+     *
+     * @return Size before compression divided by the number of bytes sent, {@code 1} if nothing was sent.
+     */
+    public synchronized double getSendRatio() {
+        return mBytesSent > 0 ? (double) mContentBytesSent / mBytesSent : 1;
+    }
+
+    /**
+     * Gets the upload duration.
+     *
+     * @return Duration in milliseconds.
+     */
+    public synchronized long getUploadTimeMs() {
+        return mUploadTimeMs;
+    }
+
+    /**
+     * Gets the time between the end of the upload and the response status.
+     *
+     * @return Duration in milliseconds.
+     */
+    public synchronized long getTimeToFirstByteMs() {
+        return mTimeToFirstByteMs;
+    }
+
+    /**
+     * Gets the number of bytes received.
+     *
+     * @return Number of bytes.
+     */
+    public synchronized long getBytesReceived() {
+        return mBytesReceived;
+    }
+
+    /**
+     * Gets the size of the response body after decompression.
+     *
+     * @return Number of bytes.
+     */
+    public synchronized long getContentBytesReceived() {
+        return mContentBytesReceived;
+    }
+
+    /**
+     * Gets the compression ratio of the response body.
+     *
+     * @return Size after decompression divided by the number of bytes received, {@code 1} if nothing was received.
+     */
+    public synchronized double getReceiveRatio() {
+        return mBytesReceived > 0 ? (double) mContentBytesReceived / mBytesReceived : 1;
+    }
+
+    /**
+     * Gets the download duration.
+     *
+     * @return Duration in milliseconds.
+     */
+    public synchronized long getDownloadTimeMs() {
+        return mDownloadTimeMs;
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Sets the time spent building the request body.
+     *
+     * @param buildTimeMs Duration in milliseconds.
+     */
+    synchronized void setBuildTimeMs(final long buildTimeMs) {
+        mBuildTimeMs = buildTimeMs;
+    }
+
+    /**
+     * Marks the request as polling the result of a server operation.
+     *
+     * @param poll {@code True} if polling request, else {@code false}.
+     */
+    synchronized void setPoll(final boolean poll) {
+        mPoll = poll;
+    }
+
+    /**
+     * Sets the attempt number of the request.
+     *
+     * @param attempt Attempt number, starting at 1.
+     */
+    synchronized void setAttempt(final int attempt) {
+        mAttempt = attempt;
+    }
+
+    /**
+     * Gets the metrics as JSON.
+     *
+     * @return JSON object.
+     * @throws JSONException If JSON cannot be built.
+     */
+    synchronized JSONObject toJson() throws JSONException {
+        final JSONObject json = new JSONObject();
+        json.put("step", mStep);
+        json.put("method", mMethod);
+        json.put("poll", mPoll);
+        json.put("attempt", mAttempt);
+        json.put("buildMs", mBuildTimeMs);
+        json.put("connectMs", mConnectTimeMs);
+        json.put("bytesSent", mBytesSent);
+        json.put("contentBytesSent", mContentBytesSent);
+        json.put("uploadMs", mUploadTimeMs);
+        json.put("ttfbMs", mTimeToFirstByteMs);
+        json.put("bytesReceived", mBytesReceived);
+        json.put("contentBytesReceived", mContentBytesReceived);
+        json.put("downloadMs", mDownloadTimeMs);
+        return json;
+    }
+
+    //endregion
+}
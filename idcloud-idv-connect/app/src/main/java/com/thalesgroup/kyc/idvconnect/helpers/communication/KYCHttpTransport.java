@@ -0,0 +1,542 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idvconnect.helpers.communication;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.thalesgroup.kyc.idvconnect.helpers.KYCConfiguration;
+import com.thalesgroup.kyc.idvconnect.helpers.util.JsonUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ProtocolException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@code KYCTransport} based on {@code HttpURLConnection}.
+ *
+ * Requests are executed on a bounded pool of worker threads. Response streams are always fully consumed and
+ * closed without disconnecting, so the underlying socket is returned to the keep-alive pool and reused by the
+ * next request to the same host. {@link #warmUp(URL)} opens such a connection ahead of the first request.
+ *
+ * Request bodies are gzip compressed while streamed and gzip responses are decompressed, unless disabled by
+ * {@link KYCConfiguration#IDCLOUD_GZIP_ENABLED}. A backend which answers a compressed request with
+ * {@code 415 Unsupported Media Type} gets the following requests uncompressed, the rejected one is reported with
+ * {@link #STATUS_RESEND} so that it is sent again as a new attempt.
+ */
+public class KYCHttpTransport implements KYCTransport {
+
+    //region Definition
+
+    private static final long WORKER_KEEP_ALIVE_SEC = 30;
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final ThreadPoolExecutor mExecutor;
+    private final ThreadPoolExecutor mAbortExecutor;
+    private final Map<String, Long> mLastExchange = new ConcurrentHashMap<>();
+    private final Set<String> mUncompressedOrigins = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code KYCHttpTransport} instance.
+     *
+     * @param poolSize Maximum number of concurrent requests.
+     */
+    public KYCHttpTransport(final int poolSize) {
+        // Keep connections to the verification backend alive between requests.
+        System.setProperty("http.keepAlive", "true");
+        System.setProperty("http.maxConnections", String.valueOf(poolSize));
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, "KYC-Transport-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        mExecutor = new ThreadPoolExecutor(poolSize, poolSize,
+                                           WORKER_KEEP_ALIVE_SEC, TimeUnit.SECONDS,
+                                           new LinkedBlockingQueue<>(),
+                                           threadFactory);
+        mExecutor.allowCoreThreadTimeOut(true);
+
+        // Separate thread, the transport threads may all be blocked on the exchanges to abort.
+        mAbortExecutor = new ThreadPoolExecutor(1, 1,
+                                                WORKER_KEEP_ALIVE_SEC, TimeUnit.SECONDS,
+                                                new LinkedBlockingQueue<>(),
+                                                runnable -> {
+                                                    final Thread thread = new Thread(runnable, "KYC-Transport-Abort");
+                                                    thread.setDaemon(true);
+                                                    return thread;
+                                                });
+        mAbortExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    //endregion
+
+    //region KYCTransport
+
+    @Override
+    public void execute(final KYCRequest request, final ResponseHandler handler) {
+        mExecutor.execute(() -> perform(request, handler));
+    }
+
+    @Override
+    public void warmUp(final URL url) {
+        final String origin = getOrigin(url);
+        final Long lastExchange = mLastExchange.get(origin);
+        final long now = SystemClock.elapsedRealtime();
+        if (lastExchange != null && now - lastExchange < KYCConfiguration.IDCLOUD_WARM_UP_INTERVAL_MS) {
+            return;
+        }
+
+        // Mark the host as reached right away to avoid concurrent warm ups.
+        mLastExchange.put(origin, now);
+        mExecutor.execute(() -> performWarmUp(url, origin));
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Checks if the exchange failed because of a timeout or a dropped connection, which a new attempt may overcome.
+     * Other failures, like an unknown host or a TLS handshake or certificate error, fail the same way again.
+     *
+     * @param exception Exception of the exchange.
+     * @return {@code True} if transient, else {@code false}.
+     */
+    private static boolean isTransient(final IOException exception) {
+        // ConnectException is a SocketException.
+        return exception instanceof SocketTimeoutException || exception instanceof SocketException;
+    }
+
+    /**
+     * Sets the request method. {@code PATCH} is not supported by {@code HttpURLConnection} outside Android, e.g. when
+     * run by {@code idcloud-batch}: it is then sent as a {@code POST} with the {@code X-HTTP-Method-Override} header.
+     *
+     * @param connection Connection.
+     * @param method     Request method.
+     * @throws ProtocolException If method is not supported.
+     */
+    private static void setRequestMethod(final HttpURLConnection connection,
+                                         final String method) throws ProtocolException {
+        try {
+            connection.setRequestMethod(method);
+        } catch (final ProtocolException exception) {
+            if (!KYCRequest.METHOD_PATCH.equals(method)) {
+                throw exception;
+            }
+
+            connection.setRequestMethod(KYCRequest.METHOD_POST);
+            connection.setRequestProperty("X-HTTP-Method-Override", method);
+        }
+    }
+
+    /**
+     * Executes the request on the current thread.
+     *
+     * @param request Request.
+     * @param handler Callback.
+     */
+    private void perform(final KYCRequest request, final ResponseHandler handler) {
+        HttpURLConnection connection = null;
+        int statusCode;
+        final String origin = getOrigin(request.getUrl());
+        boolean compressed = false;
+        final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        String response = null;
+        String error = null;
+
+        // Cancelled while queued.
+        if (request.isCancelled()) {
+            handler.onFailure(STATUS_CANCELLED, "Cancelled");
+            return;
+        }
+
+        try {
+            final KYCExchangeMetrics metrics = request.getMetrics();
+            final long start = SystemClock.elapsedRealtime();
+
+            connection = (HttpURLConnection) request.getUrl().openConnection();
+            // Closing the connection from another thread makes the pending write or read fail right away. The
+            // cancelling thread is usually the main one, where disconnecting may perform network I/O.
+            final HttpURLConnection activeConnection = connection;
+            if (!request.setAbortAction(() -> mAbortExecutor.execute(activeConnection::disconnect))) {
+                throw new IOException("Cancelled");
+            }
+
+            connection.setConnectTimeout(KYCConfiguration.IDCLOUD_CONNECT_TIMEOUT_MS);
+            connection.setReadTimeout(KYCConfiguration.IDCLOUD_READ_TIMEOUT_MS);
+            setRequestMethod(connection, request.getMethod());
+
+            for (final Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+                connection.addRequestProperty(header.getKey(), header.getValue());
+            }
+
+            // Stream body directly into the connection.
+            final KYCRequestBody body = request.getBody();
+            if (body != null) {
+                JsonUtil.logJson(body.getJson().toString(), "JSON Request");
+
+                final long contentLength = body.getContentLength();
+                compressed = isCompressed(origin, contentLength);
+                connection.setDoOutput(true);
+                if (compressed) {
+                    // Compressed size is only known once written.
+                    connection.setRequestProperty("Content-Encoding", "gzip");
+                    connection.setChunkedStreamingMode(0);
+                } else if (contentLength >= 0) {
+                    connection.setFixedLengthStreamingMode(contentLength);
+                } else {
+                    connection.setChunkedStreamingMode(0);
+                }
+            } else {
+                Log.w("KYC", request.getMethod() + "...");
+            }
+
+            if (KYCConfiguration.IDCLOUD_GZIP_ENABLED) {
+                // Set explicitly, so the response is not decompressed by the platform and its wire size is known.
+                connection.setRequestProperty("Accept-Encoding", "gzip");
+            }
+
+            connection.connect();
+            final long connected = SystemClock.elapsedRealtime();
+            metrics.recordConnect(connected - start);
+
+            if (body != null) {
+                final CountingOutputStream sent = new CountingOutputStream(connection.getOutputStream());
+                final CountingOutputStream content = new CountingOutputStream(
+                        compressed ? new GZIPOutputStream(sent, BUFFER_SIZE) : sent);
+                try (OutputStream outputStream = new BufferedOutputStream(content, BUFFER_SIZE)) {
+                    body.writeTo(outputStream);
+                }
+                metrics.recordUpload(sent.getCount(), content.getCount(), SystemClock.elapsedRealtime() - connected);
+            }
+            final long uploaded = SystemClock.elapsedRealtime();
+
+            // Execute request.
+            statusCode = connection.getResponseCode();
+            final long firstByte = SystemClock.elapsedRealtime();
+            mLastExchange.put(origin, firstByte);
+
+            final CountingInputStream received;
+            final CountingInputStream content;
+            if (statusCode >= HttpURLConnection.HTTP_BAD_REQUEST) {
+                logHeaders(connection);
+                // Drain error body so connection can be reused.
+                received = CountingInputStream.wrap(connection.getErrorStream());
+                content = received;
+                readFully(received);
+                error = statusCode + " " + connection.getResponseMessage();
+            } else {
+                for (final Map.Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+                    // Status line is stored with a null key.
+                    if (header.getKey() != null) {
+                        headers.put(header.getKey(), header.getValue());
+                    }
+                }
+
+                received = CountingInputStream.wrap(connection.getInputStream());
+                content = CountingInputStream.wrap(decode(connection, received));
+                response = readFully(content);
+                JsonUtil.logJson(response, "JSON Response");
+            }
+
+            metrics.recordResponse(firstByte - uploaded,
+                                   received == null ? 0 : received.getCount(),
+                                   content == null ? 0 : content.getCount(),
+                                   SystemClock.elapsedRealtime() - firstByte);
+        } catch (final IOException exception) {
+            if (request.isCancelled()) {
+                handler.onFailure(STATUS_CANCELLED, "Cancelled");
+                return;
+            }
+
+            Log.e("KYC", "Fail: " + exception.toString());
+            if (connection != null) {
+                logHeaders(connection);
+                connection.disconnect();
+            }
+
+            statusCode = isTransient(exception) ? STATUS_NO_RESPONSE : STATUS_CONNECTION_FAILED;
+            error = exception.toString();
+        } catch (final Exception exception) {
+            if (connection != null) {
+                connection.disconnect();
+            }
+
+            statusCode = request.isCancelled() ? STATUS_CANCELLED : STATUS_UNKNOWN;
+            error = exception.toString();
+        }
+
+        request.setAbortAction(null);
+
+        if (compressed && statusCode == HttpURLConnection.HTTP_UNSUPPORTED_TYPE) {
+            Log.w("KYC", "Compressed request rejected by " + origin + ", sending uncompressed.");
+            mUncompressedOrigins.add(origin);
+            handler.onFailure(STATUS_RESEND, error);
+            return;
+        }
+
+        if (error == null) {
+            handler.onSuccess(statusCode, headers, response);
+        } else {
+            handler.onFailure(statusCode, error);
+        }
+    }
+
+    /**
+     * Sends a {@code HEAD} request on the current thread and releases the connection to the keep-alive pool. The
+     * status code is irrelevant, only the established connection matters.
+     *
+     * @param url    URL.
+     * @param origin Origin of the URL.
+     */
+    private void performWarmUp(final URL url, final String origin) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(KYCConfiguration.IDCLOUD_CONNECT_TIMEOUT_MS);
+            connection.setReadTimeout(KYCConfiguration.IDCLOUD_READ_TIMEOUT_MS);
+            connection.setRequestMethod("HEAD");
+
+            if (connection.getResponseCode() >= HttpURLConnection.HTTP_BAD_REQUEST) {
+                readFully(connection.getErrorStream());
+            } else {
+                readFully(connection.getInputStream());
+            }
+        } catch (final IOException exception) {
+            Log.w("KYC", "Warm up failed: " + exception.toString());
+            mLastExchange.remove(origin);
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Checks if the request body is compressed.
+     *
+     * @param origin        Origin of the request.
+     * @param contentLength Size of the body.
+     * @return {@code True} if compressed, else {@code false}.
+     */
+    private boolean isCompressed(final String origin, final long contentLength) {
+        return KYCConfiguration.IDCLOUD_GZIP_ENABLED
+                && contentLength >= KYCConfiguration.IDCLOUD_GZIP_MIN_BYTES
+                && !mUncompressedOrigins.contains(origin);
+    }
+
+    /**
+     * Decodes the response body according to its content encoding.
+     *
+     * @param connection Connection.
+     * @param stream     Response body, may be {@code null}.
+     * @return Decoded response body or {@code null} if no body.
+     * @throws IOException If the gzip header cannot be read.
+     */
+    private static InputStream decode(final HttpURLConnection connection, final InputStream stream) throws IOException {
+        if (stream != null && "gzip".equalsIgnoreCase(connection.getContentEncoding())) {
+            return new GZIPInputStream(stream, BUFFER_SIZE);
+        }
+
+        return stream;
+    }
+
+    /**
+     * Gets the origin (scheme, host and port) of the URL. Connections are pooled per origin.
+     *
+     * @param url URL.
+     * @return Origin.
+     */
+    private static String getOrigin(final URL url) {
+        return url.getProtocol() + "://" + url.getAuthority();
+    }
+
+    /**
+     * Reads the whole stream and closes it.
+     *
+     * @param stream Input stream, may be {@code null}.
+     * @return Stream content or empty {@code String}.
+     * @throws IOException If error occurs while reading.
+     */
+    private static String readFully(final InputStream stream) throws IOException {
+        final StringBuilder responseSB = new StringBuilder();
+        if (stream == null) {
+            return responseSB.toString();
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+
+            while (line != null) {
+                responseSB.append(line);
+                line = reader.readLine();
+            }
+        }
+
+        return responseSB.toString();
+    }
+
+    /**
+     * Logs the response header fields.
+     *
+     * @param connection Connection.
+     */
+    private static void logHeaders(final HttpURLConnection connection) {
+        try {
+            final Map<String, List<String>> headerFields = connection.getHeaderFields();
+            final StringBuilder sb = new StringBuilder();
+            sb.append('\n');
+            sb.append("<HEADERS url=\"").append(connection.getURL().toString()).append("\">");
+
+            for (final String name : headerFields.keySet()) {
+                sb.append('\n');
+                sb.append("[").append(name).append("]:");
+                sb.append(connection.getHeaderField(name));
+            }
+            sb.append('\n');
+            sb.append("</HEADERS>");
+
+            Log.e("KYC", sb.toString());
+        } catch (final Exception exception) {
+            // Nothing to log.
+        }
+    }
+
+    //endregion
+
+    //region Counting Streams
+
+    /**
+     * Output stream counting the bytes written.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long mCount;
+
+        private CountingOutputStream(final OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(final int oneByte) throws IOException {
+            out.write(oneByte);
+            mCount++;
+        }
+
+        @Override
+        public void write(final byte[] buffer, final int offset, final int length) throws IOException {
+            out.write(buffer, offset, length);
+            mCount += length;
+        }
+
+        private long getCount() {
+            return mCount;
+        }
+    }
+
+    /**
+     * Input stream counting the bytes read.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long mCount;
+
+        private CountingInputStream(final InputStream input) {
+            super(input);
+        }
+
+        /**
+         * Wraps the stream.
+         *
+         * @param input Stream, may be {@code null}.
+         * @return Counting stream or {@code null} if no stream.
+         */
+        private static CountingInputStream wrap(final InputStream input) {
+            return input == null ? null : new CountingInputStream(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = in.read();
+            if (value >= 0) {
+                mCount++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int read = in.read(buffer, offset, length);
+            if (read > 0) {
+                mCount += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long count) throws IOException {
+            final long skipped = in.skip(count);
+            mCount += skipped;
+            return skipped;
+        }
+
+        private long getCount() {
+            return mCount;
+        }
+    }
+
+    //endregion
+}
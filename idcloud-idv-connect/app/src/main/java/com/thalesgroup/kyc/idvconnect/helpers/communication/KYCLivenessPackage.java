@@ -0,0 +1,299 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idvconnect.helpers.communication;
+
+import android.util.JsonReader;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Parts of the Aware server package sent to the verification backend.
+ *
+ * The package holds the whole video workflow, while the backend only needs the first frames and a few meta data
+ * values. The package is read once as a stream: the kept values are copied and everything else is skipped without
+ * being materialised.
+ */
+final class KYCLivenessPackage {
+
+    //region Definition
+
+    private final JSONArray mFrames;
+    private final JSONObject mMetaData;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code KYCLivenessPackage} instance.
+     *
+     * @param frames   Kept frames.
+     * @param metaData Kept meta data.
+     */
+    private KYCLivenessPackage(final JSONArray frames, final JSONObject metaData) {
+        mFrames = frames;
+        mMetaData = metaData;
+    }
+
+    /**
+     * Reads the Aware server package.
+     *
+     * @param serverPackage Aware server package, closed once read.
+     * @param frameCount    Number of frames to keep, from the first one.
+     * @param metaDataKeys  Meta data to keep.
+     * @return Kept parts of the package.
+     * @throws JSONException If the package is not valid, or if a frame or a meta data value is missing.
+     */
+    static KYCLivenessPackage read(final Reader serverPackage,
+                                   final int frameCount,
+                                   final String... metaDataKeys) throws JSONException {
+        final JSONArray frames = new JSONArray();
+        final JSONObject metaData = new JSONObject();
+        boolean hasFrames = false;
+        boolean hasMetaData = false;
+
+        try (JsonReader reader = new JsonReader(serverPackage)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!reader.nextName().equals("video")) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    switch (reader.nextName()) {
+                        case "workflow_data":
+                            hasFrames = readFrames(reader, frameCount, frames);
+                            break;
+                        case "meta_data":
+                            readMetaData(reader, metaDataKeys, metaData);
+                            hasMetaData = true;
+                            break;
+                        default:
+                            reader.skipValue();
+                            break;
+                    }
+                }
+                reader.endObject();
+            }
+            reader.endObject();
+        } catch (final IOException | IllegalStateException | NumberFormatException exception) {
+            // Package could not be read, malformed JSON or unexpected structure.
+            throw new JSONException(exception.getMessage());
+        }
+
+        if (!hasFrames) {
+            throw new JSONException("No value for video.workflow_data.frames");
+        }
+        if (frames.length() < frameCount) {
+            throw new JSONException("Expected " + frameCount + " frames, got " + frames.length());
+        }
+        if (!hasMetaData) {
+            throw new JSONException("No value for video.meta_data");
+        }
+        for (final String key : metaDataKeys) {
+            if (!metaData.has(key)) {
+                throw new JSONException("No value for video.meta_data." + key);
+            }
+        }
+
+        return new KYCLivenessPackage(frames, metaData);
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Gets the kept frames.
+     *
+     * @return Frames.
+     */
+    JSONArray getFrames() {
+        return mFrames;
+    }
+
+    /**
+     * Gets the kept meta data.
+     *
+     * @return Meta data.
+     */
+    JSONObject getMetaData() {
+        return mMetaData;
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Copies the first frames of the {@code workflow_data} object.
+     *
+     * @param reader     Reader positioned on the {@code workflow_data} value.
+     * @param frameCount Number of frames to keep.
+     * @param frames     Kept frames.
+     * @return {@code True} if the frames array is present, else {@code false}.
+     * @throws IOException   If the package could not be read.
+     * @throws JSONException If a frame could not be copied.
+     */
+    private static boolean readFrames(final JsonReader reader,
+                                      final int frameCount,
+                                      final JSONArray frames) throws IOException, JSONException {
+        boolean hasFrames = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("frames")) {
+                reader.skipValue();
+                continue;
+            }
+
+            hasFrames = true;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (frames.length() < frameCount) {
+                    frames.put(readValue(reader));
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+
+        return hasFrames;
+    }
+
+    /**
+     * Copies the selected values of the {@code meta_data} object.
+     *
+     * @param reader   Reader positioned on the {@code meta_data} value.
+     * @param keys     Meta data to keep.
+     * @param metaData Kept meta data.
+     * @throws IOException   If the package could not be read.
+     * @throws JSONException If a value could not be copied.
+     */
+    private static void readMetaData(final JsonReader reader,
+                                     final String[] keys,
+                                     final JSONObject metaData) throws IOException, JSONException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            boolean kept = false;
+
+            for (final String key : keys) {
+                if (key.equals(name)) {
+                    kept = true;
+                    break;
+                }
+            }
+
+            if (kept) {
+                metaData.put(name, readValue(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Reads any JSON value into its {@code org.json} representation.
+     *
+     * @param reader Reader positioned on the value.
+     * @return {@code JSONObject}, {@code JSONArray}, {@code String}, {@code Number}, {@code Boolean} or
+     * {@code JSONObject.NULL}.
+     * @throws IOException   If the package could not be read.
+     * @throws JSONException If the value could not be copied.
+     */
+    private static Object readValue(final JsonReader reader) throws IOException, JSONException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                final JSONObject object = new JSONObject();
+
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    final String name = reader.nextName();
+                    object.put(name, readValue(reader));
+                }
+                reader.endObject();
+
+                return object;
+            case BEGIN_ARRAY:
+                final JSONArray array = new JSONArray();
+
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    array.put(readValue(reader));
+                }
+                reader.endArray();
+
+                return array;
+            case NUMBER:
+                return readNumber(reader.nextString());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return JSONObject.NULL;
+            default:
+                return reader.nextString();
+        }
+    }
+
+    /**
+     * Converts a number literal like {@code org.json} does: integers as {@code Integer} or {@code Long}, other
+     * values as {@code Double}.
+     *
+     * @param literal Number literal.
+     * @return Number.
+     */
+    private static Number readNumber(final String literal) {
+        if (literal.indexOf('.') < 0 && literal.indexOf('e') < 0 && literal.indexOf('E') < 0) {
+            try {
+                final long value = Long.parseLong(literal);
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                    return (int) value;
+                }
+                return value;
+            } catch (final NumberFormatException exception) {
+                // Out of range, falls back to double.
+            }
+        }
+
+        return Double.valueOf(literal);
+    }
+
+    //endregion
+}
@@ -0,0 +1,206 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idvconnect.helpers.communication;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Request sent to the verification backend through a {@code KYCTransport}.
+ */
+public class KYCRequest {
+
+    //region Definition
+
+    public static final String METHOD_GET = "GET";
+    public static final String METHOD_POST = "POST";
+    public static final String METHOD_PATCH = "PATCH";
+    public static final String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final String mMethod;
+    private final URL mUrl;
+    private KYCRequestBody mBody;
+    private final int mStep;
+    private final Map<String, String> mHeaders = new LinkedHashMap<>();
+    private final KYCExchangeMetrics mMetrics;
+    private boolean mCancelled;
+    private Runnable mAbortAction;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code KYCRequest} instance.
+     *
+     * @param method HTTP method.
+     * @param url    URL.
+     * @param body   Body or {@code null} if request has no body.
+     * @param step   Verification step which issued the request.
+     */
+    KYCRequest(final String method,
+               final URL url,
+               final KYCRequestBody body,
+               final int step) {
+        mMethod = method;
+        mUrl = url;
+        mBody = body;
+        mStep = step;
+        mMetrics = new KYCExchangeMetrics(step, method);
+    }
+
+    /**
+     * Creates a copy of the request to send it again after a transient failure. Headers, including the idempotency
+     * key, and body are shared, metrics are new.
+     *
+     * @return New attempt of the request.
+     */
+    synchronized KYCRequest nextAttempt() {
+        final KYCRequest request = new KYCRequest(mMethod, mUrl, mBody, mStep);
+        request.mHeaders.putAll(mHeaders);
+        request.mMetrics.setAttempt(mMetrics.getAttempt() + 1);
+
+        return request;
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Adds a HTTP header to the request.
+     *
+     * @param name  Header name.
+     * @param value Header value.
+     */
+    void addHeader(final String name, final String value) {
+        mHeaders.put(name, value);
+    }
+
+    /**
+     * Gets the HTTP method.
+     *
+     * @return HTTP method.
+     */
+    public String getMethod() {
+        return mMethod;
+    }
+
+    /**
+     * Gets the URL.
+     *
+     * @return URL.
+     */
+    public URL getUrl() {
+        return mUrl;
+    }
+
+    /**
+     * Gets the body.
+     *
+     * @return Body or {@code null} if request has no body.
+     */
+    public synchronized KYCRequestBody getBody() {
+        return mBody;
+    }
+
+    /**
+     * Gets the verification step which issued the request.
+     *
+     * @return Verification step.
+     */
+    public int getStep() {
+        return mStep;
+    }
+
+    /**
+     * Gets the HTTP headers.
+     *
+     * @return Read-only HTTP headers.
+     */
+    public Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(mHeaders);
+    }
+
+    /**
+     * Gets the metrics of the exchange, filled by the transport.
+     *
+     * @return Exchange metrics.
+     */
+    public KYCExchangeMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * Sets the action which aborts the exchange in progress, e.g. closes the connection. The action is run on the
+     * thread cancelling the request, usually the main thread, so it must not block nor perform network I/O itself.
+     *
+     * @param abortAction Abort action.
+     * @return {@code True} if set, {@code false} if the request is already cancelled.
+     */
+    public synchronized boolean setAbortAction(final Runnable abortAction) {
+        mAbortAction = abortAction;
+
+        return !mCancelled;
+    }
+
+    /**
+     * Checks if the request was cancelled.
+     *
+     * @return {@code True} if cancelled, else {@code false}.
+     */
+    public synchronized boolean isCancelled() {
+        return mCancelled;
+    }
+
+    /**
+     * Cancels the request. The exchange in progress is aborted and the body is released. The abort action runs
+     * outside the request lock, so that a transport thread waiting on it is not blocked.
+     */
+    void cancel() {
+        final Runnable abortAction;
+        synchronized (this) {
+            if (mCancelled) {
+                return;
+            }
+
+            mCancelled = true;
+            mBody = null;
+            abortAction = mAbortAction;
+            mAbortAction = null;
+        }
+
+        if (abortAction != null) {
+            abortAction.run();
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,293 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idvconnect.helpers.communication;
+
+import android.util.Base64;
+import android.util.Base64OutputStream;
+
+import com.thalesgroup.kyc.idvconnect.helpers.KYCStoredData;
+
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JSON request body which streams binary attachments (images) as Base64 directly into the connection.
+ *
+ * Binary data is not stored in the JSON object. Instead a placeholder returned by {@link #attachBinary(byte[])} is
+ * put in the JSON and replaced by the Base64 encoding of the data while writing the body. Peak memory for an upload
+ * is the raw data plus a fixed size buffer, instead of several copies of the encoded image.
+ */
+public class KYCRequestBody {
+
+    //region Definition
+
+    /**
+     * Binary attachment.
+     */
+    private interface Binary {
+        /**
+         * Gets the size of the Base64 encoding.
+         *
+         * @return Size in bytes.
+         */
+        long base64Length();
+
+        /**
+         * Writes the Base64 encoding.
+         *
+         * @param outputStream Output stream, left open.
+         * @throws IOException If error occurs while writing.
+         */
+        void writeBase64(OutputStream outputStream) throws IOException;
+    }
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final String mPlaceholderPrefix = "kyc-binary-" + UUID.randomUUID().toString() + "-";
+    private final List<Binary> mBinaries = new ArrayList<>();
+    private JSONObject mJson;
+
+    // Serialized form: literal JSON parts interleaved with binary attachments.
+    private List<byte[]> mLiterals;
+    private List<Binary> mOrderedBinaries;
+    private long mContentLength = -1;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new empty {@code KYCRequestBody} instance. JSON must be set using {@link #setJson(JSONObject)}.
+     */
+    KYCRequestBody() {
+        // Nothing to do.
+    }
+
+    /**
+     * Creates a new {@code KYCRequestBody} instance without binary attachments.
+     *
+     * @param json JSON body.
+     */
+    KYCRequestBody(final JSONObject json) {
+        mJson = json;
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Registers binary data which will be written as Base64 {@code String}.
+     *
+     * @param data Binary data.
+     * @return Placeholder to put in the JSON in place of the Base64 value.
+     */
+    String attachBinary(final byte[] data) {
+        return attach(new Binary() {
+            @Override
+            public long base64Length() {
+                return KYCRequestBody.base64Length(data.length);
+            }
+
+            @Override
+            public void writeBase64(final OutputStream outputStream) throws IOException {
+                KYCRequestBody.writeBase64(data, outputStream);
+            }
+        });
+    }
+
+    /**
+     * Registers stored data which will be written as Base64 {@code String}. The data is streamed from the store
+     * while writing the body.
+     *
+     * @param data Stored data.
+     * @return Placeholder to put in the JSON in place of the Base64 value.
+     */
+    String attachBinary(final KYCStoredData data) {
+        return attach(new Binary() {
+            @Override
+            public long base64Length() {
+                return data.base64Length();
+            }
+
+            @Override
+            public void writeBase64(final OutputStream outputStream) throws IOException {
+                data.writeBase64(outputStream);
+            }
+        });
+    }
+
+    /**
+     * Sets the JSON envelope.
+     *
+     * @param json JSON containing placeholders of the binary attachments.
+     * @return This body.
+     */
+    KYCRequestBody setJson(final JSONObject json) {
+        mJson = json;
+        mContentLength = -1;
+
+        return this;
+    }
+
+    /**
+     * Gets the JSON envelope. Binary attachments are represented by their placeholder, which makes it suitable for
+     * logging.
+     *
+     * @return JSON envelope.
+     */
+    public JSONObject getJson() {
+        return mJson;
+    }
+
+    /**
+     * Gets the exact number of bytes written by {@link #writeTo(OutputStream)}.
+     *
+     * @return Content length in bytes.
+     */
+    public long getContentLength() {
+        prepare();
+
+        return mContentLength;
+    }
+
+    /**
+     * Writes the body, encoding the binary attachments on the fly.
+     *
+     * @param outputStream Output stream.
+     * @throws IOException If error occurs while writing.
+     */
+    public void writeTo(final OutputStream outputStream) throws IOException {
+        prepare();
+
+        for (int index = 0; index < mLiterals.size(); index++) {
+            outputStream.write(mLiterals.get(index));
+
+            if (index < mOrderedBinaries.size()) {
+                mOrderedBinaries.get(index).writeBase64(outputStream);
+            }
+        }
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Registers a binary attachment.
+     *
+     * @param binary Binary attachment.
+     * @return Placeholder to put in the JSON in place of the Base64 value.
+     */
+    private String attach(final Binary binary) {
+        mBinaries.add(binary);
+        mContentLength = -1;
+
+        return mPlaceholderPrefix + (mBinaries.size() - 1);
+    }
+
+    /**
+     * Splits the serialized JSON around the placeholders and computes the content length.
+     */
+    private void prepare() {
+        if (mContentLength >= 0) {
+            return;
+        }
+
+        final String json = mJson.toString();
+        mLiterals = new ArrayList<>();
+        mOrderedBinaries = new ArrayList<>();
+
+        int start = 0;
+        long length = 0;
+
+        while (true) {
+            final int index = json.indexOf(mPlaceholderPrefix, start);
+            if (index < 0) {
+                break;
+            }
+
+            int end = index + mPlaceholderPrefix.length();
+            while (end < json.length() && Character.isDigit(json.charAt(end))) {
+                end++;
+            }
+
+            // Quotes around the placeholder are kept as part of the literals.
+            final byte[] literal = json.substring(start, index).getBytes(StandardCharsets.UTF_8);
+            final Binary binary = mBinaries.get(Integer.parseInt(json.substring(index + mPlaceholderPrefix.length(), end)));
+            mLiterals.add(literal);
+            mOrderedBinaries.add(binary);
+            length += literal.length + binary.base64Length();
+
+            start = end;
+        }
+
+        final byte[] literal = json.substring(start).getBytes(StandardCharsets.UTF_8);
+        mLiterals.add(literal);
+        length += literal.length;
+
+        mContentLength = length;
+    }
+
+    /**
+     * Writes the Base64 encoding of the data in chunks.
+     *
+     * @param data         Binary data.
+     * @param outputStream Output stream.
+     * @throws IOException If error occurs while writing.
+     */
+    private static void writeBase64(final byte[] data, final OutputStream outputStream) throws IOException {
+        final Base64OutputStream base64Stream = new Base64OutputStream(outputStream,
+                                                                       Base64.NO_WRAP | Base64.NO_CLOSE);
+
+        for (int offset = 0; offset < data.length; offset += BUFFER_SIZE) {
+            base64Stream.write(data, offset, Math.min(BUFFER_SIZE, data.length - offset));
+        }
+
+        // Flushes the padding, underlying stream stays open.
+        base64Stream.close();
+    }
+
+    /**
+     * Computes the size of the padded Base64 encoding.
+     *
+     * @param length Binary length.
+     * @return Base64 length.
+     */
+    private static long base64Length(final int length) {
+        return 4L * ((length + 2) / 3);
+    }
+
+    //endregion
+}
@@ -0,0 +1,295 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idvconnect.helpers.communication;
+
+import com.thalesgroup.kyc.idvconnect.helpers.communication.structures.KYCResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decides how a verification result is handled from its code.
+ *
+ * Each table maps code ranges to a {@link Decision}: deliver the result, retry the document or selfie scan, or abort.
+ * Tables are compiled once into arrays sorted by range start, so a code is resolved with a binary search. A rule may
+ * also inspect the result, it falls back to the default decision when not matching.
+ */
+final class KYCResultRules {
+
+    //region Definition
+
+    static final int ACTION_RESULT = 0;
+    static final int ACTION_RETRY_DOC = 1;
+    static final int ACTION_RETRY_SELFIE = 2;
+    static final int ACTION_ABORT = 3;
+
+    /**
+     * Localized message of the code, server message as fallback.
+     */
+    static final int MESSAGE_SERVER = 0;
+
+    /**
+     * Localized message of the code only.
+     */
+    static final int MESSAGE_LOCAL = 1;
+
+    /**
+     * Verification status and code, followed by {@link #MESSAGE_SERVER}.
+     */
+    static final int MESSAGE_DETAILED = 2;
+
+    /**
+     * Passive liveness assessment of the result.
+     */
+    static final int MESSAGE_LIVENESS = 3;
+
+    /**
+     * Condition on the result, checked once the code matched the range of the rule.
+     */
+    interface Condition {
+        /**
+         * Checks the result.
+         *
+         * @param result Verification result.
+         * @return {@code True} if the rule applies, else {@code false}.
+         */
+        boolean matches(KYCResponse result);
+    }
+
+    /**
+     * Outcome of a rule.
+     */
+    static final class Decision {
+        private final int mAction;
+        private final int mMessage;
+
+        /**
+         * Creates a new {@code Decision} instance.
+         *
+         * @param action  One of the {@code ACTION_*} constants.
+         * @param message One of the {@code MESSAGE_*} constants, how the error message is built.
+         */
+        Decision(final int action, final int message) {
+            mAction = action;
+            mMessage = message;
+        }
+
+        /**
+         * Gets the action.
+         *
+         * @return One of the {@code ACTION_*} constants.
+         */
+        int getAction() {
+            return mAction;
+        }
+
+        /**
+         * Gets how the error message is built.
+         *
+         * @return One of the {@code MESSAGE_*} constants.
+         */
+        int getMessage() {
+            return mMessage;
+        }
+    }
+
+    /**
+     * Code range mapped to a decision.
+     */
+    private static final class Rule {
+        private final int mFrom;
+        private final int mTo;
+        private final Condition mCondition;
+        private final Decision mDecision;
+
+        /**
+         * Creates a new {@code Rule} instance.
+         *
+         * @param from      First code of the range.
+         * @param to        Last code of the range.
+         * @param condition Condition on the result, may be {@code null}.
+         * @param decision  Decision.
+         */
+        private Rule(final int from, final int to, final Condition condition, final Decision decision) {
+            mFrom = from;
+            mTo = to;
+            mCondition = condition;
+            mDecision = decision;
+        }
+    }
+
+    /**
+     * Collects the rules of a table.
+     */
+    static final class Builder {
+        private final List<Rule> mRules = new ArrayList<>();
+
+        /**
+         * Adds a rule.
+         *
+         * @param from    First code of the range.
+         * @param to      Last code of the range.
+         * @param action  One of the {@code ACTION_*} constants.
+         * @param message One of the {@code MESSAGE_*} constants.
+         * @return This builder.
+         */
+        Builder add(final int from, final int to, final int action, final int message) {
+            return add(from, to, null, action, message);
+        }
+
+        /**
+         * Adds a rule with a condition on the result.
+         *
+         * @param from      First code of the range.
+         * @param to        Last code of the range.
+         * @param condition Condition on the result, may be {@code null}.
+         * @param action    One of the {@code ACTION_*} constants.
+         * @param message   One of the {@code MESSAGE_*} constants.
+         * @return This builder.
+         */
+        Builder add(final int from,
+                    final int to,
+                    final Condition condition,
+                    final int action,
+                    final int message) {
+            if (from > to) {
+                throw new IllegalArgumentException("Invalid range " + from + ".." + to);
+            }
+
+            mRules.add(new Rule(from, to, condition, new Decision(action, message)));
+            return this;
+        }
+
+        /**
+         * Compiles the table.
+         *
+         * @param action  Action of the codes not covered by a rule.
+         * @param message Message of the codes not covered by a rule.
+         * @return Table.
+         * @throws IllegalArgumentException If two ranges overlap.
+         */
+        KYCResultRules build(final int action, final int message) {
+            return new KYCResultRules(mRules, new Decision(action, message));
+        }
+    }
+
+    /**
+     * Failed passive liveness verification.
+     */
+    static final KYCResultRules PASSIVE_LIVENESS_FAILURE = new Builder()
+            // Not live or poor quality, detailed by the liveness assessment.
+            .add(5321, 5321, ACTION_RETRY_SELFIE, MESSAGE_LIVENESS)
+            .add(5331, 5331, ACTION_RETRY_SELFIE, MESSAGE_SERVER)
+            .add(5332, 5332, ACTION_RETRY_SELFIE, MESSAGE_LOCAL)
+            .add(5333, 5333, ACTION_RETRY_SELFIE, MESSAGE_SERVER)
+            .build(ACTION_RETRY_DOC, MESSAGE_DETAILED);
+
+    /**
+     * Failed enhanced liveness verification.
+     */
+    static final KYCResultRules ENHANCED_LIVENESS_FAILURE = new Builder()
+            .add(5331, 5331, ACTION_RETRY_SELFIE, MESSAGE_SERVER)
+            .add(5332, 5332, ACTION_RETRY_SELFIE, MESSAGE_LOCAL)
+            .add(5333, 5333, ACTION_RETRY_SELFIE, MESSAGE_SERVER)
+            .build(ACTION_RETRY_DOC, MESSAGE_DETAILED);
+
+    /**
+     * Any other failed verification.
+     */
+    static final KYCResultRules FAILURE = new Builder()
+            .build(ACTION_RETRY_DOC, MESSAGE_DETAILED);
+
+    private final int[] mFrom;
+    private final int[] mTo;
+    private final Condition[] mConditions;
+    private final Decision[] mDecisions;
+    private final Decision mDefault;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code KYCResultRules} instance.
+     *
+     * @param rules        Rules.
+     * @param defaultValue Decision of the codes not covered by a rule.
+     * @throws IllegalArgumentException If two ranges overlap.
+     */
+    private KYCResultRules(final List<Rule> rules, final Decision defaultValue) {
+        final Rule[] sorted = rules.toArray(new Rule[0]);
+        Arrays.sort(sorted, (first, second) -> Integer.compare(first.mFrom, second.mFrom));
+
+        mFrom = new int[sorted.length];
+        mTo = new int[sorted.length];
+        mConditions = new Condition[sorted.length];
+        mDecisions = new Decision[sorted.length];
+        mDefault = defaultValue;
+
+        for (int index = 0; index < sorted.length; index++) {
+            mFrom[index] = sorted[index].mFrom;
+            mTo[index] = sorted[index].mTo;
+            mConditions[index] = sorted[index].mCondition;
+            mDecisions[index] = sorted[index].mDecision;
+
+            if (index > 0 && mFrom[index] <= mTo[index - 1]) {
+                throw new IllegalArgumentException("Overlapping range " + mFrom[index] + ".." + mTo[index]);
+            }
+        }
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Decides how the result is handled.
+     *
+     * @param result Verification result.
+     * @return Decision.
+     */
+    Decision decide(final KYCResponse result) {
+        final int code = result.getCode();
+        int index = Arrays.binarySearch(mFrom, code);
+        if (index < 0) {
+            // Last range starting before the code.
+            index = -index - 2;
+        }
+
+        if (index >= 0
+                && code <= mTo[index]
+                && (mConditions[index] == null || mConditions[index].matches(result))) {
+            return mDecisions[index];
+        }
+
+        return mDefault;
+    }
+
+    //endregion
+}
@@ -29,7 +29,10 @@ package com.thalesgroup.kyc.idvconnect.helpers.communication;
 
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
 
+import com.thalesgroup.kyc.idvconnect.BuildConfig;
 import com.thalesgroup.kyc.idvconnect.helpers.communication.structures.KYCResponse;
 
 import java.net.MalformedURLException;
@@ -81,12 +84,40 @@ public class KYCSession {
          * @param error Error received from verification server.
          */
         void onFailureAbort(final String error);
+
+        /**
+         * Verification cancelled by the application. No other callback is delivered afterwards.
+         */
+        void onCancelled();
+    }
+
+    /**
+     * Delivery of a callback to the handler.
+     */
+    private interface Dispatch {
+        /**
+         * Calls the handler.
+         *
+         * @param handler Handler.
+         */
+        void to(KYCResponseHandler handler);
     }
 
+    private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
+
     private int mTryCount;
     private final String mURLBase;
     private String mSessionId;
     private KYCResponseHandler mHandler;
+    private KYCCapture mCapture;
+    private int mCurrentStep = 1;
+    private boolean mIsSelfie;
+    private boolean mActive;
+    private boolean mCancelled;
+    private KYCRequest mRequest;
+    private KYCPoller mPoller;
+    private final KYCSessionMetrics mMetrics = new KYCSessionMetrics();
+    private long mStepStart = SystemClock.elapsedRealtime();
 
     //endregion
 
@@ -96,10 +127,13 @@ public class KYCSession {
      * Creates a new {@code KYCFailedVerification} instance.
      *
      * @param baseUrl Verification server URL.
+     * @param capture Captured data sent by this session.
      * @param handler Callback.
      */
     KYCSession(final String baseUrl,
+               final KYCCapture capture,
                final KYCResponseHandler handler) {
+        mCapture = capture;
         mSessionId = null;
         mTryCount = 1;
         mURLBase = baseUrl;
@@ -109,10 +143,91 @@ public class KYCSession {
     //endregion
 
     //region Public API
-    void setHandler(KYCResponseHandler handler) {
+
+    /**
+     * Sets the handler notified of the next steps, e.g. when the session is continued with the selfie.
+     *
+     * @param handler Callback.
+     */
+    synchronized void setHandler(final KYCResponseHandler handler) {
         mHandler = handler;
     }
 
+    /**
+     * Gets the captured data sent by this session.
+     *
+     * @return Captured data.
+     */
+    synchronized KYCCapture getCapture() {
+        return mCapture;
+    }
+
+    /**
+     * Updates the captured data, e.g. with the selfie captured after the session was started. The replaced capture
+     * is released.
+     *
+     * @param capture Captured data.
+     */
+    synchronized void setCapture(final KYCCapture capture) {
+        releaseCapture();
+        mCapture = capture;
+    }
+
+    /**
+     * Gets the verification step of the request in progress.
+     *
+     * @return Verification step.
+     */
+    synchronized int getCurrentStep() {
+        return mCurrentStep;
+    }
+
+    /**
+     * Sets the verification step of the request in progress.
+     *
+     * @param currentStep Verification step.
+     */
+    synchronized void setCurrentStep(final int currentStep) {
+        mCurrentStep = currentStep;
+        mStepStart = SystemClock.elapsedRealtime();
+    }
+
+    /**
+     * Gets the time elapsed since the current step started, i.e. the time spent building its request.
+     *
+     * @return Duration in milliseconds.
+     */
+    synchronized long getStepElapsedMs() {
+        return SystemClock.elapsedRealtime() - mStepStart;
+    }
+
+    /**
+     * Gets the metrics of the session.
+     *
+     * @return Session metrics.
+     */
+    public KYCSessionMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * Checks if the selfie flag is set.
+     *
+     * @return {@code True} if the scenario includes the selfie, else {@code false}.
+     */
+    synchronized boolean isSelfie() {
+        return mIsSelfie;
+    }
+
+    /**
+     * Sets the selfie flag.
+     *
+     * @param isSelfie {@code True} if the scenario includes the selfie, else {@code false}.
+     */
+    synchronized void setSelfie(final boolean isSelfie) {
+        mIsSelfie = isSelfie;
+    }
+
     /**
      * Gets the try counter.
      *
@@ -233,10 +348,10 @@ public class KYCSession {
      * @param error Error received from verification server.
      */
     synchronized void handleError(final String error) {
-        // Call handler in UI thread.
-        if (mHandler != null) {
-            new Handler(Looper.getMainLooper()).post(() -> mHandler.onFailure(error));
-        }
+        finishMetrics("FAILURE");
+        releaseCapture();
+        mActive = false;
+        dispatch(handler -> handler.onFailure(error));
     }
 
     /**
@@ -246,10 +361,10 @@ public class KYCSession {
      * @param retryStep Step to retry (Doc scan or Selfie).
      */
     synchronized void handleErrorRetry(final String error, int retryStep) {
-        // Call handler in UI thread.
-        if (mHandler != null) {
-            new Handler(Looper.getMainLooper()).post(() -> mHandler.onFailureRetry(error, retryStep));
-        }
+        finishMetrics("RETRY");
+        releaseCapture();
+        mActive = false;
+        dispatch(handler -> handler.onFailureRetry(error, retryStep));
     }
 
     /**
@@ -258,10 +373,10 @@ public class KYCSession {
      * @param error Error received from verification server.
      */
     synchronized void handleErrorAbort(final String error) {
-        // Call handler in UI thread.
-        if (mHandler != null) {
-            new Handler(Looper.getMainLooper()).post(() -> mHandler.onFailureAbort(error));
-        }
+        finishMetrics("ABORT");
+        releaseCapture();
+        mActive = false;
+        dispatch(handler -> handler.onFailureAbort(error));
     }
 
     /**
@@ -270,12 +385,107 @@ public class KYCSession {
      * @param response Response received from verification server.
      */
     synchronized void handleResult(final KYCResponse response) {
-        // Call handler in UI thread.
-        if (mHandler != null) {
-            new Handler(Looper.getMainLooper()).post(() -> mHandler.onSuccess(response));
+        finishMetrics("SUCCESS");
+        releaseCapture();
+        mActive = false;
+        dispatch(handler -> handler.onSuccess(response));
+    }
+
+    /**
+     * Notifies the handler that a request was not sent because the session is cancelled, e.g. when a cancelled
+     * session is continued with the selfie. The handler is removed afterwards.
+     */
+    synchronized void handleCancelled() {
+        final KYCResponseHandler handler = mHandler;
+        mHandler = null;
+        mActive = false;
+
+        finishMetrics("CANCELLED");
+        releaseCapture();
+        if (handler != null) {
+            sMainHandler.post(handler::onCancelled);
         }
     }
 
+    /**
+     * Registers the request in progress, so that it can be aborted by {@link #cancel()}.
+     *
+     * @param request Request.
+     * @param poller  Polling scheduler of the request, may be {@code null}.
+     * @return {@code True} if registered, {@code false} if the session is cancelled and the request must not be sent.
+     */
+    synchronized boolean setActiveRequest(final KYCRequest request, final KYCPoller poller) {
+        if (mCancelled) {
+            return false;
+        }
+
+        mActive = true;
+        mRequest = request;
+        mPoller = poller;
+
+        return true;
+    }
+
+    /**
+     * Releases the request once the exchange is done.
+     *
+     * @param request Request.
+     */
+    synchronized void clearActiveRequest(final KYCRequest request) {
+        if (mRequest == request) {
+            mRequest = null;
+        }
+    }
+
+    /**
+     * Cancels the session: the active connection is aborted, scheduled polls are stopped and the request payload is
+     * released. The handler is notified with {@link KYCResponseHandler#onCancelled()} if the verification was still
+     * in progress, and then removed.
+     */
+    public void cancel() {
+        final KYCRequest request;
+        synchronized (this) {
+            if (mCancelled) {
+                return;
+            }
+
+            mCancelled = true;
+            request = mRequest;
+            mRequest = null;
+
+            if (mPoller != null) {
+                mPoller.cancel();
+                mPoller = null;
+            }
+
+            final KYCResponseHandler handler = mHandler;
+            mHandler = null;
+
+            if (mActive) {
+                finishMetrics("CANCELLED");
+                if (handler != null) {
+                    sMainHandler.post(handler::onCancelled);
+                }
+            }
+            mActive = false;
+            releaseCapture();
+        }
+
+        // Aborted outside the session lock, the transport thread reporting the exchange needs it.
+        if (request != null) {
+            request.cancel();
+        }
+    }
+
+    /**
+     * Checks if the session was cancelled.
+     *
+     * @return {@code True} if cancelled, else {@code false}.
+     */
+    synchronized boolean isCancelled() {
+        return mCancelled;
+    }
+
     /**
      * Removes the UI listener.
      */
@@ -292,6 +502,45 @@ public class KYCSession {
         return mHandler != null;
     }
 
+    /**
+     * Releases the captured data once the session reported its outcome or was cancelled. A session continued
+     * afterwards, e.g. with the selfie or for a retry, is given a new capture.
+     */
+    private void releaseCapture() {
+        if (mCapture != null) {
+            mCapture.release();
+        }
+    }
+
+    /**
+     * Marks the session metrics as finished.
+     *
+     * @param outcome Outcome of the session.
+     */
+    private void finishMetrics(final String outcome) {
+        if (mMetrics.finish(outcome) && BuildConfig.DEBUG) {
+            Log.i("KYC", "Session metrics: " + mMetrics);
+        }
+    }
+
+    /**
+     * Calls the handler in UI thread, unless it was removed in the meantime.
+     *
+     * @param dispatch Callback delivery.
+     */
+    private void dispatch(final Dispatch dispatch) {
+        sMainHandler.post(() -> {
+            final KYCResponseHandler handler;
+            synchronized (this) {
+                handler = mHandler;
+            }
+
+            if (handler != null) {
+                dispatch.to(handler);
+            }
+        });
+    }
+
     //endregion
 
 }
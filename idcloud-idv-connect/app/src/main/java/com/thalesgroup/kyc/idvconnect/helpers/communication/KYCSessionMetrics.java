@@ -0,0 +1,362 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idvconnect.helpers.communication;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Metrics of a verification session: time spent building requests, uploading, waiting for the server and polling.
+ * <p>
+ * Server processing time runs from the end of the upload which started a server operation to the last poll of that
+ * operation. Steps which the server answers once processed, without polling, report their processing time as part of
+ * the time to first byte.
+ * <p>
+ * Finished sessions are appended as JSON lines to the file set with {@link #setExportFile(File)}, for aggregation.
+ */
+public final class KYCSessionMetrics {
+
+    //region Definition
+
+    private static final ExecutorService sExporter = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "KYC-Metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static volatile File sExportFile;
+
+    private final long mStartTime = System.currentTimeMillis();
+    private final long mStart = SystemClock.elapsedRealtime();
+    private final List<KYCExchangeMetrics> mExchanges = new ArrayList<>();
+    private long mOperationStart = -1;
+    private long mOperationEnd = -1;
+    private long mProcessingTimeMs;
+    private long mTotalTimeMs = -1;
+    private String mOutcome;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code KYCSessionMetrics} instance, the session starts now.
+     */
+    KYCSessionMetrics() {
+        // Nothing to initialise.
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Sets the file to which finished sessions are appended, one JSON object per line.
+     *
+     * @param file File or {@code null} to stop exporting.
+     */
+    public static void setExportFile(final File file) {
+        sExportFile = file;
+    }
+
+    /**
+     * Gets the exchanges of the session.
+     *
+     * @return Exchanges, in completion order.
+     */
+    public synchronized List<KYCExchangeMetrics> getExchanges() {
+        return Collections.unmodifiableList(new ArrayList<>(mExchanges));
+    }
+
+    /**
+     * Gets the total time spent building requests.
+     *
+     * @return Duration in milliseconds.
+     */
+    public synchronized long getBuildTimeMs() {
+        long total = 0;
+        for (final KYCExchangeMetrics exchange : mExchanges) {
+            total += exchange.getBuildTimeMs();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the total number of bytes sent.
+     *
+     * @return Number of bytes.
+     */
+    public synchronized long getBytesSent() {
+        long total = 0;
+        for (final KYCExchangeMetrics exchange : mExchanges) {
+            total += exchange.getBytesSent();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the total number of bytes received.
+     *
+     * @return Number of bytes.
+     */
+    public synchronized long getBytesReceived() {
+        long total = 0;
+        for (final KYCExchangeMetrics exchange : mExchanges) {
+            total += exchange.getBytesReceived();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the total size of the request bodies before compression.
+     *
+     * @return Number of bytes.
+     */
+    public synchronized long getContentBytesSent() {
+        long total = 0;
+        for (final KYCExchangeMetrics exchange : mExchanges) {
+            total += exchange.getContentBytesSent();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the total size of the response bodies after decompression.
+     *
+     * @return Number of bytes.
+     */
+    public synchronized long getContentBytesReceived() {
+        long total = 0;
+        for (final KYCExchangeMetrics exchange : mExchanges) {
+            total += exchange.getContentBytesReceived();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the total upload duration.
+     *
+     * @return Duration in milliseconds.
+     */
+    public synchronized long getUploadTimeMs() {
+        long total = 0;
+        for (final KYCExchangeMetrics exchange : mExchanges) {
+            total += exchange.getUploadTimeMs();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the total time to first byte.
+     *
+     * @return Duration in milliseconds.
+     */
+    public synchronized long getTimeToFirstByteMs() {
+        long total = 0;
+        for (final KYCExchangeMetrics exchange : mExchanges) {
+            total += exchange.getTimeToFirstByteMs();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of polling requests.
+     *
+     * @return Number of polls.
+     */
+    public synchronized int getPollCount() {
+        int count = 0;
+        for (final KYCExchangeMetrics exchange : mExchanges) {
+            if (exchange.isPoll()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the server processing wall time of the polled operations.
+     *
+     * @return Duration in milliseconds.
+     */
+    public synchronized long getProcessingTimeMs() {
+        return mProcessingTimeMs + (mOperationStart >= 0 && mOperationEnd >= 0 ? mOperationEnd - mOperationStart : 0);
+    }
+
+    /**
+     * Gets the time from the session start to the result.
+     *
+     * @return Duration in milliseconds or {@code -1} if the session is not finished.
+     */
+    public synchronized long getTotalTimeMs() {
+        return mTotalTimeMs;
+    }
+
+    /**
+     * Gets the outcome of the session.
+     *
+     * @return Outcome or {@code null} if the session is not finished.
+     */
+    public synchronized String getOutcome() {
+        return mOutcome;
+    }
+
+    /**
+     * Gets the metrics as JSON.
+     *
+     * @return JSON object.
+     * @throws JSONException If JSON cannot be built.
+     */
+    public synchronized JSONObject toJson() throws JSONException {
+        final JSONArray exchanges = new JSONArray();
+        for (final KYCExchangeMetrics exchange : mExchanges) {
+            exchanges.put(exchange.toJson());
+        }
+
+        final JSONObject json = new JSONObject();
+        json.put("startTime", mStartTime);
+        json.put("outcome", mOutcome);
+        json.put("totalMs", mTotalTimeMs);
+        json.put("buildMs", getBuildTimeMs());
+        json.put("bytesSent", getBytesSent());
+        json.put("contentBytesSent", getContentBytesSent());
+        json.put("bytesReceived", getBytesReceived());
+        json.put("contentBytesReceived", getContentBytesReceived());
+        json.put("uploadMs", getUploadTimeMs());
+        json.put("ttfbMs", getTimeToFirstByteMs());
+        json.put("polls", getPollCount());
+        json.put("processingMs", getProcessingTimeMs());
+        json.put("exchanges", exchanges);
+        return json;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "outcome=" + mOutcome
+                + ", totalMs=" + mTotalTimeMs
+                + ", buildMs=" + getBuildTimeMs()
+                + ", bytesSent=" + getBytesSent()
+                + ", uploadMs=" + getUploadTimeMs()
+                + ", ttfbMs=" + getTimeToFirstByteMs()
+                + ", bytesReceived=" + getBytesReceived()
+                + ", polls=" + getPollCount()
+                + ", processingMs=" + getProcessingTimeMs();
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Adds a completed exchange.
+     *
+     * @param exchange Exchange.
+     */
+    synchronized void add(final KYCExchangeMetrics exchange) {
+        final long now = SystemClock.elapsedRealtime();
+        mExchanges.add(exchange);
+
+        if (exchange.isPoll()) {
+            mOperationEnd = now;
+        } else {
+            closeOperation();
+            mOperationStart = now;
+        }
+    }
+
+    /**
+     * Marks the session as finished and exports the metrics. Only the first call has an effect.
+     *
+     * @param outcome Outcome of the session.
+     * @return {@code True} if finished by this call, {@code false} if already finished.
+     */
+    synchronized boolean finish(final String outcome) {
+        if (mOutcome != null) {
+            return false;
+        }
+
+        mOutcome = outcome;
+        mTotalTimeMs = SystemClock.elapsedRealtime() - mStart;
+        closeOperation();
+        export();
+        return true;
+    }
+
+    /**
+     * Adds the processing time of the last polled operation.
+     */
+    private void closeOperation() {
+        if (mOperationStart >= 0 && mOperationEnd >= 0) {
+            mProcessingTimeMs += mOperationEnd - mOperationStart;
+        }
+        mOperationStart = -1;
+        mOperationEnd = -1;
+    }
+
+    /**
+     * Appends the metrics to the export file, if any.
+     */
+    private void export() {
+        final File file = sExportFile;
+        if (file == null) {
+            return;
+        }
+
+        final String line;
+        try {
+            line = toJson().toString() + "\n";
+        } catch (final JSONException exception) {
+            Log.w("KYC", "Metrics not exported: " + exception.toString());
+            return;
+        }
+
+        sExporter.execute(() -> {
+            try (OutputStream output = new FileOutputStream(file, true)) {
+                output.write(line.getBytes(StandardCharsets.UTF_8));
+            } catch (final IOException exception) {
+                Log.w("KYC", "Metrics not exported: " + exception.toString());
+            }
+        });
+    }
+
+    //endregion
+}
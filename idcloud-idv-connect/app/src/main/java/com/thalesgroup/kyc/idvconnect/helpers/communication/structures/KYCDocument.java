@@ -27,7 +27,6 @@
 
 package com.thalesgroup.kyc.idvconnect.helpers.communication.structures;
 
-import com.thalesgroup.kyc.idvconnect.helpers.util.ImageUtil;
 import com.thalesgroup.kyc.idvconnect.helpers.util.JsonUtil;
 
 import org.json.JSONException;
@@ -43,9 +42,9 @@ public class KYCDocument {
     //region Definition
 
     private final KycVerificationResult mKycVerificationResult;
-    private final byte[] mPortrait;
-    private final byte[] mImageWhiteBack;
-    private final byte[] mImageWhiteFront;
+    private final KYCLazyImage mPortrait;
+    private final KYCLazyImage mImageWhiteBack;
+    private final KYCLazyImage mImageWhiteFront;
 
     //endregion
 
@@ -60,9 +59,9 @@ public class KYCDocument {
      */
     KYCDocument(@NonNull final JSONObject response) throws JSONException {
         mKycVerificationResult = new KycVerificationResult(response.getJSONObject("verificationResults"));
-        mPortrait = ImageUtil.imageFromBase64(JsonUtil.jsonGetString(response, "portrait", null));
-        mImageWhiteBack = ImageUtil.imageFromBase64(JsonUtil.jsonGetString(response, "backWhiteImage", null));
-        mImageWhiteFront = ImageUtil.imageFromBase64(JsonUtil.jsonGetString(response, "frontWhiteImage", null));
+        mPortrait = new KYCLazyImage(JsonUtil.jsonGetString(response, "portrait", null));
+        mImageWhiteBack = new KYCLazyImage(JsonUtil.jsonGetString(response, "backWhiteImage", null));
+        mImageWhiteFront = new KYCLazyImage(JsonUtil.jsonGetString(response, "frontWhiteImage", null));
     }
 
     //endregion
@@ -70,12 +69,12 @@ public class KYCDocument {
     //region Public API
 
     /**
-     * Gets the selfie image.
+     * Gets the selfie image. The image is decoded on first access, the returned array is shared and must not be modified.
      *
-     * @return Selfie image.
+     * @return Selfie image or {@code null} if not present.
      */
     public byte[] getPortrait() {
-        return mPortrait.clone();
+        return mPortrait.get();
     }
 
     /**
@@ -88,21 +87,21 @@ public class KYCDocument {
     }
 
     /**
-     * Gets the front image of the document.
+     * Gets the front image of the document. The image is decoded on first access, the returned array is shared and must not be modified.
      *
-     * @return Front image of document.
+     * @return Front image of document or {@code null} if not present.
      */
     public byte[] getImageWhiteBack() {
-        return mImageWhiteBack.clone();
+        return mImageWhiteBack.get();
     }
 
     /**
-     * Gets the back image of the document.
+     * Gets the back image of the document. The image is decoded on first access, the returned array is shared and must not be modified.
      *
-     * @return Back image of the document.
+     * @return Back image of the document or {@code null} if not present.
      */
     public byte[] getImageWhiteFront() {
-        return mImageWhiteFront.clone();
+        return mImageWhiteFront.get();
     }
 
     //endregion
@@ -27,7 +27,6 @@
 
 package com.thalesgroup.kyc.idvconnect.helpers.communication.structures;
 
-import com.thalesgroup.kyc.idvconnect.helpers.util.ImageUtil;
 import com.thalesgroup.kyc.idvconnect.helpers.util.JsonUtil;
 
 import org.json.JSONException;
@@ -36,7 +35,7 @@ import org.json.JSONObject;
 public class KycEnhancedLivenessResult {
 
     //region Definition
-    private final byte[] mCapturedFrame;
+    private final KYCLazyImage mCapturedFrame;
     private final boolean mCapturedFrameIsConstructed;
     private final String[] mAutocaptureFeedback;
     private final int mScore;
@@ -47,7 +46,7 @@ public class KycEnhancedLivenessResult {
     //region Life Cycle
 
     public KycEnhancedLivenessResult(final JSONObject response) throws JSONException {
-        mCapturedFrame = ImageUtil.imageFromBase64(JsonUtil.jsonGetString(response.getJSONObject("video").getJSONObject("autocapture_result"), "captured_frame", null));
+        mCapturedFrame = new KYCLazyImage(JsonUtil.jsonGetString(response.getJSONObject("video").getJSONObject("autocapture_result"), "captured_frame", null));
         mCapturedFrameIsConstructed = JsonUtil.jsonGetBoolean(response.getJSONObject("video").getJSONObject("autocapture_result"), "captured_frame_is_constructed", false);
         mAutocaptureFeedback = JsonUtil.jsonGetStringArray(response.getJSONObject("video").getJSONObject("autocapture_result"), "feedback", null);
         mScore = JsonUtil.jsonGetInt(response.getJSONObject("video").getJSONObject("liveness_result"), "score", 0);
@@ -58,7 +57,7 @@ public class KycEnhancedLivenessResult {
     //region Public API
 
     public byte[] getCapturedFrame() {
-        return mCapturedFrame;
+        return mCapturedFrame.get();
     }
 
     public boolean getCapturedFrameIsConstructed() {
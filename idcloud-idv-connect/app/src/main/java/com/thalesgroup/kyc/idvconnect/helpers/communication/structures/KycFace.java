@@ -29,7 +29,6 @@ package com.thalesgroup.kyc.idvconnect.helpers.communication.structures;
 
 import androidx.annotation.NonNull;
 
-import com.thalesgroup.kyc.idvconnect.helpers.util.ImageUtil;
 import com.thalesgroup.kyc.idvconnect.helpers.util.JsonUtil;
 
 import org.json.JSONException;
@@ -42,7 +41,7 @@ public class KycFace {
     //region Definition
 
     private final String mResult;
-    private final byte[] mImage;
+    private final KYCLazyImage mImage;
     private final int mScore;
 
     //endregion
@@ -57,7 +56,7 @@ public class KycFace {
      */
     KycFace(@NonNull final JSONObject response) throws JSONException {
         mResult = JsonUtil.jsonGetString(response, "result", "Unknown");
-        mImage = ImageUtil.imageFromBase64(JsonUtil.jsonGetString(response, "image", null));
+        mImage = new KYCLazyImage(JsonUtil.jsonGetString(response, "image", null));
         mScore = JsonUtil.jsonGetInt(response, "score", -1);
     }
 
@@ -76,12 +75,12 @@ public class KycFace {
     }
 
     /**
-     * Gets the image.
+     * Gets the image. The image is decoded on first access, the returned array is shared and must not be modified.
      *
-     * @return Image.
+     * @return Image or {@code null} if not present.
      */
     public byte[] getImage() {
-        return mImage.clone();
+        return mImage.get();
     }
 
     /**
@@ -0,0 +1,257 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idvconnect.helpers.util;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.Log;
+
+import com.thalesgroup.kyc.idvconnect.BuildConfig;
+import com.thalesgroup.kyc.idvconnect.helpers.KYCConfiguration;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Encodes captured images for upload. Images are downscaled to a maximum dimension and the highest quality that fits
+ * the byte budget is searched for.
+ */
+public final class ImageEncoder {
+
+    //region Definition
+
+    /**
+     * Encoder used for the selfie.
+     */
+    public static final ImageEncoder SELFIE = new ImageEncoder("Selfie",
+                                                               KYCConfiguration.IDCLOUD_IMAGE_FORMAT,
+                                                               KYCConfiguration.IDCLOUD_SELFIE_MAX_DIMENSION,
+                                                               KYCConfiguration.IDCLOUD_SELFIE_MAX_BYTES);
+
+    /**
+     * Encoder used for the document sides.
+     */
+    public static final ImageEncoder DOCUMENT = new ImageEncoder("Document",
+                                                                 KYCConfiguration.IDCLOUD_IMAGE_FORMAT,
+                                                                 KYCConfiguration.IDCLOUD_DOCUMENT_MAX_DIMENSION,
+                                                                 KYCConfiguration.IDCLOUD_DOCUMENT_MAX_BYTES);
+
+    private static final AtomicLong sInputBytes = new AtomicLong();
+    private static final AtomicLong sOutputBytes = new AtomicLong();
+
+    private final String mName;
+    private final Bitmap.CompressFormat mFormat;
+    private final int mMaxDimension;
+    private final int mMaxBytes;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code ImageEncoder} instance.
+     *
+     * @param name
+     *         Name used in the logs.
+     * @param format
+     *         Output format.
+     * @param maxDimension
+     *         Longest side (in pixels) of the output image.
+     * @param maxBytes
+     *         Byte budget of the output image.
+     */
+    public ImageEncoder(final String name,
+                        final Bitmap.CompressFormat format,
+                        final int maxDimension,
+                        final int maxBytes) {
+        mName = name;
+        mFormat = format;
+        mMaxDimension = maxDimension;
+        mMaxBytes = maxBytes;
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Encodes a {@code Bitmap}.
+     *
+     * @param bitmap
+     *         Input {@code Bitmap}.
+     * @return Encoded bytes.
+     */
+    public byte[] encode(final Bitmap bitmap) {
+        final Bitmap scaled = scale(bitmap);
+        final byte[] output = compress(scaled);
+        report(bitmap.getByteCount(), output, scaled);
+        if (scaled != bitmap) {
+            scaled.recycle();
+        }
+
+        return output;
+    }
+
+    /**
+     * Re-encodes an already encoded image. The input is returned untouched if it fits both the byte budget and the
+     * maximum dimension, or if it cannot be decoded.
+     *
+     * @param image
+     *         Encoded image.
+     * @return Encoded bytes.
+     */
+    public byte[] encode(final byte[] image) {
+        if (image == null) {
+            return null;
+        }
+
+        final BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(image, 0, image.length, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return image;
+        }
+
+        final int longest = Math.max(options.outWidth, options.outHeight);
+        if (image.length <= mMaxBytes && longest <= mMaxDimension) {
+            return image;
+        }
+
+        // Subsample while decoding so the full resolution image is never held in memory.
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = 1;
+        while (longest / (options.inSampleSize * 2) >= mMaxDimension) {
+            options.inSampleSize *= 2;
+        }
+
+        final Bitmap decoded = BitmapFactory.decodeByteArray(image, 0, image.length, options);
+        if (decoded == null) {
+            return image;
+        }
+
+        final Bitmap scaled = scale(decoded);
+        byte[] output = compress(scaled);
+
+        // Keep the original if re-encoding did not help.
+        if (output.length >= image.length && longest <= mMaxDimension) {
+            output = image;
+        } else {
+            report(image.length, output, scaled);
+        }
+
+        if (scaled != decoded) {
+            scaled.recycle();
+        }
+        decoded.recycle();
+
+        return output;
+    }
+
+    /**
+     * Gets the total number of bytes saved by the encoders since application start.
+     *
+     * @return Number of bytes saved.
+     */
+    public static long getBytesSaved() {
+        return sInputBytes.get() - sOutputBytes.get();
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    private Bitmap scale(final Bitmap bitmap) {
+        final int width = bitmap.getWidth();
+        final int height = bitmap.getHeight();
+        final int longest = Math.max(width, height);
+        if (longest <= mMaxDimension) {
+            return bitmap;
+        }
+
+        final float ratio = (float) mMaxDimension / longest;
+        return Bitmap.createScaledBitmap(bitmap,
+                                         Math.max(1, Math.round(width * ratio)),
+                                         Math.max(1, Math.round(height * ratio)),
+                                         true);
+    }
+
+    private byte[] compress(final Bitmap bitmap) {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(mMaxBytes);
+
+        byte[] best = compress(bitmap, KYCConfiguration.IDCLOUD_IMAGE_MAX_QUALITY, stream);
+        if (best.length <= mMaxBytes || mFormat == Bitmap.CompressFormat.PNG) {
+            return best;
+        }
+
+        // Binary search for the highest quality within the budget. Falls back to the lowest quality.
+        int low = KYCConfiguration.IDCLOUD_IMAGE_MIN_QUALITY;
+        int high = KYCConfiguration.IDCLOUD_IMAGE_MAX_QUALITY - 1;
+        byte[] fallback = null;
+        best = null;
+        while (low <= high) {
+            final int quality = (low + high) >>> 1;
+            final byte[] candidate = compress(bitmap, quality, stream);
+            if (candidate.length <= mMaxBytes) {
+                best = candidate;
+                low = quality + 1;
+            } else {
+                if (quality == KYCConfiguration.IDCLOUD_IMAGE_MIN_QUALITY) {
+                    fallback = candidate;
+                }
+                high = quality - 1;
+            }
+        }
+
+        if (best != null) {
+            return best;
+        }
+
+        return fallback != null
+                ? fallback
+                : compress(bitmap, KYCConfiguration.IDCLOUD_IMAGE_MIN_QUALITY, stream);
+    }
+
+    private byte[] compress(final Bitmap bitmap, final int quality, final ByteArrayOutputStream stream) {
+        stream.reset();
+        bitmap.compress(mFormat, quality, stream);
+
+        return stream.toByteArray();
+    }
+
+    private void report(final long inputBytes, final byte[] output, final Bitmap bitmap) {
+        sInputBytes.addAndGet(inputBytes);
+        sOutputBytes.addAndGet(output.length);
+
+        if (BuildConfig.DEBUG) {
+            Log.i("KYC", mName + " encoded " + bitmap.getWidth() + "x" + bitmap.getHeight() + ": " + inputBytes + " -> " + output.length
+                    + " bytes (total saved: " + getBytesSaved() + " bytes)");
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,393 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idvconnect.helpers.util;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.DisplayMetrics;
+import android.util.Log;
+import android.util.LruCache;
+import android.view.View;
+import android.widget.ImageView;
+
+import com.thalesgroup.kyc.idvconnect.helpers.KYCStoredData;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads images into {@code ImageView}s.
+ *
+ * Images are decoded in the background and subsampled to the size of the view. Decoded captures are cached, so
+ * that displaying them again is free. Once dropped by {@link #clear()}, their bitmaps are reused for the next captures
+ * as soon as no view displays them anymore.
+ */
+public final class ImageLoader {
+
+    //region Definition
+
+    /**
+     * Source of an encoded image.
+     */
+    private interface Source {
+        /**
+         * Opens the encoded image.
+         *
+         * @return Encoded image.
+         * @throws IOException If image cannot be read.
+         */
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Decoded image.
+     */
+    private static final class Decoded {
+        private final Bitmap mBitmap;
+        private final int mWidth;
+        private final int mHeight;
+        private final int mSampleSize;
+
+        private Decoded(final Bitmap bitmap, final int width, final int height, final int sampleSize) {
+            mBitmap = bitmap;
+            mWidth = width;
+            mHeight = height;
+            mSampleSize = sampleSize;
+        }
+
+        /**
+         * Checks if the image is detailed enough for a view.
+         *
+         * @param width  Width of the view.
+         * @param height Height of the view.
+         * @return {@code True} if detailed enough, else {@code false}.
+         */
+        private boolean fits(final int width, final int height) {
+            return mSampleSize <= sampleSize(mWidth, mHeight, width, height);
+        }
+    }
+
+    /**
+     * Load of an image into a view, kept as tag of the view.
+     */
+    private static final class Request {
+        private final Object mKey;
+        // Cached bitmap displayed for the request, guarded by sReusable.
+        private Bitmap mBitmap;
+
+        private Request(final Object key) {
+            mKey = key;
+        }
+    }
+
+    private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
+
+    private static final ExecutorService sDecoder = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "KYC-ImageLoader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final LruCache<KYCStoredData, Decoded> sCache
+            = new LruCache<KYCStoredData, Decoded>((int) (Runtime.getRuntime().maxMemory() / 1024 / 8)) {
+        @Override
+        protected int sizeOf(final KYCStoredData key, final Decoded value) {
+            return value.mBitmap.getAllocationByteCount() / 1024;
+        }
+    };
+
+    private static final List<SoftReference<Bitmap>> sReusable = new ArrayList<>();
+    private static final List<Bitmap> sEvicted = new ArrayList<>();
+    private static final Map<ImageView, Request> sDisplayed = new WeakHashMap<>();
+
+    //endregion
+
+    //region Life Cycle
+
+    private ImageLoader() {
+        // Utility class.
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Displays a captured image. The decoded image is cached with the capture.
+     *
+     * @param data      Captured image. The view is hidden if {@code null} or if the image cannot be read.
+     * @param imageView {@code ImageView} in which to display the image.
+     */
+    public static void load(final KYCStoredData data, final ImageView imageView) {
+        load(data, data != null ? data::openStream : null, imageView);
+    }
+
+    /**
+     * Displays an image, e.g. the portrait returned by the verification server. The decoded image is not cached.
+     *
+     * @param data      Encoded image. The view is hidden if {@code null} or if the image cannot be decoded.
+     * @param imageView {@code ImageView} in which to display the image.
+     */
+    public static void load(final byte[] data, final ImageView imageView) {
+        load(data, data != null ? () -> new ByteArrayInputStream(data) : null, imageView);
+    }
+
+    /**
+     * Drops the cached captures. Called on the main thread. Their bitmaps are reused for the next decodes once no view
+     * displays them anymore, views keep showing them until then.
+     */
+    public static void clear() {
+        final List<Decoded> entries = new ArrayList<>(sCache.snapshot().values());
+        sCache.evictAll();
+
+        synchronized (sReusable) {
+            for (final Decoded entry : entries) {
+                sEvicted.add(entry.mBitmap);
+            }
+            reuseEvicted();
+        }
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Displays an image from the cache, or decodes it in the background. Called on the main thread.
+     *
+     * @param key       Identity of the image.
+     * @param source    Source of the encoded image.
+     * @param imageView {@code ImageView} in which to display the image.
+     */
+    private static void load(final Object key, final Source source, final ImageView imageView) {
+        final Object tag = imageView.getTag();
+        if (key != null && tag instanceof Request && ((Request) tag).mKey == key) {
+            // Already displayed or on its way.
+            return;
+        }
+
+        if (key == null) {
+            imageView.setTag(null);
+            imageView.setImageDrawable(null);
+            imageView.setVisibility(View.GONE);
+            setDisplayed(imageView, null);
+            return;
+        }
+
+        final DisplayMetrics displayMetrics = imageView.getResources().getDisplayMetrics();
+        final int width = imageView.getWidth() > 0 ? imageView.getWidth() : displayMetrics.widthPixels;
+        final int height = imageView.getHeight() > 0 ? imageView.getHeight() : displayMetrics.heightPixels;
+        final Request request = new Request(key);
+        imageView.setTag(request);
+
+        final Decoded cached = key instanceof KYCStoredData ? sCache.get((KYCStoredData) key) : null;
+        if (cached != null && cached.fits(width, height)) {
+            request.mBitmap = cached.mBitmap;
+            setDisplayed(imageView, request);
+            imageView.setImageBitmap(cached.mBitmap);
+            return;
+        }
+
+        imageView.setImageDrawable(null);
+        setDisplayed(imageView, request);
+        sDecoder.execute(() -> {
+            final Decoded decoded = decode(source, width, height);
+            if (decoded != null && key instanceof KYCStoredData) {
+                // Set before caching, so that the bitmap is not reused if dropped before it is displayed.
+                synchronized (sReusable) {
+                    request.mBitmap = decoded.mBitmap;
+                }
+                sCache.put((KYCStoredData) key, decoded);
+            }
+
+            sMainHandler.post(() -> {
+                if (imageView.getTag() != request) {
+                    // The view was reused for another image in the meantime.
+                    return;
+                }
+
+                if (decoded != null) {
+                    imageView.setImageBitmap(decoded.mBitmap);
+                } else {
+                    imageView.setVisibility(View.GONE);
+                }
+            });
+        });
+    }
+
+    /**
+     * Decodes an image, subsampled to the size of the view.
+     *
+     * @param source Source of the encoded image.
+     * @param width  Width of the view.
+     * @param height Height of the view.
+     * @return Decoded image or {@code null} if it cannot be decoded.
+     */
+    private static Decoded decode(final Source source, final int width, final int height) {
+        final BitmapFactory.Options options = new BitmapFactory.Options();
+        try {
+            options.inJustDecodeBounds = true;
+            decode(source, options);
+            if (options.outWidth <= 0 || options.outHeight <= 0) {
+                return null;
+            }
+
+            final int sourceWidth = options.outWidth;
+            final int sourceHeight = options.outHeight;
+            options.inJustDecodeBounds = false;
+            options.inMutable = true;
+            options.inSampleSize = sampleSize(sourceWidth, sourceHeight, width, height);
+            options.inBitmap = takeReusable(sourceWidth, sourceHeight, options.inSampleSize);
+
+            Bitmap bitmap;
+            try {
+                bitmap = decode(source, options);
+            } catch (final IllegalArgumentException exception) {
+                // The reused bitmap does not fit this image after all.
+                options.inBitmap = null;
+                bitmap = decode(source, options);
+            }
+
+            return bitmap != null ? new Decoded(bitmap, sourceWidth, sourceHeight, options.inSampleSize) : null;
+        } catch (final IOException exception) {
+            Log.w("KYC", "Cannot read image: " + exception.getMessage());
+            return null;
+        }
+    }
+
+    private static Bitmap decode(final Source source, final BitmapFactory.Options options) throws IOException {
+        try (InputStream stream = source.open()) {
+            return BitmapFactory.decodeStream(stream, null, options);
+        }
+    }
+
+    /**
+     * Gets the largest power of two subsampling which keeps the image at least as large as the view.
+     *
+     * @param sourceWidth  Width of the image.
+     * @param sourceHeight Height of the image.
+     * @param width        Width of the view.
+     * @param height       Height of the view.
+     * @return Sample size.
+     */
+    private static int sampleSize(final int sourceWidth, final int sourceHeight, final int width, final int height) {
+        int sampleSize = 1;
+        while (sourceWidth / (sampleSize * 2) >= width && sourceHeight / (sampleSize * 2) >= height) {
+            sampleSize *= 2;
+        }
+
+        return sampleSize;
+    }
+
+    /**
+     * Records the request displayed by a view, the previous one is not displayed anymore.
+     *
+     * @param imageView {@code ImageView}.
+     * @param request   Request or {@code null} if the view displays nothing.
+     */
+    private static void setDisplayed(final ImageView imageView, final Request request) {
+        synchronized (sReusable) {
+            if (request != null) {
+                sDisplayed.put(imageView, request);
+            } else {
+                sDisplayed.remove(imageView);
+            }
+            reuseEvicted();
+        }
+    }
+
+    /**
+     * Makes the dropped bitmaps which are not displayed anymore available for reuse. Called with the lock of
+     * {@code sReusable}.
+     */
+    private static void reuseEvicted() {
+        if (sEvicted.isEmpty()) {
+            return;
+        }
+
+        final Set<Bitmap> displayed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final Request request : sDisplayed.values()) {
+            if (request.mBitmap != null) {
+                displayed.add(request.mBitmap);
+            }
+        }
+
+        final Iterator<Bitmap> iterator = sEvicted.iterator();
+        while (iterator.hasNext()) {
+            final Bitmap bitmap = iterator.next();
+            if (!displayed.contains(bitmap)) {
+                iterator.remove();
+                sReusable.add(new SoftReference<>(bitmap));
+            }
+        }
+    }
+
+    /**
+     * Takes a cleared bitmap large enough to hold the decoded image.
+     *
+     * @param sourceWidth  Width of the image.
+     * @param sourceHeight Height of the image.
+     * @param sampleSize   Sample size.
+     * @return Bitmap to reuse or {@code null} if none fits.
+     */
+    private static Bitmap takeReusable(final int sourceWidth, final int sourceHeight, final int sampleSize) {
+        final long byteCount = (long) ((sourceWidth + sampleSize - 1) / sampleSize)
+                * ((sourceHeight + sampleSize - 1) / sampleSize) * 4;
+
+        synchronized (sReusable) {
+            final Iterator<SoftReference<Bitmap>> iterator = sReusable.iterator();
+            while (iterator.hasNext()) {
+                final Bitmap bitmap = iterator.next().get();
+                if (bitmap == null || bitmap.isRecycled()) {
+                    iterator.remove();
+                } else if (bitmap.isMutable() && bitmap.getAllocationByteCount() >= byteCount) {
+                    iterator.remove();
+                    return bitmap;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    //endregion
+}
@@ -31,7 +31,6 @@ import android.content.Context;
 import android.graphics.Bitmap;
 import android.util.Base64;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 
 /**
@@ -42,17 +41,14 @@ public class ImageUtil {
     //region Public API
 
     /**
-     * Transforms {@code Bitmap} to {@code byte[]}.
+     * Transforms {@code Bitmap} to {@code byte[]} using the selfie encoder settings.
      *
      * @param bitmap
      *         Input {@code Bitmap}.
      * @return Output bytes.
      */
     public static byte[] bitmapToBytes(final Bitmap bitmap) {
-        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-        bitmap.compress(Bitmap.CompressFormat.PNG, 90, stream);
-
-        return stream.toByteArray();
+        return ImageEncoder.SELFIE.encode(bitmap);
     }
 
     /**
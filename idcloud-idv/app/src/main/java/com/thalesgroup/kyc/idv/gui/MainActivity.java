@@ -41,6 +41,7 @@ import android.widget.ListView;
 import android.widget.Toast;
 
 import com.google.android.material.navigation.NavigationView;
+import com.thalesgroup.kyc.idv.BuildConfig;
 import com.thalesgroup.kyc.idv.R;
 import com.thalesgroup.kyc.idv.gui.activity.ActivityCaptureDocIDVLandscape;
 import com.thalesgroup.kyc.idv.gui.activity.ActivityCaptureDocIDVPortrait;
@@ -57,8 +58,10 @@ import com.thalesgroup.kyc.idv.helpers.KYCManager;
 import com.thalesgroup.kyc.idv.helpers.OptionAdapter;
 import com.thalesgroup.kyc.idv.helpers.PermissionManager;
 import com.thalesgroup.kyc.idv.helpers.communication.KYCCommScheduler;
+import com.thalesgroup.kyc.idv.helpers.communication.KYCBatchRunner;
 import com.thalesgroup.kyc.idv.helpers.communication.KYCCommunication;
 
+import java.io.File;
 import java.util.List;
 
 import androidx.annotation.NonNull;
@@ -155,6 +158,12 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
         // Init all required SDK's
         KYCManager.getInstance().initialise(this);
 
+        // Debug builds only: verify a folder of captures without UI.
+        if (BuildConfig.DEBUG && getIntent().hasExtra(KYCBatchRunner.EXTRA_DIRECTORY)) {
+            new KYCBatchRunner(new File(getIntent().getStringExtra(KYCBatchRunner.EXTRA_DIRECTORY)),
+                               getIntent().getIntExtra(KYCBatchRunner.EXTRA_PARALLELISM, 1)).start();
+        }
+
         // Setup Toolbar, Drawer and related icon.
         mNavigationView.setNavigationItemSelectedListener(this);
         mOptionAdapter = new OptionAdapter(this, KYCManager.getInstance().getOptions());
@@ -270,6 +279,8 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
     }
 
     public void openMrzScanActivity(final AbstractOption.DocumentType docType) {
+        KYCCommunication.warmUp();
+
         Intent intent = null;
 
         if (KYCManager.getInstance().isPortraitScan()) {
@@ -284,6 +295,8 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
     }
 
     public void openDocScanActivity(final AbstractOption.DocumentType docType) {
+        KYCCommunication.warmUp();
+
         Intent intent = null;
 
         if (KYCManager.getInstance().isPortraitScan()) {
@@ -298,6 +311,8 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
     }
 
     public void openFaceScanActivity() {
+        KYCCommunication.warmUp();
+
         final Intent intent;
         intent = new Intent(MainActivity.this, AwareLivenessActivity.class);
         startActivityForResult(intent, REQUEST_ID_FACE_SCAN);
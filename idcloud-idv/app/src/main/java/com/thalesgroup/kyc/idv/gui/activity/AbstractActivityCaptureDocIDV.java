@@ -28,8 +28,6 @@
 package com.thalesgroup.kyc.idv.gui.activity;
 
 import android.content.Intent;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.Color;
 import android.os.Bundle;
 import android.os.Handler;
@@ -59,10 +57,13 @@ import com.thalesgroup.kyc.idv.gui.MainActivity;
 import com.thalesgroup.kyc.idv.gui.view.DocumentStepDetailView;
 import com.thalesgroup.kyc.idv.gui.view.DocumentStepView;
 import com.thalesgroup.kyc.idv.helpers.AbstractOption;
+import com.thalesgroup.kyc.idv.helpers.KYCCaptureStore;
 import com.thalesgroup.kyc.idv.helpers.KYCConfiguration;
 import com.thalesgroup.kyc.idv.helpers.DataContainer;
 import com.thalesgroup.kyc.idv.helpers.KYCManager;
+import com.thalesgroup.kyc.idv.helpers.KYCStoredData;
 import com.thalesgroup.kyc.idv.helpers.util.AssetHelper;
+import com.thalesgroup.kyc.idv.helpers.util.ImageLoader;
 
 import androidx.appcompat.app.AppCompatActivity;
 
@@ -226,16 +227,17 @@ public abstract class AbstractActivityCaptureDocIDV extends AppCompatActivity
             // Ignore all messages while SDK is paused and same as last time.
             if (!mPaused) {
                 CaptureResult.QualityCheckResults warnings = result.qualityCheckResults;
+                final KYCManager.Settings settings = KYCManager.getInstance().getSettings();
 
                 if (warnings.blur) {
                     mCheckBlur.setTextColor(Color.RED);
-                } else if (KYCManager.getInstance().isEnabledBlurQC()) {
+                } else if (settings.isEnabledBlurQC()) {
                     mCheckBlur.setTextColor(Color.GREEN);
                 }
 
                 if (warnings.glare) {
                     mCheckGlare.setTextColor(Color.RED);
-                } else if (KYCManager.getInstance().isEnabledGlareQC()) {
+                } else if (settings.isEnabledGlareQC()) {
                     mCheckGlare.setTextColor(Color.GREEN);
                 }
 
@@ -247,7 +249,7 @@ public abstract class AbstractActivityCaptureDocIDV extends AppCompatActivity
 
                 if (warnings.darkness) {
                     mCheckDarkness.setTextColor(Color.RED);
-                } else if (KYCManager.getInstance().isEnabledDarkQC()) {
+                } else if (settings.isEnabledDarkQC()) {
                     mCheckDarkness.setTextColor(Color.GREEN);
                 }
 
@@ -259,7 +261,7 @@ public abstract class AbstractActivityCaptureDocIDV extends AppCompatActivity
 
                 if (warnings.photocopy) {
                     mCheckBW.setTextColor(Color.RED);
-                } else if (KYCManager.getInstance().isEnabledBwQC()) {
+                } else if (settings.isEnabledBwQC()) {
                     mCheckBW.setTextColor(Color.GREEN);
                 }
             }
@@ -298,14 +300,17 @@ public abstract class AbstractActivityCaptureDocIDV extends AppCompatActivity
             }
         }
 
+        // Written to the capture store while the user continues with the next step.
+        final KYCStoredData capture = KYCCaptureStore.storeImage(croppedImage);
+
         // Front side
         if (mCurrentStep == 1) {
-            DataContainer.instance().mDocFront = croppedImage;
+            DataContainer.instance().setDocFront(capture);
         }
 
         // Back side
         else if (mCurrentStep == 3) {
-            DataContainer.instance().mDocBack = croppedImage;
+            DataContainer.instance().setDocBack(capture);
         }
 
         // Handle ID related operations like display step etc...
@@ -314,7 +319,7 @@ public abstract class AbstractActivityCaptureDocIDV extends AppCompatActivity
 
             mLayoutResult.setVisibility(View.VISIBLE);
             mResultImage.setVisibility(View.VISIBLE);
-            showBitmap(croppedImage, mResultImage);
+            showBitmap(capture, mResultImage);
             mResultOkButton.setVisibility(View.VISIBLE);
             mResultKoButton.setVisibility(View.VISIBLE);
         });
@@ -738,19 +743,20 @@ public abstract class AbstractActivityCaptureDocIDV extends AppCompatActivity
         mCurrentStep++;
     }
 
-    private void showBitmap(final byte[] data,
+    /**
+     * Re sizes and displays a captured image. The decoded image is cached, so the overview displays it for free.
+     *
+     * @param data Captured image.
+     * @param imageView {@code ImageView} in which to display the image.
+     */
+    private void showBitmap(final KYCStoredData data,
                             final ImageView imageView) {
-        if (data != null) {
-            final Bitmap bitmap = BitmapFactory.decodeByteArray(data, 0, data.length);
-            final DisplayMetrics displayMetrics = new DisplayMetrics();
-            getWindowManager().getDefaultDisplay().getMetrics(displayMetrics);
-
-            imageView.setMinimumHeight(displayMetrics.heightPixels);
-            imageView.setMinimumWidth(displayMetrics.widthPixels);
-            imageView.setImageBitmap(bitmap);
-        } else {
-            imageView.setVisibility(View.GONE);
-        }
+        final DisplayMetrics displayMetrics = new DisplayMetrics();
+        getWindowManager().getDefaultDisplay().getMetrics(displayMetrics);
+
+        imageView.setMinimumHeight(displayMetrics.heightPixels);
+        imageView.setMinimumWidth(displayMetrics.widthPixels);
+        ImageLoader.load(data, imageView);
     }
     //endregion
 }
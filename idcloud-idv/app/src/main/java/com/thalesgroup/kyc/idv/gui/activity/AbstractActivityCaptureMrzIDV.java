@@ -214,11 +214,13 @@ public abstract class AbstractActivityCaptureMrzIDV extends AppCompatActivity
     //region CaptureCallback.StartCallback
     @Override
     public void onProcessedFrame(final CaptureResult partial) {
-        if (KYCManager.getInstance().isDisplayMrzArea()) {
+        final KYCManager.Settings settings = KYCManager.getInstance().getSettings();
+
+        if (settings.isDisplayMrzArea()) {
             mDrawOverlayView.drawPoints(partial.quadrangle.topLeft, partial.quadrangle.topRight, partial.quadrangle.bottomLeft, partial.quadrangle.bottomRight);
         }
 
-        if (KYCManager.getInstance().isDisplayMrzData()) {
+        if (settings.isDisplayMrzData()) {
             mDrawOverlayView.drawContours(partial.contours);
         }
     }
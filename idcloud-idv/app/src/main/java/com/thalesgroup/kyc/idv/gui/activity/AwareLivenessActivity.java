@@ -3,8 +3,6 @@ package com.thalesgroup.kyc.idv.gui.activity;
 import android.app.AlertDialog;
 import android.content.DialogInterface;
 import android.content.Intent;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.os.AsyncTask;
 import android.os.Bundle;
 import android.util.Log;
@@ -20,6 +18,7 @@ import com.aware.face_liveness.api.exceptions.FaceLivenessException;
 import com.thalesgroup.kyc.idv.R;
 import com.thalesgroup.kyc.idv.gui.fragment.AwareLivenessFragment;
 import com.thalesgroup.kyc.idv.helpers.DataContainer;
+import com.thalesgroup.kyc.idv.helpers.KYCCaptureStore;
 import com.thalesgroup.kyc.idv.helpers.util.ImageUtil;
 
 import java.lang.ref.WeakReference;
@@ -75,9 +74,15 @@ public class AwareLivenessActivity extends ActivityWithSpinner implements FaceLi
 
     public void onCaptureEnd() {
         try {
-            DataContainer.instance().mEnhancedSelfieJson = mLivenessApi.getServerPackage();
-            final Bitmap bitmap = BitmapFactory.decodeByteArray(mLivenessApi.getCapturedImage(), 0, mLivenessApi.getCapturedImage().length);
-            DataContainer.instance().mSelfie = ImageUtil.bitmapToBytes(bitmap, Bitmap.CompressFormat.JPEG);
+            DataContainer.instance().setEnhancedSelfieJson(KYCCaptureStore.storeText(mLivenessApi.getServerPackage()));
+
+            final byte[] image = mLivenessApi.getCapturedImage();
+            if (image == null || ImageUtil.isJpeg(image)) {
+                DataContainer.instance().setSelfie(KYCCaptureStore.storeImage(image));
+            } else {
+                // Converted in the background, so that the activity finishes right away.
+                DataContainer.instance().setSelfie(KYCCaptureStore.storeImage(() -> ImageUtil.toJpeg(image)));
+            }
 
         } catch (FaceLivenessException e) {
             //getServerPackage can throw an exception on an error
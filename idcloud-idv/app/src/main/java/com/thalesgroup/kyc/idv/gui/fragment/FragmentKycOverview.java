@@ -27,10 +27,6 @@
 
 package com.thalesgroup.kyc.idv.gui.fragment;
 
-import android.annotation.SuppressLint;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.os.AsyncTask;
 import android.os.Bundle;
 import android.util.DisplayMetrics;
 import android.util.Log;
@@ -48,13 +44,14 @@ import com.thalesgroup.idv.sdk.nfc.CaptureResult;
 import com.thalesgroup.kyc.idv.R;
 import com.thalesgroup.kyc.idv.helpers.DataContainer;
 import com.thalesgroup.kyc.idv.helpers.KYCManager;
+import com.thalesgroup.kyc.idv.helpers.KYCStoredData;
 import com.thalesgroup.kyc.idv.helpers.communication.KYCChipAction;
 import com.thalesgroup.kyc.idv.helpers.communication.KYCCommScheduler;
 import com.thalesgroup.kyc.idv.helpers.communication.KYCCommunication;
 import com.thalesgroup.kyc.idv.helpers.communication.KYCFailedVerification;
 import com.thalesgroup.kyc.idv.helpers.communication.KYCResponse;
 import com.thalesgroup.kyc.idv.helpers.communication.KYCSession;
-import com.thalesgroup.kyc.idv.helpers.util.ImageUtil;
+import com.thalesgroup.kyc.idv.helpers.util.ImageLoader;
 
 import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.FragmentManager;
@@ -72,6 +69,8 @@ public class FragmentKycOverview extends AbstractFragmentBase {
     private LinearLayout mLayoutSelfie;
     private ImageView mIvSelfie;
     private ImageView mIvSelfieExtracted;
+    private ImageView mIvDocFront;
+    private ImageView mIvDocBack;
 
     // Result part.
     private RelativeLayout mLayoutUserInfo;
@@ -88,16 +87,16 @@ public class FragmentKycOverview extends AbstractFragmentBase {
     private LinearLayout mLayoutCheckFace;
 
     private Button mButtonNext;
-    private KYCCommunication mKYCCommunication = DataContainer.instance().mKYCCommunication;
 
     private View mRetValue;
     private int mRetryStep;
+    private boolean mSelfieSent;
+    private final KYCCommScheduler.StateListener mStateListener = this::onSchedulerStateChanged;
 
     //endregion
 
     //region Life Cycle
 
-    @SuppressLint("StaticFieldLeak")
     @Override
     public View onCreateView(final LayoutInflater inflater,
                              final ViewGroup container,
@@ -108,8 +107,8 @@ public class FragmentKycOverview extends AbstractFragmentBase {
         mLayoutSelfie = mRetValue.findViewById(R.id.fragment_kyc_overview_layout_selfie);
         mIvSelfie = mRetValue.findViewById(R.id.fragment_kyc_overview_iv_selfie);
         mIvSelfieExtracted = mRetValue.findViewById(R.id.fragment_kyc_overview_iv_selfie_extracted);
-        final ImageView ivDocFront = mRetValue.findViewById(R.id.fragment_kyc_overview_iv_doc_front);
-        final ImageView ivDocBack = mRetValue.findViewById(R.id.fragment_kyc_overview_iv_doc_back);
+        mIvDocFront = mRetValue.findViewById(R.id.fragment_kyc_overview_iv_doc_front);
+        mIvDocBack = mRetValue.findViewById(R.id.fragment_kyc_overview_iv_doc_back);
         mButtonNext = mRetValue.findViewById(R.id.fragment_kyc_overview_button_next);
         mLayoutUserInfo = mRetValue.findViewById(R.id.fragment_kyc_overview_layout_user_info);
         mTvResultHeader = mRetValue.findViewById(R.id.fragment_kyc_overview_tv_status);
@@ -125,10 +124,10 @@ public class FragmentKycOverview extends AbstractFragmentBase {
         mLayoutCheckFace = mRetValue.findViewById(R.id.fragment_kyc_overview_layout_check_face);
 
         // Display current data.
-        final byte[] selfie = DataContainer.instance().mSelfie;
+        final KYCStoredData selfie = DataContainer.instance().mSelfie;
         showBitmap(selfie, mIvSelfie);
-        showBitmap(DataContainer.instance().mDocFront, ivDocFront);
-        showBitmap(DataContainer.instance().mDocBack, ivDocBack);
+        showBitmap(DataContainer.instance().mDocFront, mIvDocFront);
+        showBitmap(DataContainer.instance().mDocBack, mIvDocBack);
 
         // Hide selfie part if it's not present.
         mLayoutSelfie.setVisibility(selfie != null ? View.VISIBLE : View.GONE);
@@ -150,9 +149,7 @@ public class FragmentKycOverview extends AbstractFragmentBase {
         mRetValue.setOnKeyListener((view, keyCode, keyEvent) -> {
             if (keyCode == KeyEvent.KEYCODE_BACK && keyEvent.getAction() == KeyEvent.ACTION_UP ) {
                 getMainActivity().progressBarHide();
-                if (mKYCCommunication != null) {
-                    mKYCCommunication.removeListener();
-                }
+                KYCCommScheduler.cancel();
             }
 
             return false;
@@ -162,199 +159,181 @@ public class FragmentKycOverview extends AbstractFragmentBase {
         Log.i("KYC", "Scheduler retry step: " + KYCCommScheduler.getRetryStep());
 
         // Communication Scheduler
-        new AsyncTask<Void, Void, Void>() {
-            int state = KYCCommScheduler.getState();
-            int retryStep = KYCCommScheduler.getRetryStep();
-
-            @Override
-            protected void onPreExecute() {
-                getMainActivity().progressBarShow();
-
-                if (KYCManager.getInstance().isNfcMode()) {
-                    displayResult(null);
-                }
+        final int state = KYCCommScheduler.getState();
+        final int retryStep = KYCCommScheduler.getRetryStep();
 
-                String status;
+        getMainActivity().progressBarShow();
 
-                if (state == KYCCommScheduler.FAILURE_RETRY) {
-                    KYCCommScheduler.sendData(retryStep);
-                }
+        if (KYCManager.getInstance().isNfcMode()) {
+            displayResult(null);
+        }
 
-                if (KYCManager.getInstance().isFacialRecognition()) {
-                    if ((state == KYCCommScheduler.FAILURE_RETRY) && (retryStep == KYCCommunication.STEP_SELFIE_VERIFICATION)) {
-                        status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_done);
-                    }
-                    else {
-                        status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_ongoing);
-                    }
-                    status += "\n";
-                    status += getString(R.string.fragment_kyc_overview_verif_face) + getString(R.string.fragment_kyc_overview_verif_pending);
-                } else {
-                    status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_ongoing);
-                }
+        String status;
 
-                mTvResultHeader.setText(status);
+        if (state == KYCCommScheduler.FAILURE_RETRY) {
+            KYCCommScheduler.sendData(retryStep);
+        }
 
-                super.onPreExecute();
+        if (KYCManager.getInstance().isFacialRecognition()) {
+            if ((state == KYCCommScheduler.FAILURE_RETRY) && (retryStep == KYCCommunication.STEP_SELFIE_VERIFICATION)) {
+                status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_done);
             }
+            else {
+                status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_ongoing);
+            }
+            status += "\n";
+            status += getString(R.string.fragment_kyc_overview_verif_face) + getString(R.string.fragment_kyc_overview_verif_pending);
+        } else {
+            status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_ongoing);
+        }
 
-            @Override
-            protected Void doInBackground(Void... params) {
-                boolean isStop = false;
-                boolean isSelfieSent = false;
+        mTvResultHeader.setText(status);
 
-                do {
-                    try {
-                        Thread.sleep(1000);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
+        // The current state is replayed on registration, further changes are pushed as they happen.
+        mSelfieSent = false;
+        KYCCommScheduler.addListener(mStateListener);
 
-                    state = KYCCommScheduler.getState();
-
-                    switch (state) {
-                        case KYCCommScheduler.SUCCESS:
-                            publishProgress(null);
-                            isStop = true;
-                            break;
-
-                        case KYCCommScheduler.FAILURE_RETRY:
-                        case KYCCommScheduler.FAILURE:
-                        case KYCCommScheduler.FAILURE_ABORT:
-                            isStop = true;
-                            break;
-
-                        case KYCCommScheduler.SENDING_DOC:
-                        case KYCCommScheduler.SENDING_SELFIE:
-                            publishProgress(null);
-                            break;
-
-                        case KYCCommScheduler.WAITING_SELFIE:
-                            if (!isSelfieSent) {
-                                isSelfieSent = true;
-
-                                KYCCommScheduler.sendData(KYCCommunication.STEP_SELFIE_VERIFICATION);
-                                publishProgress(null);
-                            }
-                            break;
-                    }
-                }
-                while (!isStop);
+        return mRetValue;
+    }
 
-                return null;
-            }
+    @Override
+    public void onDestroyView() {
+        KYCCommScheduler.removeListener(mStateListener);
 
-            @Override
-            protected void onProgressUpdate(Void... values) {
-                showBitmap(DataContainer.instance().mDocFront, ivDocFront);
-                showBitmap(DataContainer.instance().mDocBack, ivDocBack);
+        super.onDestroyView();
+    }
 
-                if (DataContainer.instance().mSelfie != null) {
-                    mLayoutSelfie.setVisibility(View.VISIBLE);
+    //endregion
 
-                    byte[] _selfie = DataContainer.instance().mSelfie;
-                    showBitmap(_selfie, mIvSelfie);
-                }
 
-                state = KYCCommScheduler.getState();
+    //region Private Hepers
 
-                String status = (String) mTvResultHeader.getText();
+    /**
+     * Reacts on a {@code KYCCommScheduler} state change. Always called on the main thread.
+     *
+     * @param state New scheduler state.
+     */
+    private void onSchedulerStateChanged(final int state) {
+        if (getView() == null) {
+            return;
+        }
 
-                switch (state) {
-                    case KYCCommScheduler.SENDING_DOC:
-                        if (KYCManager.getInstance().isFacialRecognition()) {
-                            status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_ongoing);
-                            status += "\n";
-                            status += getString(R.string.fragment_kyc_overview_verif_face) + getString(R.string.fragment_kyc_overview_verif_pending);
-                        } else {
-                            status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_ongoing);
-                        }
-                        break;
-
-                    case KYCCommScheduler.SENDING_SELFIE:
-                        status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_done);
-                        status += "\n";
-                        status += getString(R.string.fragment_kyc_overview_verif_face) + getString(R.string.fragment_kyc_overview_verif_ongoing);
-                        break;
-
-                    case KYCCommScheduler.WAITING_SELFIE:
-                        status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_done);
-                        status += "\n";
-                        status += getString(R.string.fragment_kyc_overview_verif_face) + getString(R.string.fragment_kyc_overview_verif_pending);
-                        break;
-
-                    case KYCCommScheduler.SUCCESS:
-                        if (KYCManager.getInstance().isFacialRecognition()) {
-                            status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_done);
-                            status += "\n";
-                            status += getString(R.string.fragment_kyc_overview_verif_face) + getString(R.string.fragment_kyc_overview_verif_done);
-                        } else {
-                            status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_done);
-                        }
-                        break;
+        switch (state) {
+            case KYCCommScheduler.SENDING_DOC:
+            case KYCCommScheduler.SENDING_SELFIE:
+                displayProgress(state);
+                break;
+
+            case KYCCommScheduler.WAITING_SELFIE:
+                if (!mSelfieSent) {
+                    mSelfieSent = true;
 
-                    default:
-                        break;
+                    // State switches to SENDING_SELFIE, which is delivered as a separate update.
+                    KYCCommScheduler.sendData(KYCCommunication.STEP_SELFIE_VERIFICATION);
                 }
+                break;
+
+            case KYCCommScheduler.SUCCESS:
+            case KYCCommScheduler.FAILURE:
+            case KYCCommScheduler.FAILURE_RETRY:
+            case KYCCommScheduler.FAILURE_ABORT:
+                // Final state, no further updates are expected for this verification.
+                KYCCommScheduler.removeListener(mStateListener);
+                displayProgress(state);
+                displayFinalState(state);
+                break;
+
+            case KYCCommScheduler.CANCELLED:
+                // Cancelled when leaving this screen.
+                KYCCommScheduler.removeListener(mStateListener);
+                getMainActivity().progressBarHide();
+                break;
+        }
+    }
 
-                mTvResultHeader.setText(status);
+    /**
+     * Refreshes the captured images and the verification status.
+     *
+     * @param state Current scheduler state.
+     */
+    private void displayProgress(final int state) {
+        showBitmap(DataContainer.instance().mDocFront, mIvDocFront);
+        showBitmap(DataContainer.instance().mDocBack, mIvDocBack);
 
-                super.onProgressUpdate(values);
-            }
+        if (DataContainer.instance().mSelfie != null) {
+            mLayoutSelfie.setVisibility(View.VISIBLE);
 
-            @Override
-            protected void onPostExecute(Void aVoid) {
-                showBitmap(DataContainer.instance().mDocFront, ivDocFront);
-                showBitmap(DataContainer.instance().mDocBack, ivDocBack);
+            final KYCStoredData _selfie = DataContainer.instance().mSelfie;
+            showBitmap(_selfie, mIvSelfie);
+        }
 
-                if (DataContainer.instance().mSelfie != null) {
-                    mLayoutSelfie.setVisibility(View.VISIBLE);
+        String status = (String) mTvResultHeader.getText();
 
-                    byte[] _selfie = DataContainer.instance().mSelfie;
-                    showBitmap(_selfie, mIvSelfie);
+        switch (state) {
+            case KYCCommScheduler.SENDING_DOC:
+                if (KYCManager.getInstance().isFacialRecognition()) {
+                    status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_ongoing);
+                    status += "\n";
+                    status += getString(R.string.fragment_kyc_overview_verif_face) + getString(R.string.fragment_kyc_overview_verif_pending);
+                } else {
+                    status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_ongoing);
                 }
+                break;
+
+            case KYCCommScheduler.SENDING_SELFIE:
+                status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_done);
+                status += "\n";
+                status += getString(R.string.fragment_kyc_overview_verif_face) + getString(R.string.fragment_kyc_overview_verif_ongoing);
+                break;
 
-                switch (state) {
-                    case KYCCommScheduler.SUCCESS:
-                        // Operation finished. We can hide progress bar.
-                        getMainActivity().progressBarHide();
-                        // Update UI with values from response.
-                        displayResult(KYCCommScheduler.getResponse());
-                        break;
-
-                    case KYCCommScheduler.FAILURE:
-                        // Operation finished. We can hide progress bar.
-                        getMainActivity().progressBarHide();
-                        // Display issue description.
-                        displayError(KYCCommScheduler.getError(), null, KYCSession.RETRY_NONE);
-                        break;
-
-                    case KYCCommScheduler.FAILURE_RETRY:
-                        // Operation finished. We can hide progress bar.
-                        getMainActivity().progressBarHide();
-                        // Display issue description.
-                        displayError(KYCCommScheduler.getError() + "\n" + getString(R.string.try_again), null, KYCCommScheduler.getRetryStep());
-                        break;
-
-                    case KYCCommScheduler.FAILURE_ABORT:
-                        // Operation finished. We can hide progress bar.
-                        getMainActivity().progressBarHide();
-                        // Display issue description.
-                        displayError(KYCCommScheduler.getError(), null, KYCSession.RETRY_ABORT);
-                        break;
+            case KYCCommScheduler.SUCCESS:
+                if (KYCManager.getInstance().isFacialRecognition()) {
+                    status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_done);
+                    status += "\n";
+                    status += getString(R.string.fragment_kyc_overview_verif_face) + getString(R.string.fragment_kyc_overview_verif_done);
+                } else {
+                    status = getString(R.string.fragment_kyc_overview_verif_doc) + getString(R.string.fragment_kyc_overview_verif_done);
                 }
+                break;
 
-                super.onPostExecute(aVoid);
-            }
-        }.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+            default:
+                break;
+        }
 
-        return mRetValue;
+        mTvResultHeader.setText(status);
     }
 
-    //endregion
-
-
-    //region Private Hepers
+    /**
+     * Displays the outcome of the verification once the scheduler reached a final state.
+     *
+     * @param state Final scheduler state.
+     */
+    private void displayFinalState(final int state) {
+        // Operation finished. We can hide progress bar.
+        getMainActivity().progressBarHide();
+
+        switch (state) {
+            case KYCCommScheduler.SUCCESS:
+                // Update UI with values from response.
+                displayResult(KYCCommScheduler.getResponse());
+                break;
+
+            case KYCCommScheduler.FAILURE:
+                // Display issue description.
+                displayError(KYCCommScheduler.getError(), null, KYCSession.RETRY_NONE);
+                break;
+
+            case KYCCommScheduler.FAILURE_RETRY:
+                // Display issue description.
+                displayError(KYCCommScheduler.getError() + "\n" + getString(R.string.try_again), null, KYCCommScheduler.getRetryStep());
+                break;
+
+            case KYCCommScheduler.FAILURE_ABORT:
+                // Display issue description.
+                displayError(KYCCommScheduler.getError(), null, KYCSession.RETRY_ABORT);
+                break;
+        }
+    }
 
     /**
      * Re sizes and displays an image.
@@ -364,17 +343,33 @@ public class FragmentKycOverview extends AbstractFragmentBase {
      */
     private void showBitmap(final byte[] data,
                             final ImageView imageView) {
-        if (data != null) {
-            final Bitmap bitmap = BitmapFactory.decodeByteArray(data, 0, data.length);
-            final DisplayMetrics displayMetrics = new DisplayMetrics();
-            getMainActivity().getWindowManager().getDefaultDisplay().getMetrics(displayMetrics);
-
-            imageView.setMinimumHeight(displayMetrics.heightPixels);
-            imageView.setMinimumWidth(displayMetrics.widthPixels);
-            imageView.setImageBitmap(bitmap);
-        } else {
-            imageView.setVisibility(View.GONE);
-        }
+        resize(imageView);
+        ImageLoader.load(data, imageView);
+    }
+
+    /**
+     * Re sizes and displays a captured image. It is decoded once, later calls display the cached image.
+     *
+     * @param data Captured image.
+     * @param imageView {@code ImageView} in which to display the image.
+     */
+    private void showBitmap(final KYCStoredData data,
+                            final ImageView imageView) {
+        resize(imageView);
+        ImageLoader.load(data, imageView);
+    }
+
+    /**
+     * Re sizes an {@code ImageView} to the display.
+     *
+     * @param imageView {@code ImageView}.
+     */
+    private void resize(final ImageView imageView) {
+        final DisplayMetrics displayMetrics = new DisplayMetrics();
+        getMainActivity().getWindowManager().getDefaultDisplay().getMetrics(displayMetrics);
+
+        imageView.setMinimumHeight(displayMetrics.heightPixels);
+        imageView.setMinimumWidth(displayMetrics.widthPixels);
     }
 
     /**
@@ -538,7 +533,8 @@ public class FragmentKycOverview extends AbstractFragmentBase {
                 // Extracted selfie
                 if (captureResult.parsedData.faceImage != null) {
                     mIvSelfieExtracted.setVisibility(View.VISIBLE);
-                    showBitmap(ImageUtil.bitmapToBytes(captureResult.parsedData.faceImage, Bitmap.CompressFormat.JPEG), mIvSelfieExtracted);
+                    resize(mIvSelfieExtracted);
+                    mIvSelfieExtracted.setImageBitmap(captureResult.parsedData.faceImage);
 
                     // Add margin to left photo. It was not there from beginning since there
                     // was just one image.
@@ -29,6 +29,7 @@ package com.thalesgroup.kyc.idv.helpers;
 
 import com.thalesgroup.idv.sdk.nfc.CaptureResult;
 import com.thalesgroup.kyc.idv.helpers.communication.KYCCommunication;
+import com.thalesgroup.kyc.idv.helpers.util.ImageLoader;
 
 public final class DataContainer {
 
@@ -42,15 +43,14 @@ public final class DataContainer {
 
     // NFC data IDV
     public CaptureResult mNfcResult;
-    public String mIdvChipResult;
 
     // doc data IDV
-    public byte[] mDocFront;
-    public byte[] mDocBack;
+    public KYCStoredData mDocFront;
+    public KYCStoredData mDocBack;
 
     // Selfie data
-    public byte[] mSelfie;
-    public String mEnhancedSelfieJson;
+    public KYCStoredData mSelfie;
+    public KYCStoredData mEnhancedSelfieJson;
 
     // Server session data
     public int mVerificationStep = KYCCommunication.STEP_START_DOC_VERIFICATION;
@@ -75,17 +75,81 @@ public final class DataContainer {
     //region Public API
 
     public void clearDocData() {
+        ImageLoader.clear();
         mNfcResult = null;
         mDoc = null;
         mDob = null;
         mDoe = null;
-        mDocFront = null;
-        mDocBack = null;
-        mSelfie = null;
-        mEnhancedSelfieJson = null;
-        mIdvChipResult = null;
+        // Captured images and liveness data are deleted once the verifications sending them are done.
+        setDocFront(null);
+        setDocBack(null);
+        setSelfie(null);
+        setEnhancedSelfieJson(null);
         mVerificationStep = KYCCommunication.STEP_START_DOC_VERIFICATION;
     }
 
+    /**
+     * Sets the front side image of the document, the replaced one is released.
+     *
+     * @param docFront Stored data or {@code null}.
+     */
+    public void setDocFront(final KYCStoredData docFront) {
+        if (mDocFront != docFront) {
+            release(mDocFront);
+            mDocFront = docFront;
+        }
+    }
+
+    /**
+     * Sets the back side image of the document, the replaced one is released.
+     *
+     * @param docBack Stored data or {@code null}.
+     */
+    public void setDocBack(final KYCStoredData docBack) {
+        if (mDocBack != docBack) {
+            release(mDocBack);
+            mDocBack = docBack;
+        }
+    }
+
+    /**
+     * Sets the selfie image, the replaced one is released.
+     *
+     * @param selfie Stored data or {@code null}.
+     */
+    public void setSelfie(final KYCStoredData selfie) {
+        if (mSelfie != selfie) {
+            release(mSelfie);
+            mSelfie = selfie;
+        }
+    }
+
+    /**
+     * Sets the enhanced liveness data, the replaced one is released.
+     *
+     * @param enhancedSelfieJson Stored data or {@code null}.
+     */
+    public void setEnhancedSelfieJson(final KYCStoredData enhancedSelfieJson) {
+        if (mEnhancedSelfieJson != enhancedSelfieJson) {
+            release(mEnhancedSelfieJson);
+            mEnhancedSelfieJson = enhancedSelfieJson;
+        }
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Releases the reference of the container to stored data.
+     *
+     * @param data Stored data or {@code null}.
+     */
+    private static void release(final KYCStoredData data) {
+        if (data != null) {
+            data.release();
+        }
+    }
+
     //endregion
 }
@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+/**
+ * App-private store of the captured images and liveness packages.
+ *
+ * Captured data is written in the background to files of the no-backup directory, encrypted with a key which only
+ * lives in memory, and released from the heap once written. An entry is deleted once its last reference is released,
+ * see {@link KYCStoredData#release()}. Files of a previous process cannot be decrypted anymore and are removed by
+ * {@link #initialise(Context)}.
+ */
+public final class KYCCaptureStore {
+
+    //region Definition
+
+    private static final String DIRECTORY = "kyc_captures";
+    private static final int IV_SIZE = 16;
+
+    private static final ExecutorService sWriter = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "KYC-CaptureStore");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final SecureRandom sRandom = new SecureRandom();
+    private static File sDirectory;
+    private static SecretKey sKey;
+
+    //endregion
+
+    //region Life Cycle
+
+    private KYCCaptureStore() {
+        // Utility class.
+    }
+
+    /**
+     * Initialises the store and removes the files left by a previous process.
+     *
+     * @param context Android context.
+     */
+    public static synchronized void initialise(final Context context) {
+        if (sDirectory != null) {
+            return;
+        }
+
+        sDirectory = new File(context.getNoBackupFilesDir(), DIRECTORY);
+        if (!sDirectory.isDirectory() && !sDirectory.mkdirs()) {
+            Log.w("KYC", "Failed to create " + sDirectory);
+        }
+        deleteFiles();
+
+        try {
+            final KeyGenerator generator = KeyGenerator.getInstance("AES");
+            generator.init(256, sRandom);
+            sKey = generator.generateKey();
+        } catch (final NoSuchAlgorithmException exception) {
+            // Not expected, AES is always available.
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Stores a captured image.
+     *
+     * @param image Image, must not be modified afterwards.
+     * @return Handle of the image or {@code null} if {@code image} is {@code null}.
+     */
+    public static KYCStoredData storeImage(final byte[] image) {
+        return image == null ? null : store(image, null, true);
+    }
+
+    /**
+     * Stores a captured image which is produced in the background, e.g. converted to another format. Readers of the
+     * handle wait until it is produced.
+     *
+     * @param producer Producer of the image, returns {@code null} on failure.
+     * @return Handle of the image.
+     */
+    public static KYCStoredData storeImage(final Callable<byte[]> producer) {
+        return store(null, producer, true);
+    }
+
+    /**
+     * Stores captured text, like the liveness server package.
+     *
+     * @param text Text.
+     * @return Handle of the text or {@code null} if {@code text} is {@code null}.
+     */
+    public static KYCStoredData storeText(final String text) {
+        return text == null ? null : store(text.getBytes(StandardCharsets.UTF_8), null, false);
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Creates the handle and schedules the writing of the data.
+     *
+     * @param data     Data or {@code null} if produced by {@code producer}.
+     * @param producer Producer of the data, run by the writer thread, or {@code null}.
+     * @param isImage  {@code True} if the data is an image, else {@code false}.
+     * @return Handle.
+     */
+    private static KYCStoredData store(final byte[] data, final Callable<byte[]> producer, final boolean isImage) {
+        final byte[] iv = new byte[IV_SIZE];
+        final KYCStoredData entry;
+
+        synchronized (KYCCaptureStore.class) {
+            if (sDirectory == null) {
+                throw new IllegalStateException("KYCCaptureStore is not initialised.");
+            }
+
+            sRandom.nextBytes(iv);
+            final File file = new File(sDirectory, UUID.randomUUID().toString());
+            entry = producer != null
+                    ? new KYCStoredData(file, sKey, iv, producer, isImage)
+                    : new KYCStoredData(file, sKey, iv, data, isImage);
+        }
+
+        sWriter.execute(entry::persist);
+
+        return entry;
+    }
+
+    /**
+     * Deletes the files of the store directory.
+     */
+    private static void deleteFiles() {
+        final File[] files = sDirectory != null ? sDirectory.listFiles() : null;
+        if (files == null) {
+            return;
+        }
+
+        for (final File file : files) {
+            if (!file.delete()) {
+                Log.w("KYC", "Failed to delete " + file.getName());
+            }
+        }
+    }
+
+    //endregion
+}
@@ -39,6 +39,95 @@ public class KYCConfiguration {
      */
     public static final int IDCLOUD_RETRY_DELAY_SEC = 2;
 
+    /**
+     * Maximum time (in seconds) spent polling a verification result before throwing timeout error.
+     */
+    public static final int IDCLOUD_POLL_TIMEOUT_SEC = IDCLOUD_NUMBER_OF_RETRIES * IDCLOUD_RETRY_DELAY_SEC;
+
+    /**
+     * Delay (in milliseconds) before the first polling retry.
+     */
+    public static final long IDCLOUD_POLL_INITIAL_DELAY_MS = 500;
+
+    /**
+     * Upper bound (in milliseconds) of the delay between two polling retries.
+     */
+    public static final long IDCLOUD_POLL_MAX_DELAY_MS = IDCLOUD_RETRY_DELAY_SEC * 2000L;
+
+    /**
+     * Factor applied to the polling delay after each retry.
+     */
+    public static final double IDCLOUD_POLL_BACKOFF_MULTIPLIER = 1.5;
+
+    /**
+     * Random variation (ratio of the delay) added to each polling delay.
+     */
+    public static final double IDCLOUD_POLL_JITTER = 0.2;
+
+    /**
+     * Maximum number of attempts of a request which failed on a transient error: no response (connection reset,
+     * timeout), {@code 408} or {@code 5xx}.
+     */
+    public static final int IDCLOUD_REQUEST_MAX_ATTEMPTS = 4;
+
+    /**
+     * Delay (in milliseconds) before the first retry of a failed request.
+     */
+    public static final long IDCLOUD_REQUEST_RETRY_INITIAL_DELAY_MS = 1000;
+
+    /**
+     * Upper bound (in milliseconds) of the delay between two retries of a failed request.
+     */
+    public static final long IDCLOUD_REQUEST_RETRY_MAX_DELAY_MS = 8000;
+
+    /**
+     * Factor applied to the delay after each retry of a failed request.
+     */
+    public static final double IDCLOUD_REQUEST_RETRY_BACKOFF_MULTIPLIER = 2;
+
+    /**
+     * Maximum time (in seconds) spent retrying a failed request.
+     */
+    public static final int IDCLOUD_REQUEST_RETRY_TIMEOUT_SEC = 60;
+
+    /**
+     * Number of worker threads used to communicate with the verification backend.
+     */
+    public static final int IDCLOUD_TRANSPORT_POOL_SIZE = 4;
+
+    /**
+     * Connection timeout (in milliseconds) for requests to the verification backend.
+     */
+    public static final int IDCLOUD_CONNECT_TIMEOUT_MS = 15000;
+
+    /**
+     * Read timeout (in milliseconds) for requests to the verification backend.
+     */
+    public static final int IDCLOUD_READ_TIMEOUT_MS = 60000;
+
+    /**
+     * Time (in milliseconds) after the last exchange with the verification backend during which the connection is
+     * considered warm and is not opened again ahead of time.
+     */
+    public static final long IDCLOUD_WARM_UP_INTERVAL_MS = 60000;
+
+    /**
+     * Compresses request bodies with gzip and accepts gzip compressed responses. A backend which rejects compressed
+     * requests with {@code 415 Unsupported Media Type} is sent uncompressed bodies from then on.
+     */
+    public static final boolean IDCLOUD_GZIP_ENABLED = true;
+
+    /**
+     * Size (in bytes) under which request bodies are sent uncompressed.
+     */
+    public static final long IDCLOUD_GZIP_MIN_BYTES = 1024;
+
+    /**
+     * Name of the file, in the application files directory, to which the metrics of each verification session are
+     * appended in debug builds. {@code null} to disable the export.
+     */
+    public static final String IDCLOUD_METRICS_FILE = "kyc_metrics.jsonl";
+
     /**
      * IDV SDK License.
      */
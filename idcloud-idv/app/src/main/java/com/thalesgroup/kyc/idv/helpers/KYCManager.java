@@ -27,6 +27,7 @@
 
 package com.thalesgroup.kyc.idv.helpers;
 
+import android.content.ComponentCallbacks;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.os.Handler;
@@ -43,15 +44,21 @@ import com.thalesgroup.kyc.idv.gui.MainActivity;
 import com.thalesgroup.kyc.idv.gui.animation.EaseInterpolators;
 import com.thalesgroup.kyc.idv.gui.fragment.FragmentPrivacyPolicy;
 import com.thalesgroup.kyc.idv.gui.fragment.FragmentQRCodeReader;
+import com.thalesgroup.kyc.idv.helpers.communication.KYCCommunication;
+import com.thalesgroup.kyc.idv.helpers.communication.KYCSessionMetrics;
 
+import java.io.File;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import androidx.annotation.IdRes;
+import androidx.annotation.NonNull;
 
 /**
  * Utility methods.
@@ -67,6 +74,10 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
 
     private Context mContext;
     private SharedPreferences mPreferences;
+    private final Object mErrorMessagesLock = new Object();
+    private volatile Map<String, String> mErrorMessages;
+    private boolean mConfigurationListened;
+    private volatile Settings mSettings;
 
     private final static String SHARED_PREF_KEY = "KYCOptions";
 
@@ -102,6 +113,112 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
     private final static String KEY_DISPLAY_MRZ_DATA = "DebugKycPreferenceKeyMrzData";
     private final static String KEY_NFC_SOUND = "DebugKycPreferenceKeyNfcSound";
 
+    /**
+     * Immutable snapshot of the settings, rebuilt each time a value is saved. Capture callbacks read it once per
+     * frame instead of querying the preferences for each setting.
+     */
+    public static final class Settings {
+        private final long mVersion;
+        private final AbstractOption.DocumentType mDocType;
+        private final boolean mNfcMode;
+        private final boolean mFacialRecognition;
+        private final int mConfigEdgeMode;
+        private final boolean mEnabledBlurQC;
+        private final boolean mEnabledGlareQC;
+        private final boolean mEnabledDarkQC;
+        private final boolean mEnabledBwQC;
+        private final boolean mManualScan;
+        private final boolean mPortraitScan;
+        private final boolean mDisplayMrzArea;
+        private final boolean mDisplayMrzData;
+        private final boolean mNfcSound;
+
+        /**
+         * Creates a new {@code Settings} instance from the saved values.
+         *
+         * @param version Version of the snapshot.
+         * @param manager Manager holding the preferences.
+         */
+        private Settings(final long version, final KYCManager manager) {
+            mVersion = version;
+            mDocType = AbstractOption.DocumentType.fromId(manager.getValueInt(KEY_DOC_TYPE,
+                                                                              AbstractOption.DocumentType.Passport.getValue()));
+            mNfcMode = manager.getValueBoolean(KEY_NFC_MODE, true);
+            mFacialRecognition = manager.getValueBoolean(KEY_FACIAL_RECOGNITION, true);
+            mConfigEdgeMode = manager.readConfigEdgeMode();
+            mEnabledBlurQC = manager.getValueBoolean(KEY_BLUR_QC, true);
+            mEnabledGlareQC = manager.getValueBoolean(KEY_GLARE_QC, true);
+            mEnabledDarkQC = manager.getValueBoolean(KEY_DARK_QC, true);
+            mEnabledBwQC = manager.getValueBoolean(KEY_BW_QC, false);
+            mManualScan = manager.getValueBoolean(KEY_MANUAL_SCAN, false);
+            mPortraitScan = manager.getValueBoolean(KEY_PORTRAIT_SCAN, false);
+            mDisplayMrzArea = manager.getValueBoolean(KEY_DISPLAY_MRZ_AREA, false);
+            mDisplayMrzData = manager.getValueBoolean(KEY_DISPLAY_MRZ_DATA, true);
+            mNfcSound = manager.getValueBoolean(KEY_NFC_SOUND, true);
+        }
+
+        /**
+         * Gets the version of the snapshot, incremented each time a value is saved.
+         *
+         * @return Version.
+         */
+        public long getVersion() {
+            return mVersion;
+        }
+
+        public AbstractOption.DocumentType getDocType() {
+            return mDocType;
+        }
+
+        public boolean isNfcMode() {
+            return mNfcMode;
+        }
+
+        public boolean isFacialRecognition() {
+            return mFacialRecognition;
+        }
+
+        public int getConfigEdgeMode() {
+            return mConfigEdgeMode;
+        }
+
+        public boolean isEnabledBlurQC() {
+            return mEnabledBlurQC;
+        }
+
+        public boolean isEnabledGlareQC() {
+            return mEnabledGlareQC;
+        }
+
+        public boolean isEnabledDarkQC() {
+            return mEnabledDarkQC;
+        }
+
+        public boolean isEnabledBwQC() {
+            return mEnabledBwQC;
+        }
+
+        public boolean isManualScan() {
+            return mManualScan;
+        }
+
+        public boolean isPortraitScan() {
+            return mPortraitScan;
+        }
+
+        public boolean isDisplayMrzArea() {
+            return mDisplayMrzArea;
+        }
+
+        public boolean isDisplayMrzData() {
+            return mDisplayMrzData;
+        }
+
+        public boolean isNfcSound() {
+            return mNfcSound;
+        }
+    }
+
     //endregion
 
     //region Life Cycle
@@ -128,6 +245,32 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
     public void initialise(final Context context) {
         mContext = context;
         mPreferences = context.getSharedPreferences(SHARED_PREF_KEY, Context.MODE_PRIVATE);
+        updateSettings();
+
+        // Error messages follow the locale of the new context.
+        invalidateErrorMessages();
+        if (!mConfigurationListened) {
+            mConfigurationListened = true;
+            context.getApplicationContext().registerComponentCallbacks(new ComponentCallbacks() {
+                @Override
+                public void onConfigurationChanged(@NonNull final android.content.res.Configuration newConfig) {
+                    invalidateErrorMessages();
+                }
+
+                @Override
+                public void onLowMemory() {
+                    // Nothing to release.
+                }
+            });
+        }
+        KYCCaptureStore.initialise(context);
+
+        // Connect to the configured backend while the user is still on the home screen.
+        KYCCommunication.warmUp();
+
+        if (BuildConfig.DEBUG && KYCConfiguration.IDCLOUD_METRICS_FILE != null) {
+            KYCSessionMetrics.setExportFile(new File(context.getFilesDir(), KYCConfiguration.IDCLOUD_METRICS_FILE));
+        }
     }
 
     //endregion
@@ -264,6 +407,7 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
 
     private boolean setValue(final String key, final int value) {
         mPreferences.edit().putInt(key, value).apply();
+        updateSettings();
         return true;
     }
 
@@ -276,14 +420,23 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
      */
     private boolean setValue(final String key, final boolean value) {
         mPreferences.edit().putBoolean(key, value).apply();
+        updateSettings();
         return true;
     }
 
     private boolean setValue(final String key, final String value) {
         mPreferences.edit().putString(key, value).apply();
+        updateSettings();
         return true;
     }
 
+    /**
+     * Publishes a new snapshot of the settings.
+     */
+    private synchronized void updateSettings() {
+        mSettings = new Settings(mSettings == null ? 1 : mSettings.getVersion() + 1, this);
+    }
+
     private String getValueString(final String key, final String defaultValue) {
         return mPreferences.getString(key, defaultValue);
     }
@@ -370,12 +523,21 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
 
     //region Props - GeneralSettings
 
+    /**
+     * Gets the current snapshot of the settings.
+     *
+     * @return Settings.
+     */
+    public Settings getSettings() {
+        return mSettings;
+    }
+
     public boolean setDocType(final AbstractOption.DocumentType value) {
         return setValue(KEY_DOC_TYPE, value.getValue());
     }
 
     public AbstractOption.DocumentType getDocType() {
-        return AbstractOption.DocumentType.fromId(getValueInt(KEY_DOC_TYPE, AbstractOption.DocumentType.Passport.getValue()));
+        return mSettings.getDocType();
     }
 
     public boolean setNfcMode(final boolean value) {
@@ -383,7 +545,7 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
     }
 
     public boolean isNfcMode() {
-        return getValueBoolean(KEY_NFC_MODE, true);
+        return mSettings.isNfcMode();
     }
 
     public boolean setFacialRecognition(final boolean value) {
@@ -391,7 +553,7 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
     }
 
     public boolean isFacialRecognition() {
-        return getValueBoolean(KEY_FACIAL_RECOGNITION, true);
+        return mSettings.isFacialRecognition();
     }
 
     public String getBaseUrl() {
@@ -441,6 +603,10 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
     }
 
     public int getConfigEdgeMode() {
+        return mSettings.getConfigEdgeMode();
+    }
+
+    private int readConfigEdgeMode() {
         String mode = getValueString(KEY_EDGE_MODE, mContext.getString(R.string.STRING_KYC_OPTION_EDGE_MODE_ML));
 
         if (mode.equals(mContext.getString(R.string.STRING_KYC_OPTION_EDGE_MODE_ML))) {
@@ -455,7 +621,7 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
     }
 
     public boolean isEnabledBlurQC() {
-        return getValueBoolean(KEY_BLUR_QC, true);
+        return mSettings.isEnabledBlurQC();
     }
 
     public boolean setEnabledGlareQC(final boolean value) {
@@ -463,7 +629,7 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
     }
 
     public boolean isEnabledGlareQC() {
-        return getValueBoolean(KEY_GLARE_QC, true);
+        return mSettings.isEnabledGlareQC();
     }
 
     public boolean setEnabledDarkQC(final boolean value) {
@@ -471,7 +637,7 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
     }
 
     public boolean isEnabledDarkQC() {
-        return getValueBoolean(KEY_DARK_QC, true);
+        return mSettings.isEnabledDarkQC();
     }
 
     public boolean setEnabledBwQC(final boolean value) {
@@ -479,7 +645,7 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
     }
 
     public boolean isEnabledBwQC() {
-        return getValueBoolean(KEY_BW_QC, false);
+        return mSettings.isEnabledBwQC();
     }
     //endregion
 
@@ -491,7 +657,7 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
     }
 
     public boolean isManualScan() {
-        return getValueBoolean(KEY_MANUAL_SCAN, false);
+        return mSettings.isManualScan();
     }
 
     public boolean setPortraitScan(final boolean value) {
@@ -499,7 +665,7 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
     }
 
     public boolean isPortraitScan() {
-        return getValueBoolean(KEY_PORTRAIT_SCAN, false);
+        return mSettings.isPortraitScan();
     }
 
     //endregion
@@ -508,7 +674,7 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
 
     // Chip Options
     public boolean isDisplayMrzArea() {
-        return getValueBoolean(KEY_DISPLAY_MRZ_AREA, false);
+        return mSettings.isDisplayMrzArea();
     }
 
     public boolean setDisplayMrzArea(final boolean value) {
@@ -516,7 +682,7 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
     }
 
     public boolean isDisplayMrzData() {
-        return getValueBoolean(KEY_DISPLAY_MRZ_DATA, true);
+        return mSettings.isDisplayMrzData();
     }
 
     public boolean setDisplayMrzData(final boolean value) {
@@ -524,7 +690,7 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
     }
 
     public boolean isNfcSound() {
-        return getValueBoolean(KEY_NFC_SOUND, true);
+        return mSettings.isNfcSound();
     }
 
     public boolean setNfcSound(final boolean value) {
@@ -576,6 +742,7 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
                 if(getKycQRCodeVersion().equals(KYC_QR_CODE_VERSION_KYC2)) {
                     setBaseCredentials(elements[1]);
                     setBaseUrl(elements[2]);
+                    KYCCommunication.warmUp();
                 } else {
                     Log.i("QR Scan", mContext.getString(R.string.STRING_QR_CODE_ERROR_FAILED));
                     sender.continueScanning();
@@ -592,30 +759,67 @@ public class KYCManager implements FragmentQRCodeReader.QRCodeReaderDelegate {
 
     //endregion
 
+    /**
+     * Gets the localized message of an error code.
+     *
+     * @param errorCode      Error code.
+     * @param defaultMessage Message returned if the code is unknown.
+     * @return Error message.
+     */
     public String getErrorMessage(String errorCode, String defaultMessage) {
-        String[] errorCodes = mContext.getResources().getStringArray(R.array.error_codes);
-        String[] errorMessages = mContext.getResources().getStringArray(R.array.error_messages);
+        final String message = getErrorMessages().get(errorCode);
 
-        for (int i = 0; i < errorCodes.length; i++) {
-            if (errorCodes[i].equals(errorCode)) {
-                return errorMessages[i];
-            }
-        }
-
-        return defaultMessage;
+        return message != null ? message : defaultMessage;
     }
 
+    /**
+     * Gets the localized message of an error code.
+     *
+     * @param errorCode Error code.
+     * @return Error message.
+     */
     public String getErrorMessage(String errorCode) {
-        String[] errorCodes = mContext.getResources().getStringArray(R.array.error_codes);
-        String[] errorMessages = mContext.getResources().getStringArray(R.array.error_messages);
+        return getErrorMessage(errorCode, "Unknown error!");
+    }
 
-        for (int i = 0; i < errorCodes.length; i++) {
-            if (errorCodes[i].equals(errorCode)) {
-                String result = errorMessages[i];
-                return result;
+    /**
+     * Gets the error messages by code, loaded from the resources on first use. Error paths of the network threads
+     * only read the map.
+     *
+     * @return Read-only error messages.
+     */
+    private Map<String, String> getErrorMessages() {
+        Map<String, String> errorMessages = mErrorMessages;
+        if (errorMessages == null) {
+            synchronized (mErrorMessagesLock) {
+                errorMessages = mErrorMessages;
+                if (errorMessages == null) {
+                    final String[] errorCodes = mContext.getResources().getStringArray(R.array.error_codes);
+                    final String[] messages = mContext.getResources().getStringArray(R.array.error_messages);
+                    final Map<String, String> map = new HashMap<>(errorCodes.length * 2);
+
+                    for (int i = 0; i < errorCodes.length && i < messages.length; i++) {
+                        // First entry wins, as with the former linear lookup.
+                        if (!map.containsKey(errorCodes[i])) {
+                            map.put(errorCodes[i], messages[i]);
+                        }
+                    }
+
+                    errorMessages = Collections.unmodifiableMap(map);
+                    mErrorMessages = errorMessages;
+                }
             }
         }
 
-        return "Unknown error!";
+        return errorMessages;
+    }
+
+    /**
+     * Drops the error messages, they are loaded again with the current locale on next use.
+     */
+    private void invalidateErrorMessages() {
+        synchronized (mErrorMessagesLock) {
+            mErrorMessages = null;
+        }
     }
 }
@@ -0,0 +1,419 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers;
+
+import android.util.Base64;
+import android.util.Base64InputStream;
+import android.util.Base64OutputStream;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.Callable;
+
+import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+
+/**
+ * Handle of captured data kept by {@link KYCCaptureStore}.
+ *
+ * The data is held in memory only until it is written to its encrypted file, then read back as a stream each time
+ * it is needed. Images are stored Base64 encoded, so they are uploaded without being encoded again. Data which is
+ * still being produced in the background is waited for by the readers.
+ */
+public final class KYCStoredData {
+
+    //region Definition
+
+    private static final String CIPHER = "AES/CTR/NoPadding";
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final File mFile;
+    private final SecretKey mKey;
+    private final byte[] mIv;
+    private final boolean mIsImage;
+    private int mLength;
+    private byte[] mPending;
+    private Callable<byte[]> mProducer;
+    private boolean mDeleted;
+    private int mReferences = 1;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code KYCStoredData} instance. The data is kept in memory until {@link #persist()} is called.
+     *
+     * @param file    Backing file.
+     * @param key     Encryption key.
+     * @param iv      Initial counter, unique for each file.
+     * @param data    Data, must not be modified afterwards.
+     * @param isImage {@code True} if the data is an image, stored Base64 encoded, else {@code false}.
+     */
+    KYCStoredData(final File file,
+                  final SecretKey key,
+                  final byte[] iv,
+                  final byte[] data,
+                  final boolean isImage) {
+        mFile = file;
+        mKey = key;
+        mIv = iv;
+        mPending = data;
+        mIsImage = isImage;
+        mLength = data.length;
+    }
+
+    /**
+     * Creates a new {@code KYCStoredData} instance for data produced by {@link #persist()}.
+     *
+     * @param file     Backing file.
+     * @param key      Encryption key.
+     * @param iv       Initial counter, unique for each file.
+     * @param producer Producer of the data, returns {@code null} on failure.
+     * @param isImage  {@code True} if the data is an image, stored Base64 encoded, else {@code false}.
+     */
+    KYCStoredData(final File file,
+                  final SecretKey key,
+                  final byte[] iv,
+                  final Callable<byte[]> producer,
+                  final boolean isImage) {
+        mFile = file;
+        mKey = key;
+        mIv = iv;
+        mProducer = producer;
+        mIsImage = isImage;
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Gets the size of the data. Waits for the data if it is still being produced.
+     *
+     * @return Size in bytes.
+     */
+    public synchronized int length() {
+        awaitData();
+        return mLength;
+    }
+
+    /**
+     * Gets the size of the Base64 encoding of the data. Waits for the data if it is still being produced.
+     *
+     * @return Size in bytes.
+     */
+    public synchronized long base64Length() {
+        awaitData();
+        return 4L * ((mLength + 2) / 3);
+    }
+
+    /**
+     * Opens the data for reading.
+     *
+     * @return Stream of the data, to be closed by the caller.
+     * @throws IOException If the data was deleted or could not be read.
+     */
+    public InputStream openStream() throws IOException {
+        final byte[] pending = getPending();
+        if (pending != null) {
+            return new ByteArrayInputStream(pending);
+        }
+
+        final InputStream stored = openFile();
+        return mIsImage ? new Base64InputStream(stored, Base64.NO_WRAP) : stored;
+    }
+
+    /**
+     * Reads the whole data in memory. Prefer {@link #openStream()} when the consumer accepts a stream.
+     *
+     * @return Data.
+     * @throws IOException If the data was deleted or could not be read.
+     */
+    public byte[] readBytes() throws IOException {
+        final byte[] pending = getPending();
+        if (pending != null) {
+            return pending;
+        }
+
+        try (InputStream inputStream = openStream()) {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(mLength);
+            copy(inputStream, outputStream);
+
+            return outputStream.toByteArray();
+        }
+    }
+
+    /**
+     * Reads the whole data in memory as UTF-8 text.
+     *
+     * @return Text.
+     * @throws IOException If the data was deleted or could not be read.
+     */
+    public String readString() throws IOException {
+        return new String(readBytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the Base64 encoding of the data. Images are copied as stored, other data is encoded in chunks.
+     *
+     * @param outputStream Output stream, left open.
+     * @throws IOException If the data was deleted or could not be read, or if error occurs while writing.
+     */
+    public void writeBase64(final OutputStream outputStream) throws IOException {
+        final byte[] pending = getPending();
+
+        if (pending == null && mIsImage) {
+            try (InputStream inputStream = openFile()) {
+                copy(inputStream, outputStream);
+            }
+            return;
+        }
+
+        final Base64OutputStream base64Stream = new Base64OutputStream(outputStream,
+                                                                       Base64.NO_WRAP | Base64.NO_CLOSE);
+        if (pending != null) {
+            for (int offset = 0; offset < pending.length; offset += BUFFER_SIZE) {
+                base64Stream.write(pending, offset, Math.min(BUFFER_SIZE, pending.length - offset));
+            }
+        } else {
+            try (InputStream inputStream = openFile()) {
+                copy(inputStream, base64Stream);
+            }
+        }
+
+        // Flushes the padding, underlying stream stays open.
+        base64Stream.close();
+    }
+
+    /**
+     * Adds a reference to the data, e.g. by a verification session which sends it.
+     *
+     * @return This handle.
+     */
+    public synchronized KYCStoredData retain() {
+        mReferences++;
+        return this;
+    }
+
+    /**
+     * Releases a reference to the data, the handle is created with one. The data is deleted once the last reference
+     * is released, streams already open remain readable until closed.
+     */
+    public synchronized void release() {
+        if (--mReferences == 0) {
+            delete();
+        }
+    }
+
+    //endregion
+
+    //region Package API
+
+    /**
+     * Produces the data if needed, writes it to its encrypted file and releases the memory. If writing fails, the
+     * data stays in memory.
+     */
+    void persist() {
+        produce();
+
+        final byte[] data;
+        synchronized (this) {
+            data = mPending;
+        }
+
+        if (data == null) {
+            return;
+        }
+
+        try (OutputStream fileStream = new CipherOutputStream(new FileOutputStream(mFile), cipher(Cipher.ENCRYPT_MODE))) {
+            if (mIsImage) {
+                final Base64OutputStream base64Stream = new Base64OutputStream(fileStream, Base64.NO_WRAP);
+                for (int offset = 0; offset < data.length; offset += BUFFER_SIZE) {
+                    base64Stream.write(data, offset, Math.min(BUFFER_SIZE, data.length - offset));
+                }
+                base64Stream.close();
+            } else {
+                fileStream.write(data);
+            }
+        } catch (final IOException | GeneralSecurityException exception) {
+            Log.w("KYC", "Failed to store captured data, kept in memory: " + exception.toString());
+            mFile.delete();
+            return;
+        }
+
+        synchronized (this) {
+            if (mDeleted) {
+                mFile.delete();
+            } else {
+                mPending = null;
+            }
+        }
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Deletes the data.
+     */
+    private synchronized void delete() {
+        mDeleted = true;
+        mPending = null;
+        notifyAll();
+
+        if (mFile.exists() && !mFile.delete()) {
+            Log.w("KYC", "Failed to delete " + mFile.getName());
+        }
+    }
+
+    /**
+     * Runs the producer of the data, if any, and wakes up the readers. Data which cannot be produced is handled as
+     * deleted.
+     */
+    private void produce() {
+        final Callable<byte[]> producer;
+        synchronized (this) {
+            producer = mProducer;
+        }
+
+        if (producer == null) {
+            return;
+        }
+
+        byte[] data;
+        try {
+            data = producer.call();
+        } catch (final Exception exception) {
+            Log.w("KYC", "Failed to prepare captured data: " + exception.toString());
+            data = null;
+        }
+
+        synchronized (this) {
+            mProducer = null;
+            if (data == null) {
+                mDeleted = true;
+            } else if (!mDeleted) {
+                mPending = data;
+                mLength = data.length;
+            }
+            notifyAll();
+        }
+    }
+
+    /**
+     * Waits until the data is produced. Must be called with the lock held.
+     */
+    private void awaitData() {
+        while (mProducer != null && !mDeleted) {
+            try {
+                wait();
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the data while it is not written to the file yet. Waits for the data if it is still being produced.
+     *
+     * @return Data or {@code null} if stored in the file.
+     * @throws IOException If the data was deleted or could not be produced.
+     */
+    private synchronized byte[] getPending() throws IOException {
+        awaitData();
+        if (mDeleted || mProducer != null) {
+            throw new IOException("Captured data is not available.");
+        }
+
+        return mPending;
+    }
+
+    /**
+     * Opens the file for reading, as stored.
+     *
+     * @return Decrypted stream.
+     * @throws IOException If the file could not be opened.
+     */
+    private InputStream openFile() throws IOException {
+        try {
+            return new BufferedInputStream(new CipherInputStream(new FileInputStream(mFile), cipher(Cipher.DECRYPT_MODE)),
+                                           BUFFER_SIZE);
+        } catch (final GeneralSecurityException exception) {
+            throw new IOException(exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Creates the cipher of the file. Counter mode keeps the file size equal to the data size and is read as a
+     * stream.
+     *
+     * @param mode {@code Cipher.ENCRYPT_MODE} or {@code Cipher.DECRYPT_MODE}.
+     * @return Initialised cipher.
+     * @throws GeneralSecurityException If the cipher is not available.
+     */
+    private Cipher cipher(final int mode) throws GeneralSecurityException {
+        final Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(mode, mKey, new IvParameterSpec(mIv));
+
+        return cipher;
+    }
+
+    /**
+     * Copies a stream.
+     *
+     * @param inputStream  Input stream.
+     * @param outputStream Output stream.
+     * @throws IOException If error occurs while copying.
+     */
+    private static void copy(final InputStream inputStream, final OutputStream outputStream) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+    }
+
+    //endregion
+}
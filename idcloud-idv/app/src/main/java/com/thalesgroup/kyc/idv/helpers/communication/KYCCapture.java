@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers.communication;
+
+import com.thalesgroup.idv.sdk.nfc.CaptureResult;
+import com.thalesgroup.kyc.idv.helpers.DataContainer;
+import com.thalesgroup.kyc.idv.helpers.KYCStoredData;
+
+/**
+ * Captured data of a single verification session.
+ *
+ * The data is taken from {@code DataContainer} when the verification is submitted, so that the next capture does not
+ * alter a verification which is still in progress. The stored data is referenced until {@link #release()}.
+ */
+final class KYCCapture {
+
+    //region Definition
+
+    private final KYCStoredData mDocFront;
+    private final KYCStoredData mDocBack;
+    private final KYCStoredData mEnhancedSelfieJson;
+    private final CaptureResult mNfcResult;
+    private boolean mReleased;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code KYCCapture} instance with the current content of the data container.
+     *
+     * @param data Data container.
+     */
+    KYCCapture(final DataContainer data) {
+        this(data.mDocFront, data.mDocBack, data.mEnhancedSelfieJson, data.mNfcResult);
+    }
+
+    /**
+     * Creates a new {@code KYCCapture} instance.
+     *
+     * @param docFront           Front side image of the document.
+     * @param docBack            Back side image of the document or {@code null}.
+     * @param enhancedSelfieJson Enhanced liveness data or {@code null}.
+     * @param nfcResult          Chip data read over NFC or {@code null}.
+     */
+    KYCCapture(final KYCStoredData docFront,
+               final KYCStoredData docBack,
+               final KYCStoredData enhancedSelfieJson,
+               final CaptureResult nfcResult) {
+        mDocFront = retain(docFront);
+        mDocBack = retain(docBack);
+        mEnhancedSelfieJson = retain(enhancedSelfieJson);
+        mNfcResult = nfcResult;
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Gets the front side image of the document.
+     *
+     * @return Front side image or {@code null}.
+     */
+    KYCStoredData getDocFront() {
+        return mDocFront;
+    }
+
+    /**
+     * Gets the back side image of the document.
+     *
+     * @return Back side image or {@code null}.
+     */
+    KYCStoredData getDocBack() {
+        return mDocBack;
+    }
+
+    /**
+     * Gets the enhanced liveness data.
+     *
+     * @return Enhanced liveness data or {@code null}.
+     */
+    KYCStoredData getEnhancedSelfieJson() {
+        return mEnhancedSelfieJson;
+    }
+
+    /**
+     * Gets the chip data read over NFC.
+     *
+     * @return Chip data or {@code null}.
+     */
+    CaptureResult getNfcResult() {
+        return mNfcResult;
+    }
+
+    /**
+     * Releases the stored data, once the session no longer sends it. Data still referenced by {@code DataContainer}
+     * is kept for a retry.
+     */
+    synchronized void release() {
+        if (mReleased) {
+            return;
+        }
+
+        mReleased = true;
+        release(mDocFront);
+        release(mDocBack);
+        release(mEnhancedSelfieJson);
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Adds a reference to stored data.
+     *
+     * @param data Stored data or {@code null}.
+     * @return {@code data}.
+     */
+    private static KYCStoredData retain(final KYCStoredData data) {
+        return data != null ? data.retain() : null;
+    }
+
+    /**
+     * Releases a reference to stored data.
+     *
+     * @param data Stored data or {@code null}.
+     */
+    private static void release(final KYCStoredData data) {
+        if (data != null) {
+            data.release();
+        }
+    }
+
+    //endregion
+}
@@ -27,14 +27,13 @@
 
 package com.thalesgroup.kyc.idv.helpers.communication;
 
+import android.util.JsonReader;
+
 import androidx.annotation.NonNull;
 
 import com.thalesgroup.kyc.idv.helpers.util.JsonUtil;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
-
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -59,25 +58,60 @@ public class KYCChipAction {
     /**
      * Creates a new {@code KYCChipAction} instance.
      *
-     * @param response Response received from verification server.
-     * @throws JSONException If value not found in passed response.
+     * @param reader Reader positioned on the response received from verification server.
+     * @throws IOException If response could not be read.
      */
-    KYCChipAction(@NonNull final JSONObject response) throws JSONException {
-        mCategory = JsonUtil.jsonGetString(response, "verificationCategory", null);
-        mName = JsonUtil.jsonGetString(response, "verificationName", null);
-        mType = JsonUtil.jsonGetString(response, "verificationType", null);
-        mScore = JsonUtil.jsonGetInt(response, "score", -1);
-        mThreshold = JsonUtil.jsonGetInt(response, "threshold", -1);
-        mResultValue = JsonUtil.jsonGetInt(response, "resultValue", -1);
-
-        mOutputs = new ArrayList<>();
-        if (response.has("outputs")) {
-            final JSONArray outputs = response.getJSONArray("outputs");
-            for (int index = 0; index < outputs.length(); index++) {
-                final JSONObject loopVerify = outputs.getJSONObject(index);
-                mOutputs.add(new KYCChipActionOutput(loopVerify));
+    KYCChipAction(@NonNull final JsonReader reader) throws IOException {
+        String category = null;
+        String name = null;
+        String type = null;
+        int score = -1;
+        int threshold = -1;
+        int resultValue = -1;
+        final List<KYCChipActionOutput> outputs = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "verificationCategory":
+                    category = JsonUtil.readString(reader, null);
+                    break;
+                case "verificationName":
+                    name = JsonUtil.readString(reader, null);
+                    break;
+                case "verificationType":
+                    type = JsonUtil.readString(reader, null);
+                    break;
+                case "score":
+                    score = JsonUtil.readInt(reader, -1);
+                    break;
+                case "threshold":
+                    threshold = JsonUtil.readInt(reader, -1);
+                    break;
+                case "resultValue":
+                    resultValue = JsonUtil.readInt(reader, -1);
+                    break;
+                case "outputs":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        outputs.add(new KYCChipActionOutput(reader));
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
+        reader.endObject();
+
+        mCategory = category;
+        mName = name;
+        mType = type;
+        mScore = score;
+        mThreshold = threshold;
+        mResultValue = resultValue;
+        mOutputs = outputs;
     }
 
     //endregion
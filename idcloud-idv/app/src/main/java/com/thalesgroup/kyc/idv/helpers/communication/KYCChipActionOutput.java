@@ -27,12 +27,13 @@
 
 package com.thalesgroup.kyc.idv.helpers.communication;
 
+import android.util.JsonReader;
+
 import androidx.annotation.NonNull;
 
 import com.thalesgroup.kyc.idv.helpers.util.JsonUtil;
 
-import org.json.JSONException;
-import org.json.JSONObject;
+import java.io.IOException;
 
 /**
  * Model class for a Chip (NFC) action output.
@@ -51,13 +52,36 @@ public class KYCChipActionOutput {
     /**
      * Creates a new {@code KYCChipActionOutput} instance.
      *
-     * @param response Response received from verification server.
-     * @throws JSONException If value not found in passed response.
+     * @param reader Reader positioned on the response received from verification server.
+     * @throws IOException If response could not be read.
      */
-    KYCChipActionOutput(@NonNull final JSONObject response) throws JSONException {
-        mName = JsonUtil.jsonGetString(response, "name", null);
-        mBase64Image = JsonUtil.jsonGetString(response, "base64Image", null);
-        mText = JsonUtil.jsonGetString(response, "text", null);
+    KYCChipActionOutput(@NonNull final JsonReader reader) throws IOException {
+        String name = null;
+        String base64Image = null;
+        String text = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    name = JsonUtil.readString(reader, null);
+                    break;
+                case "base64Image":
+                    base64Image = JsonUtil.readString(reader, null);
+                    break;
+                case "text":
+                    text = JsonUtil.readString(reader, null);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        mName = name;
+        mBase64Image = base64Image;
+        mText = text;
     }
 
     //endregion
@@ -27,14 +27,13 @@
 
 package com.thalesgroup.kyc.idv.helpers.communication;
 
+import android.util.JsonReader;
+
 import androidx.annotation.NonNull;
 
 import com.thalesgroup.kyc.idv.helpers.util.JsonUtil;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
-
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -55,21 +54,36 @@ public class KYCChipNfc {
     /**
      * Creates a new {@code KYCChipNfc} instance.
      *
-     * @param response
-     *         JSON response received from verification backend.
-     * @throws JSONException If value not found in passed response.
+     * @param reader
+     *         Reader positioned on the JSON response received from verification backend.
+     * @throws IOException If response could not be read.
      */
-    KYCChipNfc(@NonNull final JSONObject response) throws JSONException {
-        mChipOutput = JsonUtil.jsonGetString(response, "chipOutput", "");
-
-        mActions = new ArrayList<>();
-        if (response.has("actions")) {
-            final JSONArray actions = response.getJSONArray("actions");
-            for (int index = 0; index < actions.length(); index++) {
-                final JSONObject loopVerify = actions.getJSONObject(index);
-                mActions.add(new KYCChipAction(loopVerify));
+    KYCChipNfc(@NonNull final JsonReader reader) throws IOException {
+        String chipOutput = "";
+        final List<KYCChipAction> actions = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "chipOutput":
+                    chipOutput = JsonUtil.readString(reader, "");
+                    break;
+                case "actions":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        actions.add(new KYCChipAction(reader));
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
+        reader.endObject();
+
+        mChipOutput = chipOutput;
+        mActions = actions;
     }
 
     //endregion
@@ -1,7 +1,13 @@
 package com.thalesgroup.kyc.idv.helpers.communication;
 
+import android.os.Handler;
+import android.os.Looper;
+
 import com.thalesgroup.kyc.idv.helpers.DataContainer;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 public class KYCCommScheduler {
     public static final int SUCCESS = 0;
     public static final int SENDING_DOC = 1;
@@ -10,12 +16,52 @@ public class KYCCommScheduler {
     public static final int FAILURE = 4;
     public static final int FAILURE_RETRY = 5;
     public static final int FAILURE_ABORT = 6;
+    public static final int CANCELLED = 7;
+
+    /**
+     * Listener notified on the main thread each time the scheduler state changes.
+     */
+    public interface StateListener {
+        /**
+         * Called with the new scheduler state.
+         *
+         * @param state One of the scheduler state constants.
+         */
+        void onStateChanged(int state);
+    }
+
+    private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
+    private static final List<StateListener> sListeners = new CopyOnWriteArrayList<>();
 
     private static KYCCommunication mKYCCommunication;
-    private static int mState = SUCCESS;
-    private static KYCResponse mResponse;
-    private static String mError;
-    private static int mRetryStep;
+    private static KYCSession sSession;
+    private static volatile int mState = SUCCESS;
+    private static volatile KYCResponse mResponse;
+    private static volatile String mError;
+    private static volatile int mRetryStep;
+
+    /**
+     * Registers a state listener. The current state is replayed to the listener right away,
+     * so late subscribers do not miss a transition which happened before they registered.
+     *
+     * @param listener Listener to register.
+     */
+    public static void addListener(final StateListener listener) {
+        if (!sListeners.contains(listener)) {
+            sListeners.add(listener);
+        }
+
+        dispatch(listener, mState);
+    }
+
+    /**
+     * Unregisters a state listener. Pending notifications are not delivered anymore.
+     *
+     * @param listener Listener to unregister.
+     */
+    public static void removeListener(final StateListener listener) {
+        sListeners.remove(listener);
+    }
 
     public static void sendData(int step) {
         boolean isIncremental = false;
@@ -24,21 +70,21 @@ public class KYCCommScheduler {
         mKYCCommunication = DataContainer.instance().mKYCCommunication;
 
         if (step == KYCCommunication.STEP_START_DOC_VERIFICATION) {
-            mState = SENDING_DOC;
+            setState(SENDING_DOC);
             isIncremental = true;
         }
         else if (step == KYCCommunication.STEP_SELFIE_VERIFICATION) {
-            mState = SENDING_SELFIE;
+            setState(SENDING_SELFIE);
             isIncremental = false;
         }
 
-        mKYCCommunication.verifyDocument(new KYCSession.KYCResponseHandler() {
+        sSession = mKYCCommunication.verifyDocument(new KYCSession.KYCResponseHandler() {
             @Override
             public void onProgress(int nbSteps, int stepNb, KYCResponse response) {
                 mResponse = response;
 
                 if (stepNb == KYCCommunication.STEP_SELFIE_VERIFICATION) {
-                    mState = WAITING_SELFIE;
+                    setState(WAITING_SELFIE);
                 }
             }
 
@@ -46,14 +92,14 @@ public class KYCCommScheduler {
             public void onSuccess(final KYCResponse response) {
                 mResponse = response;
 
-                mState = SUCCESS;
+                setState(SUCCESS);
             }
 
             @Override
             public void onFailure(final String error) {
                 mError = error;
 
-                mState = FAILURE;
+                setState(FAILURE);
             }
 
             @Override
@@ -61,18 +107,50 @@ public class KYCCommScheduler {
                 mError = error;
                 mRetryStep = retryStep;
 
-                mState = FAILURE_RETRY;
+                setState(FAILURE_RETRY);
             }
 
             @Override
             public void onFailureAbort(final String error) {
                 mError = error;
 
-                mState = FAILURE_ABORT;
+                setState(FAILURE_ABORT);
+            }
+
+            @Override
+            public void onCancelled() {
+                setState(CANCELLED);
             }
         }, isIncremental, step);
     }
 
+    /**
+     * Cancels the verification in progress. Listeners are notified with {@link #CANCELLED}.
+     */
+    public static void cancel() {
+        if (sSession != null && (mState == SENDING_DOC || mState == SENDING_SELFIE)) {
+            sSession.cancel();
+        }
+    }
+
+    private static void setState(final int state) {
+        mState = state;
+
+        for (final StateListener listener : sListeners) {
+            dispatch(listener, state);
+        }
+    }
+
+    private static void dispatch(final StateListener listener, final int state) {
+        // Always post, so that listeners are notified in order and never re-entered from
+        // within their own callback (e.g. when sending the selfie on WAITING_SELFIE).
+        sMainHandler.post(() -> {
+            if (sListeners.contains(listener)) {
+                listener.onStateChanged(state);
+            }
+        });
+    }
+
     public static int getState() {
         return mState;
     }
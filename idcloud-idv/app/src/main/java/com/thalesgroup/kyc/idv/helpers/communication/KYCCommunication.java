@@ -27,31 +27,27 @@
 
 package com.thalesgroup.kyc.idv.helpers.communication;
 
-import android.util.Base64;
 import android.util.Log;
 
-import com.aware.face_liveness.yy.c;
 import com.thalesgroup.idv.sdk.nfc.CaptureResult;
 import com.thalesgroup.kyc.idv.BuildConfig;
 import com.thalesgroup.kyc.idv.helpers.DataContainer;
 import com.thalesgroup.kyc.idv.helpers.KYCConfiguration;
 import com.thalesgroup.kyc.idv.helpers.KYCManager;
-import com.thalesgroup.kyc.idv.helpers.util.ImageUtil;
-import com.thalesgroup.kyc.idv.helpers.util.JsonUtil;
+import com.thalesgroup.kyc.idv.helpers.KYCStoredData;
 
-import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.Iterator;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static com.thalesgroup.kyc.idv.helpers.KYCManager.KYC_QR_CODE_VERSION_KYC2;
 
@@ -69,9 +65,9 @@ public class KYCCommunication {
     private static final String STATE_FAILURE = "Failure";
     private static final String STATE_ERROR = "Error";
 
-    private static KYCSession mSession;
-    private static int mCurrentStep = 1;
-    private static boolean mIsIncremental = false;
+    private KYCSession mSession;
+    private static KYCTransport sTransport;
+    private final KYCTransport mTransport;
 
     /**
      * Response callback.
@@ -81,10 +77,30 @@ public class KYCCommunication {
         /**
          * Finish callback method.
          *
-         * @param response Response.
+         * @param response Response, {@code null} if failed or empty.
          * @param error    Error.
          */
-        void onFinished(String response, String error);
+        void onFinished(KYCServerResponse response, String error);
+    }
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code KYCCommunication} instance sending its requests through the shared transport.
+     */
+    public KYCCommunication() {
+        this(null);
+    }
+
+    /**
+     * Creates a new {@code KYCCommunication} instance.
+     *
+     * @param transport Transport of the requests sent by this instance, {@code null} for the shared transport.
+     */
+    KYCCommunication(final KYCTransport transport) {
+        mTransport = transport;
     }
 
     //endregion
@@ -96,23 +112,26 @@ public class KYCCommunication {
      *
      * @param handler  Callback.
      * @param startStep  Step to start scenario.
+     * @return Session of the verification, which can be cancelled on its own while other verifications are running.
      */
-    public void verifyDocument(final KYCSession.KYCResponseHandler handler, boolean isIncremental, int startStep) {
-        mIsIncremental = isIncremental;
-
-        // Prepare session.
+    public KYCSession verifyDocument(final KYCSession.KYCResponseHandler handler, boolean isIncremental, int startStep) {
+        // Prepare session. Each verification has its own session, previous ones keep running independently.
         if (startStep == STEP_START_DOC_VERIFICATION) {
-            mSession = new KYCSession(KYCManager.getInstance().getBaseUrl(), handler);
+            final KYCSession session = new KYCSession(KYCManager.getInstance().getBaseUrl(),
+                                                      new KYCCapture(DataContainer.instance()),
+                                                      handler);
+            session.setIncremental(isIncremental);
+            mSession = session;
 
             // IDV mode
             if (!KYCManager.getInstance().isFacialRecognition()) {
                 // NFC mode
                 if (KYCManager.getInstance().isNfcMode()) {
-                    idv_verifyNfc();
+                    idv_verifyNfc(session);
                 }
                 // OCR mode
                 else {
-                    idv_verifyDocument();
+                    idv_verifyDocument(session);
                 }
             }
 
@@ -120,23 +139,95 @@ public class KYCCommunication {
             else {
                 // NFC mode
                 if (KYCManager.getInstance().isNfcMode()) {
-                    idv_verifyNfc();
+                    idv_verifyNfc(session);
                 }
                 // OCR mode
                 else {
-                    aware_verifyDocument();
+                    aware_verifyDocument(session);
                 }
             }
         }
         else if (startStep == STEP_SELFIE_VERIFICATION) {
-            mSession.setHandler(handler);
+            final KYCSession session = mSession;
+            session.setHandler(handler);
+            session.setIncremental(isIncremental);
+            // Selfie is captured after the document verification was started.
+            session.setCapture(new KYCCapture(DataContainer.instance()));
+
+            aware_verifyFaceStep(session);
+        }
+
+        return mSession;
+    }
+
+    /**
+     * Creates the session of a capture which is verified without going through {@code DataContainer}.
+     *
+     * @param capture Captured data.
+     * @param handler Callback.
+     * @return Session of the verification, started by {@link #verifyCapture(KYCSession)}.
+     */
+    KYCSession createSession(final KYCCapture capture, final KYCSession.KYCResponseHandler handler) {
+        return new KYCSession(KYCManager.getInstance().getBaseUrl(), capture, handler);
+    }
+
+    /**
+     * Sends the capture of a session to the verification backend. Several captures may be verified at the same
+     * time, the latest verification used by the UI flow is not affected.
+     *
+     * @param session Session created by {@link #createSession(KYCCapture, KYCSession.KYCResponseHandler)}.
+     */
+    void verifyCapture(final KYCSession session) {
+        session.setIncremental(false);
+
+        if (KYCManager.getInstance().isFacialRecognition()) {
+            aware_verifyDocument(session);
+        } else {
+            idv_verifyDocument(session);
+        }
+    }
+
+    /**
+     * Sets the transport used to communicate with the verification backend.
+     *
+     * @param transport Transport.
+     */
+    public static synchronized void setTransport(final KYCTransport transport) {
+        sTransport = transport;
+    }
+
+    /**
+     * Gets the transport used to communicate with the verification backend.
+     *
+     * @return Transport shared by all the verification steps.
+     */
+    public static synchronized KYCTransport getTransport() {
+        if (sTransport == null) {
+            sTransport = new KYCHttpTransport(KYCConfiguration.IDCLOUD_TRANSPORT_POOL_SIZE);
+        }
+
+        return sTransport;
+    }
+
+    /**
+     * Opens a connection to the configured verification backend ahead of the first request. Safe to call often, the
+     * transport ignores the call while the connection is warm.
+     */
+    public static void warmUp() {
+        final String baseUrl = KYCManager.getInstance().getBaseUrl();
+        if (baseUrl == null || baseUrl.isEmpty()) {
+            return;
+        }
 
-            aware_verifyFaceStep();
+        try {
+            getTransport().warmUp(new URL(baseUrl));
+        } catch (final MalformedURLException exception) {
+            // Nothing to warm up, the verification reports the error.
         }
     }
 
     /**
-     * Removes the callback listener.
+     * Removes the callback listener of the latest verification.
      */
     public void removeListener() {
         if (mSession != null) {
@@ -144,657 +235,515 @@ public class KYCCommunication {
         }
     }
 
+    /**
+     * Cancels the latest verification, if still in progress: the active connection is aborted, scheduled polls are stopped and the
+     * request payload is released. The handler is notified with {@link KYCSession.KYCResponseHandler#onCancelled()}.
+     */
+    public void cancel() {
+        if (mSession != null) {
+            mSession.cancel();
+        }
+    }
+
     //endregion
 
     //region Private Helpers
 
     /**
      * IDV - Sends the document and face images to the verification backend for verification.
+     *
+     * @param session Verification session.
      */
-    private void idv_verifyDocument() {
-        mCurrentStep = 1;
+    private void idv_verifyDocument(final KYCSession session) {
+        session.setCurrentStep(1);
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getBaseUrl());
-            connection.setDoOutput(true);
-            connection.setRequestMethod("POST");
+            // Build post JSON
+            final KYCRequestBody body = idv_createVerificationJSON(session.getCapture().getDocFront(),
+                                                                   session.getCapture().getDocBack());
+
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_POST, session.getBaseUrl(), body);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
+                Log.w("KYC", "URL: " + request.getUrl().toString());
             }
 
-            // Build post JSON
-            final JSONObject json = idv_createVerificationJSON(DataContainer.instance().mDocFront,
-                                                               DataContainer.instance().mDocBack);
-
-            // Send request in a new Thread and handle response
-            getConnectionResponse(json, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, (res, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
-                if (response != null) {
-                    try {
-                        // Parse server response and get session id.
-                        final JSONObject res = new JSONObject(response);
-                        final String sessionId = res.getString("id");
+                if (res != null) {
+                    final String sessionId = res.getId();
 
-                        // Failed to get valid operation session id.
-                        if (sessionId == null || sessionId.isEmpty()) {
-                            mSession.handleError("Failed to get valid session id.");
-                            return;
-                        }
-
-                        // Pass get the session id to current session and continue.
-                        mSession.updateWithSessionId(sessionId);
-                        // Call it directly so we don't have to deal with sync.
-                        idv_pollingDocResultStep(0);
-                    } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
+                    // Failed to get valid operation session id.
+                    if (sessionId == null || sessionId.isEmpty()) {
+                        session.handleError("Failed to get valid session id.");
+                        return;
                     }
+
+                    // Pass get the session id to current session and continue.
+                    session.updateWithSessionId(sessionId);
+                    // Call it directly so we don't have to deal with sync.
+                    idv_pollingDocResultStep(session, new KYCPoller());
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
 
         } catch (final IOException | JSONException exception) {
             // Communication / json parsing issue.
-            mSession.handleError(exception.getLocalizedMessage());
+            session.handleError(exception.getLocalizedMessage());
         }
     }
 
     /**
      * IDV - Starts the second verification step with the verification backend.
+     *
+     * @param session Verification session.
      */
-    private void idv_pollingDocResultStep(int counter) {
-        mCurrentStep = 2;
+    private void idv_pollingDocResultStep(final KYCSession session, final KYCPoller poller) {
+        session.setCurrentStep(2);
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getUrlWithSessionId());
-            connection.setRequestMethod("GET");
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_GET, session.getUrlWithSessionId(), null);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
-                Log.w("KYC", "Try #" + (counter + 1));
+                Log.w("KYC", "URL: " + request.getUrl().toString());
+                Log.w("KYC", "Try #" + poller.getAttempt());
             }
 
-            // Send request in a new Thread and handle response
-            getConnectionResponse(null, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, poller, (res, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
-                if (response != null) {
+                if (res != null) {
                     try {
-                        // Parse server response and get session id.
-                        final JSONObject res = new JSONObject(response);
-                        final String status = res.getString("status");
+                        final String status = res.getStatus();
 
                         // Server operation still running.
                         if (status != null && status.equalsIgnoreCase(STATE_RUNNING)) {
-                            if (counter > KYCConfiguration.IDCLOUD_NUMBER_OF_RETRIES) {
-                                mSession.handleError("Failed to Poll final result, numbers of retries was reached.");
-                            }
-                            else {
-                                Thread.sleep(KYCConfiguration.IDCLOUD_RETRY_DELAY_SEC * 1000);
-
-                                idv_pollingDocResultStep(counter + 1);
+                            if (!poller.scheduleNext(() -> idv_pollingDocResultStep(session, poller))) {
+                                session.handleError("Failed to Poll final result, polling timeout was reached.");
                             }
                         }
                         // Server operation is finished.
                         else if (status != null && status.equalsIgnoreCase(STATE_FINISHED)) {
-                            final KYCResponse result = new KYCResponse(res.getJSONObject("state").getJSONObject("result"));
-                            final int statusCode = res.getJSONObject("state").getJSONObject("result").getInt("code");
-                            final String message = res.getJSONObject("state").getJSONObject("result").getString("message");
-
-                            // Specific error management for doc verification
-                            if (  (statusCode >= 4600)
-                                &&(statusCode <= 4604)) {
-                                mSession.handleErrorRetry(KYCManager.getInstance().getErrorMessage(String.valueOf(statusCode), message), KYCSession.RETRY_DOC_SCAN);
-                            }
-                            else {
-                                mSession.handleResult(result);
-                            }
+                            handleVerificationResult(session, KYCResultRules.DOC_RESULT, status, res.getResult());
                         }
-                        else{
-                            final int statusCode = res.getJSONObject("state").getJSONObject("result").getInt("code");
-                            final String message = res.getJSONObject("state").getJSONObject("result").getString("message");
-
-                            // Specific error management for doc verification
-                            if (  (statusCode >= 4600)
-                                &&(statusCode <= 4604)) {
-                                mSession.handleErrorRetry(KYCManager.getInstance().getErrorMessage(String.valueOf(statusCode), message), KYCSession.RETRY_DOC_SCAN);
-                            }
-
-                            // Specific error management for unrecognized doc
-                            else if (statusCode == 5301) {
-                                mSession.handleErrorRetry(KYCManager.getInstance().getErrorMessage(String.valueOf(statusCode), message), KYCSession.RETRY_DOC_SCAN);
-                            }
-
-                            // Default error display
-                            else {
-                                mSession.handleErrorRetry("Status: " + status +
-                                                "\nCode: " + statusCode +
-                                                "\n" + KYCManager.getInstance().getErrorMessage(""+ statusCode, message),
-                                        KYCSession.RETRY_DOC_SCAN);
-                            }
+                        else {
+                            handleVerificationResult(session, KYCResultRules.DOC_FAILURE, status, res.getResult());
                         }
-                    } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
-                    } catch (InterruptedException exception) {
-                        mSession.handleErrorAbort(exception.toString());
+                    } catch (final IOException exception) {
+                        session.handleErrorAbort(exception.getLocalizedMessage());
                     }
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
         } catch (final IOException exception) {
             // Communication / json parsing issue.
-            mSession.handleErrorAbort(exception.getLocalizedMessage());
+            session.handleErrorAbort(exception.getLocalizedMessage());
         }
     }
 
     /**
      * IDV - Sends the document NFC data to the verification backend for verification.
+     *
+     * @param session Verification session.
      */
-    private void idv_verifyNfc() {
-        mCurrentStep = 1;
+    private void idv_verifyNfc(final KYCSession session) {
+        session.setCurrentStep(1);
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getBaseUrl());
-            connection.setDoOutput(true);
-            connection.setRequestMethod("POST");
+            // Build post JSON
+            final KYCRequestBody body = new KYCRequestBody(idv_createNfcVerificationJSON(session.getCapture().getNfcResult()));
+
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_POST, session.getBaseUrl(), body);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
+                Log.w("KYC", "URL: " + request.getUrl().toString());
             }
 
-            // Build post JSON
-            final JSONObject json = idv_createNfcVerificationJSON(DataContainer.instance().mNfcResult);
-
-            // Send request in a new Thread and handle response
-            getConnectionResponse(json, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, (res, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
-                if (response != null) {
-                    try {
-                        // Parse server response and get session id.
-                        final JSONObject res = new JSONObject(response);
-                        final String sessionId = res.getString("id");
-
-                        // Failed to get valid operation session id.
-                        if (sessionId == null || sessionId.isEmpty()) {
-                            mSession.handleError("Failed to get valid session id.");
-                            return;
-                        }
+                if (res != null) {
+                    final String sessionId = res.getId();
 
-                        // Pass get the session id to current session and continue.
-                        mSession.updateWithSessionId(sessionId);
-                        // Call it directly so we don't have to deal with sync.
-                        idv_pollingNfcResultStep(0);
-                    } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
+                    // Failed to get valid operation session id.
+                    if (sessionId == null || sessionId.isEmpty()) {
+                        session.handleError("Failed to get valid session id.");
+                        return;
                     }
+
+                    // Pass get the session id to current session and continue.
+                    session.updateWithSessionId(sessionId);
+                    // Call it directly so we don't have to deal with sync.
+                    idv_pollingNfcResultStep(session, new KYCPoller());
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
 
         } catch (final IOException | JSONException exception) {
             // Communication / json parsing issue.
-            mSession.handleError(exception.getLocalizedMessage());
+            session.handleError(exception.getLocalizedMessage());
         }
     }
 
     /**
      * IDV - Starts the second verification step (NFC) with the verification backend.
+     *
+     * @param session Verification session.
      */
-    private void idv_pollingNfcResultStep(int counter) {
-        mCurrentStep = 2;
+    private void idv_pollingNfcResultStep(final KYCSession session, final KYCPoller poller) {
+        session.setCurrentStep(2);
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getUrlWithSessionId());
-            connection.setRequestMethod("GET");
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_GET, session.getUrlWithSessionId(), null);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
-                Log.w("KYC", "Try #" + (counter + 1));
+                Log.w("KYC", "URL: " + request.getUrl().toString());
+                Log.w("KYC", "Try #" + poller.getAttempt());
             }
 
-            // Send request in a new Thread and handle response
-            getConnectionResponse(null, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, poller, (res, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
-                if (response != null) {
+                if (res != null) {
                     try {
-                        // Parse server response and get session id.
-                        final JSONObject res = new JSONObject(response);
-                        final String status = res.getString("status");
+                        final String status = res.getStatus();
 
                         // Server operation still running.
                         if (status != null && status.equalsIgnoreCase(STATE_RUNNING)) {
-                            if (counter > KYCConfiguration.IDCLOUD_NUMBER_OF_RETRIES) {
-                                mSession.handleError("Failed to Poll final result, numbers of retries was reached.");
-                            }
-                            else {
-                                Thread.sleep(KYCConfiguration.IDCLOUD_RETRY_DELAY_SEC * 1000);
-
-                                idv_pollingNfcResultStep(counter + 1);
+                            if (!poller.scheduleNext(() -> idv_pollingNfcResultStep(session, poller))) {
+                                session.handleError("Failed to Poll final result, polling timeout was reached.");
                             }
                         }
                         // Server operation is finished.
                         else if (status != null && status.equalsIgnoreCase(STATE_FINISHED)) {
-                            final KYCResponse result = new KYCResponse(res.getJSONObject("state").getJSONObject("result"));
+                            final KYCResponse result = res.getResult();
 
-                            mSession.handleResult(result);
+                            session.handleResult(result);
                         }
                         else if (status != null && status.equalsIgnoreCase(STATE_WAITING)) {
-                            JSONObject tmpResponse = res.getJSONObject("state").getJSONObject("result");
-
-                            if (tmpResponse.has("object")) {
-                                final JSONObject object = tmpResponse.getJSONObject("object");
+                            final KYCResponse result = res.getResult();
 
-                                // Hack to store intermediate response
-                                if (object.has("chipResult")) {
-                                    DataContainer.instance().mIdvChipResult = object.getJSONObject("chipResult").toString();
-                                }
+                            // Keep intermediate chip data for the final response.
+                            if (result.getChipNfc() != null) {
+                                session.setChipNfc(result.getChipNfc());
                             }
-                            if (!mIsIncremental) {
-                                aware_verifyFaceStep();
+                            if (!session.isIncremental()) {
+                                aware_verifyFaceStep(session);
                             }
                             else {
-                                final KYCResponse result = new KYCResponse(res.getJSONObject("state").getJSONObject("result"));
-                                mSession.handleProgress(2, STEP_SELFIE_VERIFICATION, result);
+                                session.handleProgress(2, STEP_SELFIE_VERIFICATION, result);
                             }
                         }
-                        else{
-                            final int statusCode = res.getJSONObject("state").getJSONObject("result").getInt("code");
-                            final String message = res.getJSONObject("state").getJSONObject("result").getString("message");
-                            mSession.handleErrorRetry("Status: " + status +
-                                            "\nCode: " + statusCode +
-                                            "\n" + KYCManager.getInstance().getErrorMessage(""+ statusCode, message),
-                                    KYCSession.RETRY_DOC_SCAN);
+                        else {
+                            handleVerificationResult(session, KYCResultRules.FAILURE, status, res.getResult());
                         }
-                    } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
-                    } catch (InterruptedException exception) {
-                        mSession.handleErrorAbort(exception.toString());
+                    } catch (final IOException exception) {
+                        session.handleErrorAbort(exception.getLocalizedMessage());
                     }
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
         } catch (final IOException exception) {
             // Communication / json parsing issue.
-            mSession.handleErrorAbort(exception.getLocalizedMessage());
+            session.handleErrorAbort(exception.getLocalizedMessage());
         }
     }
 
     /**
      * Aware - Sends the document and face images to the verification backend for verification.
+     *
+     * @param session Verification session.
      */
-    private void aware_verifyDocument() {
-        mCurrentStep = 1;
+    private void aware_verifyDocument(final KYCSession session) {
+        session.setCurrentStep(1);
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getBaseUrl());
-            connection.setDoOutput(true);
-            connection.setRequestMethod("POST");
+            // Build post JSON
+            final KYCRequestBody body = aware_createVerificationJSON(session.getCapture().getDocFront(), session.getCapture().getDocBack());
+
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_POST, session.getBaseUrl(), body);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
+                Log.w("KYC", "URL: " + request.getUrl().toString());
             }
 
-            // Build post JSON
-            final JSONObject json = aware_createVerificationJSON(DataContainer.instance().mDocFront, DataContainer.instance().mDocBack);
-
-            // Send request in a new Thread and handle response
-            getConnectionResponse(json, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, (res, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
-                if (response != null) {
-                    try {
-                        // Parse server response and get session id.
-                        final JSONObject res = new JSONObject(response);
-                        final String sessionId = res.getString("id");
+                if (res != null) {
+                    final String sessionId = res.getId();
 
-                        // Failed to get valid operation session id.
-                        if (sessionId == null || sessionId.isEmpty()) {
-                            mSession.handleError("Failed to get valid session id.");
-                            return;
-                        }
+                    // Failed to get valid operation session id.
+                    if (sessionId == null || sessionId.isEmpty()) {
+                        session.handleError("Failed to get valid session id.");
+                        return;
+                    }
 
-                        // Pass get the session id to current session and continue.
-                        mSession.updateWithSessionId(sessionId);
+                    // Pass get the session id to current session and continue.
+                    session.updateWithSessionId(sessionId);
 
-                        // Call it directly so we don't have to deal with sync.
-                        aware_pollingDocResultStep(0);
-                    } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
-                    }
+                    // Call it directly so we don't have to deal with sync.
+                    aware_pollingDocResultStep(session, new KYCPoller());
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
 
         } catch (final IOException | JSONException exception) {
             // Communication / json parsing issue.
-            mSession.handleErrorAbort(exception.getLocalizedMessage());
+            session.handleErrorAbort(exception.getLocalizedMessage());
         }
     }
 
     /**
      * Aware - Polling for face verification & enhanced liveness.
      *
-     *  @param counter Polling counter.
+     *  @param session Verification session.
+     *  @param poller Polling scheduler.
      *
      * */
-    private void aware_pollingDocResultStep(int counter) {
-        mCurrentStep = 2;
+    private void aware_pollingDocResultStep(final KYCSession session, final KYCPoller poller) {
+        session.setCurrentStep(2);
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getUrlWithSessionId());
-            connection.setRequestMethod("GET");
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_GET, session.getUrlWithSessionId(), null);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
-                Log.w("KYC", "Try #" + (counter + 1));
+                Log.w("KYC", "URL: " + request.getUrl().toString());
+                Log.w("KYC", "Try #" + poller.getAttempt());
             }
 
-            // Send request in a new Thread and handle response
-            getConnectionResponse(null, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, poller, (res, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
-                if (response != null) {
+                if (res != null) {
                     try {
-                        // Parse server response and get session id.
-                        final JSONObject res = new JSONObject(response);
-                        final String status = res.getString("status");
+                        final String status = res.getStatus();
 
                         // Server operation still running.
                         if (status != null && status.equalsIgnoreCase(STATE_RUNNING)) {
-                            if (counter > KYCConfiguration.IDCLOUD_NUMBER_OF_RETRIES) {
-                                mSession.handleError("Failed to Poll final result, numbers of retries was reached.");
-                            }
-                            else {
-                                Thread.sleep(KYCConfiguration.IDCLOUD_RETRY_DELAY_SEC * 1000);
-
-                                aware_pollingDocResultStep(counter + 1);
+                            if (!poller.scheduleNext(() -> aware_pollingDocResultStep(session, poller))) {
+                                session.handleError("Failed to Poll final result, polling timeout was reached.");
                             }
                         }
                         // Server operation is finished.
                         else if (status != null && status.equalsIgnoreCase(STATE_FINISHED)) {
-                            final KYCResponse result = new KYCResponse(res.getJSONObject("state").getJSONObject("result"));
-                            mSession.handleResult(result);
+                            final KYCResponse result = res.getResult();
+                            session.handleResult(result);
                         }
                         else if (status != null && status.equalsIgnoreCase(STATE_WAITING)) {
-                            if (!mIsIncremental) {
-                                aware_verifyFaceStep();
+                            if (!session.isIncremental()) {
+                                aware_verifyFaceStep(session);
                             }
                             else {
-                                final KYCResponse result = new KYCResponse(res.getJSONObject("state").getJSONObject("result"));
+                                final KYCResponse result = res.getResult();
 
-                                mSession.handleProgress(2, STEP_SELFIE_VERIFICATION, result);
+                                session.handleProgress(2, STEP_SELFIE_VERIFICATION, result);
                             }
                         }
-                        else{
-                            final int statusCode = res.getJSONObject("state").getJSONObject("result").getInt("code");
-                            final String message = res.getJSONObject("state").getJSONObject("result").getString("message");
-                            mSession.handleErrorRetry("Status: " + status +
-                                            "\nCode: " + statusCode +
-                                            "\n" + KYCManager.getInstance().getErrorMessage(""+ statusCode, message),
-                                    KYCSession.RETRY_DOC_SCAN);
+                        else {
+                            handleVerificationResult(session, KYCResultRules.FAILURE, status, res.getResult());
                         }
-                    } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
-                    } catch (InterruptedException exception) {
-                        mSession.handleErrorAbort(exception.toString());
+                    } catch (final IOException exception) {
+                        session.handleErrorAbort(exception.getLocalizedMessage());
                     }
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
         } catch (final IOException exception) {
             // Communication / json parsing issue.
-            mSession.handleErrorAbort(exception.getLocalizedMessage());
+            session.handleErrorAbort(exception.getLocalizedMessage());
         }
     }
 
     /**
      * Aware - Sends data for face verification & enhanced liveness.
      *
+     * @param session Verification session.
      * */
-    private void aware_verifyFaceStep() {
-        mCurrentStep = 3;
+    private void aware_verifyFaceStep(final KYCSession session) {
+        session.setCurrentStep(3);
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getUrlEnhancedLiveness());
-            connection.setDoInput(true);
-            connection.setRequestMethod("PATCH");
+            // Build post JSON
+            final KYCRequestBody body = new KYCRequestBody(aware_enhancedLivenessJSON(session.getCapture().getEnhancedSelfieJson()));
+
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_PATCH, session.getUrlEnhancedLiveness(), body);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
+                Log.w("KYC", "URL: " + request.getUrl().toString());
             }
 
-            // Build post JSON
-            final JSONObject json = aware_enhancedLivenessJSON(DataContainer.instance().mEnhancedSelfieJson);
-
-            // Send request in a new Thread and handle response
-            getConnectionResponse(json, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, (res, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
-                if (response != null) {
+                if (res != null) {
                     try {
-                        // Parse server response and get session id.
-                        final JSONObject res = new JSONObject(response);
-                        final String sessionId = res.getString("id");
+                        final String sessionId = res.getId();
 
                         // Failed to get valid operation session id.
                         if (sessionId == null || sessionId.isEmpty()) {
-                            mSession.handleError("Failed to get valid session id.");
+                            session.handleError("Failed to get valid session id.");
                             return;
                         }
 
-                        final String status = res.getString("status");
+                        final String status = res.getStatus();
 
                         if (status != null && status.equalsIgnoreCase(STATE_FAILURE)) {
-                            final int statusCode = res.getJSONObject("state").getJSONObject("result").getInt("code");
-                            final String message = res.getJSONObject("state").getJSONObject("result").getString("message");
-                            mSession.handleErrorRetry("Status: " + status +
-                                            "\nCode: " + statusCode +
-                                            "\n" + KYCManager.getInstance().getErrorMessage(""+ statusCode, message),
-                                    KYCSession.RETRY_SELFIE_SCAN);
+                            handleVerificationResult(session, KYCResultRules.SELFIE_FAILURE, status, res.getResult());
                             return;
                         } else if (status != null && status.equalsIgnoreCase(STATE_ERROR)) {
-                            mSession.handleErrorAbort("Configuration error. Contact Thales representative.");
+                            session.handleErrorAbort("Configuration error. Contact Thales representative.");
                             return;
                         }
 
                         // Pass get the session id to current session and continue.
-                        mSession.updateWithSessionId(sessionId);
+                        session.updateWithSessionId(sessionId);
 
                         // Call it directly so we don't have to deal with sync.
-                        aware_pollingFinalResultStep(0);
-                    } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
+                        aware_pollingFinalResultStep(session, new KYCPoller());
+                    } catch (final IOException exception) {
+                        session.handleErrorAbort(exception.getLocalizedMessage());
                     }
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
 
         } catch (final IOException | JSONException exception) {
             // Communication / json parsing issue.
-            mSession.handleErrorAbort(exception.getLocalizedMessage());
+            session.handleErrorAbort(exception.getLocalizedMessage());
         }
     }
 
     /**
      * Aware - Polling for face verification & enhanced liveness.
      *
-     *  @param counter Polling counter.
+     *  @param session Verification session.
+     *  @param poller Polling scheduler.
      *
      * */
-    private void aware_pollingFinalResultStep(int counter) {
-        mCurrentStep = 4;
+    private void aware_pollingFinalResultStep(final KYCSession session, final KYCPoller poller) {
+        session.setCurrentStep(4);
 
         try {
-            // Get connection
-            final HttpURLConnection connection = getUrlConnection(mSession.getUrlEnhancedLivenessPollResult());
-            connection.setRequestMethod("GET");
+            // Prepare request
+            final KYCRequest request = createRequest(session, KYCRequest.METHOD_GET, session.getUrlEnhancedLivenessPollResult(), null);
 
             if (BuildConfig.DEBUG) {
-                Log.w("KYC", "URL: " + connection.getURL().toString());
-                Log.w("KYC", "Try #" + (counter + 1));
+                Log.w("KYC", "URL: " + request.getUrl().toString());
+                Log.w("KYC", "Try #" + poller.getAttempt());
             }
 
-            // Send request in a new Thread and handle response
-            getConnectionResponse(null, connection, (response, error) -> {
+            // Send request through the shared transport and handle response
+            getConnectionResponse(session, request, poller, (res, error) -> {
                 // Fragment/Activity which is waiting for the result is already gone, so no need to continue with request.
-                if (!mSession.isListenerRegistered()) {
+                if (!session.isListenerRegistered()) {
                     return;
                 }
 
-                if (response != null) {
+                if (res != null) {
                     try {
-                        // Parse server response and get session id.
-                        final JSONObject res = new JSONObject(response);
-                        final String status = res.getString("status");
+                        final String status = res.getStatus();
 
                         // Server operation still running.
                         if (status != null && status.equalsIgnoreCase(STATE_RUNNING)) {
-                            if (counter > KYCConfiguration.IDCLOUD_NUMBER_OF_RETRIES) {
-                                mSession.handleError("Failed to Poll final result, numbers of retries was reached.");
-                            }
-                            else {
-                                Thread.sleep(KYCConfiguration.IDCLOUD_RETRY_DELAY_SEC * 1000);
-
-                                aware_pollingFinalResultStep(counter + 1);
+                            if (!poller.scheduleNext(() -> aware_pollingFinalResultStep(session, poller))) {
+                                session.handleError("Failed to Poll final result, polling timeout was reached.");
                             }
                         }
 
                         // Server operation is finished.
                         else if (status != null && status.equalsIgnoreCase(STATE_FINISHED)) {
-                            final KYCResponse result = new KYCResponse(res.getJSONObject("state").getJSONObject("result"));
-                            mSession.handleResult(result);
+                            final KYCResponse result = res.getResult();
+                            session.handleResult(result);
                         } else {
-                            final int statusCode = res.getJSONObject("state").getJSONObject("result").getInt("code");
-                            final String message = res.getJSONObject("state").getJSONObject("result").getString("message");
-
-                            // Specific error management for passive liveness error (Poor Quality / Not Live)
-                            if (  (statusCode >= 5331)
-                                &&(statusCode <= 5333)) {
-                                final KYCResponse result = new KYCResponse(res.getJSONObject("state").getJSONObject("result"));
-
-                                if (statusCode == 5332) {
-                                    mSession.handleErrorRetry(KYCManager.getInstance().getErrorMessage("5332"), KYCSession.RETRY_SELFIE_SCAN);
-                                }
-                                else {
-                                    mSession.handleErrorRetry(KYCManager.getInstance().getErrorMessage(String.valueOf(statusCode), message), KYCSession.RETRY_SELFIE_SCAN);
-                                }
-                            }
-
-                            // Specific error management for doc verification
-                            else if (  (statusCode >= 4600)
-                                     &&(statusCode <= 4604)) {
-                                mSession.handleErrorRetry(KYCManager.getInstance().getErrorMessage(String.valueOf(statusCode), message), KYCSession.RETRY_DOC_SCAN);
-                            }
-
-                            // Specific error management for face verification
-                            else if (  (  (statusCode >= 4610)
-                                        &&(statusCode <= 4612)
-                                       )
-                                     ||(  (statusCode == 0)
-                                        &&(res.getJSONObject("state").getJSONObject("result").getJSONObject("object") != null)
-                                        &&(res.getJSONObject("state").getJSONObject("result").getJSONObject("object").getJSONObject("face") != null)
-                                        &&(res.getJSONObject("state").getJSONObject("result").getJSONObject("object").getJSONObject("face").getString("result").toUpperCase().equals("MATCH_NEGATIVE"))
-                                       )
-                                    ) {
-                                    mSession.handleErrorRetry(KYCManager.getInstance().getErrorMessage(String.valueOf(statusCode), message), KYCSession.RETRY_SELFIE_SCAN);
-                            }
-
-                            // Specific error management for unrecognized doc
-                            else if (statusCode == 5301) {
-                                mSession.handleErrorRetry(KYCManager.getInstance().getErrorMessage(String.valueOf(statusCode), message), KYCSession.RETRY_DOC_SCAN);
-                            }
-
-                            // Default error display
-                            else {
-                                mSession.handleErrorRetry("Status: " + status +
-                                                "\nCode: " + statusCode +
-                                                "\n" + KYCManager.getInstance().getErrorMessage(""+ statusCode, message),
-                                        KYCSession.RETRY_DOC_SCAN);
-                            }
+                            handleVerificationResult(session, KYCResultRules.FACE_FAILURE, status, res.getResult());
                         }
-                    } catch (final JSONException exception) {
-                        mSession.handleErrorAbort(exception.getLocalizedMessage());
-                    } catch (InterruptedException exception) {
-                        mSession.handleErrorAbort(exception.toString());
+                    } catch (final IOException exception) {
+                        session.handleErrorAbort(exception.getLocalizedMessage());
                     }
                 } else if (error != null) {
                     // Direct communication error.
-                    mSession.handleErrorAbort(error);
+                    session.handleErrorAbort(error);
                 } else {
                     // Unknown state. Successful communication with empty result.
-                    mSession.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
+                    session.handleErrorAbort(KYCManager.getInstance().getErrorMessage("9919", null));
                 }
             });
 
         } catch (final IOException exception) {
             // Communication / json parsing issue.
-            mSession.handleErrorAbort(exception.getLocalizedMessage());
+            session.handleErrorAbort(exception.getLocalizedMessage());
         }
     }
 
@@ -803,18 +752,20 @@ public class KYCCommunication {
      *
      * @param docFront Front side of document.
      * @param docBack  Back side of document.
-     * @return JSON representation of the data.
+     * @return Body with JSON representation of the data, images are streamed when the body is written.
      * @throws JSONException If error occured while setting up JSON object.
      */
-    private JSONObject idv_createVerificationJSON(final byte[] docFront,
-                                                  final byte[] docBack) throws JSONException {
+    private KYCRequestBody idv_createVerificationJSON(final KYCStoredData docFront,
+                                                      final KYCStoredData docBack) throws JSONException {
+        final KYCRequestBody body = new KYCRequestBody();
+
         // Build document node with front and back side.
         final JSONObject document = new JSONObject();
         if (docFront != null) {
-            document.put("front", ImageUtil.base64FromImage(docFront));
+            document.put("front", body.attachBinary(docFront));
         }
         if (docBack != null) {
-            document.put("back", ImageUtil.base64FromImage(docBack));
+            document.put("back", body.attachBinary(docBack));
         }
         document.put("captureMethod", "SDK");
 
@@ -832,7 +783,7 @@ public class KYCCommunication {
         json.put("name", "Verify_Document");
         json.put("input", input);
 
-        return json;
+        return body.setJson(json);
     }
 
     /**
@@ -843,57 +794,12 @@ public class KYCCommunication {
      * @throws JSONException If error occured while setting up JSON object.
      */
     private JSONObject idv_createNfcVerificationJSON(final CaptureResult nfcData) throws JSONException {
-        JSONObject chipData = new JSONObject();
-        JSONObject dg = new JSONObject();
-        JSONObject status = new JSONObject();
-
-        try {
-            // DG
-            Map<String, byte[]> mapDg = nfcData.rawData.dg;
-
-            for (String key : mapDg.keySet()) {
-                dg.put(key, Base64.encodeToString(mapDg.get(key), Base64.NO_WRAP));
-            }
-
-            // Status
-            Map<String, Integer> mapStatus = nfcData.rawData.status;
-
-            for (String key : mapStatus.keySet()) {
-                int sw = mapStatus.get(key);
-
-                status.put(key, Integer.toString(sw));
-
-//                if (sw != 0) {
-//                    status.put(key, "0x" + Integer.toHexString(sw));
-//                }
-//                else {
-//                    status.put(key, Integer.toHexString(sw));
-//                }
-            }
-
-            // ChipData
-            chipData.put("com", Base64.encodeToString(nfcData.rawData.com, Base64.NO_WRAP));
-            chipData.put("sod", Base64.encodeToString(nfcData.rawData.sod, Base64.NO_WRAP));
-            chipData.put("dg", dg);
-            chipData.put("status", status);
-            chipData.put("signature", Base64.encodeToString(nfcData.rawData.signature, Base64.NO_WRAP));
-            chipData.put("version", "2");
-        }
-        catch(Exception e) {
-        }
-
-        // Input is object containing document and optionally face.
-        final JSONObject input = new JSONObject();
-
-        input.put("chipData", chipData);
-        input.put("channel", "defaultchip");
-
-        // Build final JSON.
-        final JSONObject json = new JSONObject();
-        json.put("name", KYCManager.getInstance().isFacialRecognition() ? "Verify_Electronic_Document_Face_Enhanced_Liveness" : "Verify_Electronic_Document");
-        json.put("input", input);
-
-        return json;
+        return KYCVerificationJson.nfcVerification(nfcData.rawData.com,
+                                                   nfcData.rawData.sod,
+                                                   nfcData.rawData.dg,
+                                                   nfcData.rawData.status,
+                                                   nfcData.rawData.signature,
+                                                   KYCManager.getInstance().isFacialRecognition() ? "Verify_Electronic_Document_Face_Enhanced_Liveness" : "Verify_Electronic_Document");
     }
 
     /**
@@ -901,25 +807,27 @@ public class KYCCommunication {
      *
      * @param docFront Front side of document.
      * @param docBack  Back side of document.
-     * @return JSON representation of the data.
+     * @return Body with JSON representation of the data, images are streamed when the body is written.
      * @throws JSONException If error occured while setting up JSON object.
      */
-    private JSONObject aware_createVerificationJSON(final byte[] docFront,
-                                                    final byte[] docBack) throws JSONException {
+    private KYCRequestBody aware_createVerificationJSON(final KYCStoredData docFront,
+                                                        final KYCStoredData docBack) throws JSONException {
+        final KYCRequestBody body = new KYCRequestBody();
+
         // Build document node with front and back side.
         final JSONObject document = new JSONObject();
 
         if (docFront != null) {
             final JSONObject front = new JSONObject();
 
-            front.put("white", ImageUtil.base64FromImage(docFront));
+            front.put("white", body.attachBinary(docFront));
             document.put("front", front);
         }
 
         if (docBack != null) {
             final JSONObject back = new JSONObject();
 
-            back.put("white", ImageUtil.base64FromImage(docBack));
+            back.put("white", body.attachBinary(docBack));
             document.put("back", back);
         }
 
@@ -939,7 +847,7 @@ public class KYCCommunication {
         json.put("name", "Verify_Document_Face_Enhanced_Liveness");
         json.put("input", input);
 
-        return json;
+        return body.setJson(json);
     }
 
     /**
@@ -950,178 +858,278 @@ public class KYCCommunication {
      * @return JSON representation of the data.
      *
      * @throws JSONException If error occurred while setting up JSON object.
+     * @throws IOException If the Aware server data could not be read from the capture store.
      */
-    private JSONObject aware_enhancedLivenessJSON(final String enhancedSelfieJson) throws JSONException {
-        // Build document node with enhanced liveness Aware data.
-        final JSONObject serverData = new JSONObject(enhancedSelfieJson);
-        final JSONArray frames = serverData.getJSONObject("video").getJSONObject("workflow_data").getJSONArray("frames");
-        final JSONObject metaData = serverData.getJSONObject("video").getJSONObject("meta_data");
-
-        JSONObject newServerData = new JSONObject();
-        JSONArray newFrames = new JSONArray();
-        JSONObject newWorkflowData = new JSONObject();
-        JSONObject newMetaData = new JSONObject();
-
-        // Get 3 first frames and update timestamps
-        JSONObject frame1 = (JSONObject) frames.get(0);
-        JSONObject frame2 = (JSONObject) frames.get(1);
-        JSONObject frame3 = (JSONObject) frames.get(2);
-
-        // New frames
-        newFrames.put(0, frame1);
-        newFrames.put(1, frame2);
-        newFrames.put(2, frame3);
-
-        // New Workflow Data
-        newWorkflowData.put("workflow", "charlie4");
-        newWorkflowData.put("frames", newFrames);
-
-        // New Meta Data
-        newMetaData.put("client_device_brand", metaData.get("client_device_brand"));
-        newMetaData.put("client_device_model", metaData.get("client_device_model"));
-        newMetaData.put("client_os_version", metaData.get("client_os_version"));
-        newMetaData.put("client_version", metaData.get("client_version"));
-        newMetaData.put("localization", metaData.get("localization"));
-        newMetaData.put("programming_language_version", metaData.get("programming_language_version"));
-
-        // Rebuild Aware server data
-        JSONObject video = new JSONObject();
-        video.put("meta_data", newMetaData);
-        video.put("workflow_data", newWorkflowData);
-        newServerData.put("video", video);
-
-        // Build final JSON.
-        final JSONObject json = new JSONObject();
-        json.put("name", KYCManager.getInstance().isNfcMode() ? "Verify_Electronic_Document_Face_Enhanced_Liveness" : "Verify_Document_Face_Enhanced_Liveness");
-
-        final JSONObject input = new JSONObject();
-        input.put("enhancedLiveness", newServerData);
-        json.put("input", input);
-
-        return json;
+    private JSONObject aware_enhancedLivenessJSON(final KYCStoredData enhancedSelfieJson) throws JSONException, IOException {
+        return KYCVerificationJson.enhancedLiveness(new InputStreamReader(enhancedSelfieJson.openStream(), StandardCharsets.UTF_8),
+                                                    KYCManager.getInstance().isNfcMode() ? "Verify_Electronic_Document_Face_Enhanced_Liveness" : "Verify_Document_Face_Enhanced_Liveness");
     }
 
     /**
-     * Setups the {@code HttpURLConnection} (authorization, content type, type).
+     * Creates the request and setups the headers (authorization, content type).
      *
-     * @param url URL.
-     * @return {@code HttpURLConnection}.
-     * @throws IOException If error occurs while opening the connection.
+     * @param session Verification session.
+     * @param method HTTP method.
+     * @param url    URL.
+     * @param body   Body or {@code null} if request has no body.
+     * @return {@code KYCRequest}.
      */
-    private HttpURLConnection getUrlConnection(final URL url) throws IOException {
-        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    private KYCRequest createRequest(final KYCSession session,
+                                     final String method,
+                                     final URL url,
+                                     final KYCRequestBody body) {
+        final KYCRequest request = new KYCRequest(method, url, body, session.getCurrentStep());
+        request.getMetrics().setBuildTimeMs(session.getStepElapsedMs());
 
-        connection.addRequestProperty("Accept", "application/json");
-        connection.addRequestProperty("Content-Type", "application/json");
+        request.addHeader("Accept", "application/json");
+        request.addHeader("Content-Type", "application/json");
 
         if (KYCManager.getInstance().getKycQRCodeVersion().equals(KYC_QR_CODE_VERSION_KYC2)) {
-            connection.addRequestProperty("Authorization", "Basic " + KYCManager.getInstance().getBaseCredentials());
+            request.addHeader("Authorization", "Basic " + KYCManager.getInstance().getBaseCredentials());
         }
 
-        return connection;
+        // Kept by the retries of the request, so the backend applies the step once even if a response was lost.
+        if (body != null) {
+            request.addHeader(KYCRequest.HEADER_IDEMPOTENCY_KEY, UUID.randomUUID().toString());
+        }
+
+        return request;
+    }
+
+    /**
+     * Gets the transport of the requests sent by this instance.
+     *
+     * @return Transport given at creation or the shared transport.
+     */
+    private KYCTransport getRequestTransport() {
+        return mTransport != null ? mTransport : getTransport();
     }
 
     /**
      * Sends data to verification backend.
      *
-     * @param json       JSON body.
-     * @param connection Connection.
-     * @param handler    Callback.
+     * @param session Verification session.
+     * @param request Request.
+     * @param handler Callback.
      */
-    private void getConnectionResponse(final JSONObject json,
-                                       final HttpURLConnection connection,
+    private void getConnectionResponse(final KYCSession session,
+                                       final KYCRequest request,
                                        final GenericResponse handler) {
-        new Thread(() -> {
-            try {
-                if (json != null) {
-                    JsonUtil.logJson(json, "JSON Request");
-                }
-                else {
-                    Log.w("KYC", "GET...");
-                }
+        getConnectionResponse(session, request, null, handler);
+    }
 
-                // Prepare stream.
-                if (json != null) {
-                    final OutputStream outputStream = connection.getOutputStream();
-                    outputStream.write(json.toString().getBytes());
-                    outputStream.flush();
-                }
+    /**
+     * Sends data to verification backend.
+     *
+     * @param session Verification session.
+     * @param request Request.
+     * @param poller  Polling scheduler updated with the server {@code Retry-After} header, may be {@code null}.
+     * @param handler Callback.
+     */
+    private void getConnectionResponse(final KYCSession session,
+                                       final KYCRequest request,
+                                       final KYCPoller poller,
+                                       final GenericResponse handler) {
+        getConnectionResponse(session, request, poller, null, handler);
+    }
 
-                // Execute request.
-                connection.connect();
+    /**
+     * Sends data to verification backend. A request failing on a transient error is sent again with backoff, with
+     * the same idempotency key, so the current step is resumed within the same backend session.
+     *
+     * @param session Verification session.
+     * @param request Request.
+     * @param poller  Polling scheduler updated with the server {@code Retry-After} header, may be {@code null}.
+     * @param retries Retry scheduler, {@code null} before the first failure.
+     * @param handler Callback.
+     */
+    private void getConnectionResponse(final KYCSession session,
+                                       final KYCRequest request,
+                                       final KYCPoller poller,
+                                       final KYCPoller retries,
+                                       final GenericResponse handler) {
+        if (!session.setActiveRequest(request, poller)) {
+            // Session cancelled, nothing is sent. A handler set since the cancellation must not wait for a response.
+            session.handleCancelled();
+            return;
+        }
 
-                // Read response.
-                final StringBuilder responseSB = new StringBuilder();
-                final BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                String line = reader.readLine();
+        request.getMetrics().setPoll(poller != null);
 
-                while (line != null) {
-                    responseSB.append(line);
-                    line = reader.readLine();
-                }
+        getRequestTransport().execute(request, new KYCTransport.ResponseHandler() {
+            @Override
+            public void onSuccess(final int statusCode,
+                                  final Map<String, List<String>> headers,
+                                  final KYCServerResponse response) {
+                session.clearActiveRequest(request);
+                session.getMetrics().add(request.getMetrics());
 
-                if (responseSB != null) {
-                    JsonUtil.logJson(new JSONObject(responseSB.toString()), "JSON Response");
+                if (poller != null) {
+                    final List<String> retryAfter = headers.get("Retry-After");
+                    poller.setRetryAfter(retryAfter != null && !retryAfter.isEmpty() ? retryAfter.get(0) : null);
                 }
 
-                handler.onFinished(responseSB.toString(), null);
-            } catch (final IOException exception) {
-                StringBuilder sb;
-
-                // Log Header Fields
-                Map<String, List<String>> headerFields = connection.getHeaderFields();
-                sb = new StringBuilder();
-                Iterator<?> it = headerFields.keySet().iterator();
-                sb.append('\n');
-                sb.append("<HEADERS url=\"" + connection.getURL().toString() + "\">");
-
-                while (it.hasNext()) {
-                    String name = (String) it.next();
-                    sb.append('\n');
-                    sb.append("[" + name + "]:");
-                    sb.append(connection.getHeaderField(name));
+                handler.onFinished(response, null);
+            }
+
+            @Override
+            public void onFailure(final int statusCode, final String error) {
+                session.clearActiveRequest(request);
+
+                // Cancelled session has already notified its handler.
+                if (statusCode == KYCTransport.STATUS_CANCELLED) {
+                    return;
                 }
-                sb.append('\n');
-                sb.append("</HEADERS>");
 
-                if (sb != null) {
-                    Log.e("KYC", sb.toString());
+                session.getMetrics().add(request.getMetrics());
 
-                    // HTTP Error 401
-                    if (sb.toString().contains("401 Unauthorized")) {
-                        handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9911", null));
-                    }
-                    // HTTP Error 403
-                    else if (sb.toString().contains("403 Forbidden")) {
-                        if (mCurrentStep == 1) {
-                            handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9910", null));
-                        } else {
-                            handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9919", null));
-                        }
-                    }
-                    // HTTP Error 404
-                    else if (sb.toString().contains("404 Not Found")) {
-                        if (mCurrentStep == 1) {
-                            handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9910", null));
-                        } else {
-                            handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9919", null));
-                        }
-                    }
-                    // HTTP Error XXX
-                    else {
-                        handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9912", null));
-                    }
+                // Encoding changed by the transport, not a failure of the backend: sent again without delay.
+                if (statusCode == KYCTransport.STATUS_RESEND) {
+                    Log.w("KYC", "Resending " + request.getMethod() + " after: " + error);
+                    getConnectionResponse(session, request.nextAttempt(), poller, retries, handler);
+                    return;
                 }
-                else {
-                    handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9919", null));
+
+                if (isTransient(statusCode) && retry(session, request, poller, retries, handler)) {
+                    Log.w("KYC", "Retrying " + request.getMethod() + " after: " + error);
+                    return;
                 }
-            } catch (final Exception e) {
-                handler.onFinished(null, KYCManager.getInstance().getErrorMessage("9919", null));
+
+                handler.onFinished(null, getErrorMessage(statusCode, request.getStep()));
             }
+        });
+    }
 
-            // Disconnect
-            connection.disconnect();
-        }).start();
+    /**
+     * Schedules the next attempt of a request which failed on a transient error.
+     *
+     * @param session Verification session.
+     * @param request Failed request.
+     * @param poller  Polling scheduler of the request, may be {@code null}.
+     * @param retries Retry scheduler, {@code null} before the first failure.
+     * @param handler Callback.
+     * @return {@code True} if scheduled or session cancelled, {@code false} if no attempt is left.
+     */
+    private boolean retry(final KYCSession session,
+                          final KYCRequest request,
+                          final KYCPoller poller,
+                          final KYCPoller retries,
+                          final GenericResponse handler) {
+        final KYCPoller scheduler = retries != null ? retries : KYCPoller.forRetries();
+        if (scheduler.getAttempt() >= KYCConfiguration.IDCLOUD_REQUEST_MAX_ATTEMPTS) {
+            return false;
+        }
+
+        final KYCRequest next = request.nextAttempt();
+        // Registered, so that cancelling the session stops the pending retry.
+        if (!session.setActiveRequest(next, scheduler)) {
+            return true;
+        }
+
+        return scheduler.scheduleNext(() -> getConnectionResponse(session, next, poller, scheduler, handler));
+    }
+
+    /**
+     * Checks if the failure is transient and the request worth sending again.
+     *
+     * @param statusCode HTTP status code or one of the {@code KYCTransport.STATUS_} codes. Only
+     *                   {@link KYCTransport#STATUS_NO_RESPONSE} is transient among the latter.
+     * @return {@code True} if transient, else {@code false}.
+     */
+    private static boolean isTransient(final int statusCode) {
+        switch (statusCode) {
+            case KYCTransport.STATUS_NO_RESPONSE:
+            case HttpURLConnection.HTTP_CLIENT_TIMEOUT:
+            case HttpURLConnection.HTTP_INTERNAL_ERROR:
+            case HttpURLConnection.HTTP_BAD_GATEWAY:
+            case HttpURLConnection.HTTP_UNAVAILABLE:
+            case HttpURLConnection.HTTP_GATEWAY_TIMEOUT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Handles the verification result according to the decision of the rules.
+     *
+     * @param session Verification session.
+     * @param rules   Rules of the verification step.
+     * @param status  Verification status.
+     * @param result  Verification result.
+     */
+    private static void handleVerificationResult(final KYCSession session,
+                                                 final KYCResultRules rules,
+                                                 final String status,
+                                                 final KYCResponse result) {
+        final KYCResultRules.Decision decision = rules.decide(result);
+
+        switch (decision.getAction()) {
+            case KYCResultRules.ACTION_RESULT:
+                session.handleResult(result);
+                break;
+            case KYCResultRules.ACTION_RETRY_DOC:
+                session.handleErrorRetry(getErrorMessage(decision, status, result), KYCSession.RETRY_DOC_SCAN);
+                break;
+            case KYCResultRules.ACTION_RETRY_SELFIE:
+                session.handleErrorRetry(getErrorMessage(decision, status, result), KYCSession.RETRY_SELFIE_SCAN);
+                break;
+            default:
+                session.handleErrorAbort(getErrorMessage(decision, status, result));
+                break;
+        }
+    }
+
+    /**
+     * Builds the error message of a failed verification.
+     *
+     * @param decision Decision of the rules.
+     * @param status   Verification status.
+     * @param result   Verification result.
+     * @return Error message.
+     */
+    private static String getErrorMessage(final KYCResultRules.Decision decision,
+                                          final String status,
+                                          final KYCResponse result) {
+        final String code = String.valueOf(result.getCode());
+
+        switch (decision.getMessage()) {
+            case KYCResultRules.MESSAGE_LOCAL:
+                return KYCManager.getInstance().getErrorMessage(code);
+            case KYCResultRules.MESSAGE_DETAILED:
+                return "Status: " + status
+                        + "\nCode: " + code
+                        + "\n" + KYCManager.getInstance().getErrorMessage(code, result.getMessage());
+            default:
+                return KYCManager.getInstance().getErrorMessage(code, result.getMessage());
+        }
+    }
+
+    /**
+     * Maps the HTTP status code to a readable error message.
+     *
+     * @param statusCode HTTP status code.
+     * @param step       Verification step which issued the request.
+     * @return Error message.
+     */
+    private static String getErrorMessage(final int statusCode, final int step) {
+        switch (statusCode) {
+            // HTTP Error 401
+            case HttpURLConnection.HTTP_UNAUTHORIZED:
+                return KYCManager.getInstance().getErrorMessage("9911", null);
+
+            // HTTP Error 403 & 404
+            case HttpURLConnection.HTTP_FORBIDDEN:
+            case HttpURLConnection.HTTP_NOT_FOUND:
+                return KYCManager.getInstance().getErrorMessage(step == 1 ? "9910" : "9919", null);
+
+            case KYCTransport.STATUS_UNKNOWN:
+                return KYCManager.getInstance().getErrorMessage("9919", null);
+
+            // HTTP Error XXX
+            default:
+                return KYCManager.getInstance().getErrorMessage("9912", null);
+        }
     }
 
     //endregion
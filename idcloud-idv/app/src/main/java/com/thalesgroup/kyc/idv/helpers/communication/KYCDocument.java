@@ -27,13 +27,11 @@
 
 package com.thalesgroup.kyc.idv.helpers.communication;
 
-import com.thalesgroup.kyc.idv.helpers.util.ImageUtil;
-import com.thalesgroup.kyc.idv.helpers.util.JsonUtil;
+import android.util.JsonReader;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
+import com.thalesgroup.kyc.idv.helpers.util.JsonUtil;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -50,7 +48,7 @@ public class KYCDocument {
     private final String mBirthDate;
     private final String mDocumentType;
     private final String mSurname;
-    private final byte[] mPortrait;
+    private final KYCLazyImage mPortrait;
     private final String mResult;
     private final String mGender;
     private final String mDocumentNumber;
@@ -58,7 +56,7 @@ public class KYCDocument {
     private final List<KYCFailedVerification> mFailedVerifications;
     private final String mNationality;
     private final int mTotalVerificationsDone;
-    private KYCMRZ mMRZ = null;
+    private final KYCMRZ mMRZ;
 
     //endregion
 
@@ -67,36 +65,93 @@ public class KYCDocument {
     /**
      * Creates a new {@code KYCDocument} instance.
      *
-     * @param response
-     *         JSON response received from verification backend.
-     * @throws JSONException If value not found in passed response.
+     * @param reader
+     *         Reader positioned on the JSON response received from verification backend.
+     * @throws IOException If response could not be read.
      */
-    KYCDocument(@NonNull final JSONObject response) throws JSONException {
-        mFirstName = JsonUtil.jsonGetString(response, "firstName", "");
-        mBirthDate = JsonUtil.jsonGetString(response,"birthDate", "");
-        mExpiryDate = JsonUtil.jsonGetString(response,"expiryDate", "");
-        mDocumentType = JsonUtil.jsonGetString(response,"documentType", "");
-        mSurname = JsonUtil.jsonGetString(response,"surname", "");
-        mPortrait = ImageUtil.imageFromBase64(JsonUtil.jsonGetString(response, "portrait", null));
-        mResult = JsonUtil.jsonGetString(response,"result", "");
-        mGender = JsonUtil.jsonGetString(response,"gender", "");
-        mDocumentNumber = JsonUtil.jsonGetString(response,"documentNumber", "");
-        mNationality = JsonUtil.jsonGetString(response,"nationality", "");
-        mTotalVerificationsDone = JsonUtil.jsonGetInt(response,"totalVerifications", 0);
-
-        if (response.has("mrzTextFields")) {
-            mMRZ = new KYCMRZ(response.getJSONObject("mrzTextFields"));
-        }
-
-        mFailedVerifications = new ArrayList<>();
-        if (response.has("failedVerifications")) {
-            final JSONArray verifications = response.getJSONArray("failedVerifications");
-            for (int index = 0; index < verifications.length(); index++) {
-                final JSONObject loopVerify = verifications.getJSONObject(index);
-                mFailedVerifications.add(new KYCFailedVerification(loopVerify));
+    KYCDocument(@NonNull final JsonReader reader) throws IOException {
+        String firstName = "";
+        String birthDate = "";
+        String expiryDate = "";
+        String documentType = "";
+        String surname = "";
+        String portrait = null;
+        String result = "";
+        String gender = "";
+        String documentNumber = "";
+        String nationality = "";
+        int totalVerificationsDone = 0;
+        KYCMRZ mrz = null;
+        final List<KYCFailedVerification> failedVerifications = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "firstName":
+                    firstName = JsonUtil.readString(reader, "");
+                    break;
+                case "birthDate":
+                    birthDate = JsonUtil.readString(reader, "");
+                    break;
+                case "expiryDate":
+                    expiryDate = JsonUtil.readString(reader, "");
+                    break;
+                case "documentType":
+                    documentType = JsonUtil.readString(reader, "");
+                    break;
+                case "surname":
+                    surname = JsonUtil.readString(reader, "");
+                    break;
+                case "portrait":
+                    portrait = JsonUtil.readString(reader, null);
+                    break;
+                case "result":
+                    result = JsonUtil.readString(reader, "");
+                    break;
+                case "gender":
+                    gender = JsonUtil.readString(reader, "");
+                    break;
+                case "documentNumber":
+                    documentNumber = JsonUtil.readString(reader, "");
+                    break;
+                case "nationality":
+                    nationality = JsonUtil.readString(reader, "");
+                    break;
+                case "totalVerifications":
+                    totalVerificationsDone = JsonUtil.readInt(reader, 0);
+                    break;
+                case "mrzTextFields":
+                    if (JsonUtil.isObject(reader)) {
+                        mrz = new KYCMRZ(reader);
+                    }
+                    break;
+                case "failedVerifications":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        failedVerifications.add(new KYCFailedVerification(reader));
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
-
+        reader.endObject();
+
+        mFirstName = firstName;
+        mBirthDate = birthDate;
+        mExpiryDate = expiryDate;
+        mDocumentType = documentType;
+        mSurname = surname;
+        mPortrait = new KYCLazyImage(portrait);
+        mResult = result;
+        mGender = gender;
+        mDocumentNumber = documentNumber;
+        mNationality = nationality;
+        mTotalVerificationsDone = totalVerificationsDone;
+        mMRZ = mrz;
+        mFailedVerifications = failedVerifications;
     }
 
     //endregion
@@ -140,12 +195,12 @@ public class KYCDocument {
     }
 
     /**
-     * Gets the portrait.
+     * Gets the portrait. The image is decoded on first access, the returned array is shared and must not be modified.
      *
-     * @return Portrait.
+     * @return Portrait or {@code null} if not present.
      */
     public byte[] getPortrait() {
-        return mPortrait.clone();
+        return mPortrait.get();
     }
 
     /**
@@ -27,10 +27,11 @@
 
 package com.thalesgroup.kyc.idv.helpers.communication;
 
+import android.util.JsonReader;
+
 import com.thalesgroup.kyc.idv.helpers.util.JsonUtil;
 
-import org.json.JSONException;
-import org.json.JSONObject;
+import java.io.IOException;
 
 public class KYCEnhancedLiveness {
 
@@ -45,12 +46,81 @@ public class KYCEnhancedLiveness {
 
     //region Life Cycle
 
-    public KYCEnhancedLiveness(final JSONObject response) throws JSONException {
-        mCapturedFrame = JsonUtil.jsonGetString(response.getJSONObject("video").getJSONObject("autocapture_result"), "captured_frame", null);
-        mCapturedFrameIsConstructed = JsonUtil.jsonGetBoolean(response.getJSONObject("video").getJSONObject("autocapture_result"), "captured_frame_is_constructed", false);
-        mAutocaptureFeedback = JsonUtil.jsonGetStringArray(response.getJSONObject("video").getJSONObject("autocapture_result"), "feedback", null);
-        mLivenessScore = JsonUtil.jsonGetInt(response.getJSONObject("video").getJSONObject("liveness_result"), "score", 0);
-        mLivenessFeedback = JsonUtil.jsonGetStringArray(response.getJSONObject("video").getJSONObject("liveness_result"), "feedback", null);
+    KYCEnhancedLiveness(final JsonReader reader) throws IOException {
+        String capturedFrame = null;
+        boolean capturedFrameIsConstructed = false;
+        String[] autocaptureFeedback = null;
+        int livenessScore = 0;
+        String[] livenessFeedback = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("video")) {
+                reader.skipValue();
+                continue;
+            }
+            if (!JsonUtil.isObject(reader)) {
+                continue;
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "autocapture_result":
+                        if (JsonUtil.isObject(reader)) {
+                            reader.beginObject();
+                            while (reader.hasNext()) {
+                                switch (reader.nextName()) {
+                                    case "captured_frame":
+                                        capturedFrame = JsonUtil.readString(reader, null);
+                                        break;
+                                    case "captured_frame_is_constructed":
+                                        capturedFrameIsConstructed = JsonUtil.readBoolean(reader, false);
+                                        break;
+                                    case "feedback":
+                                        autocaptureFeedback = JsonUtil.readStringArray(reader, null);
+                                        break;
+                                    default:
+                                        reader.skipValue();
+                                        break;
+                                }
+                            }
+                            reader.endObject();
+                        }
+                        break;
+                    case "liveness_result":
+                        if (JsonUtil.isObject(reader)) {
+                            reader.beginObject();
+                            while (reader.hasNext()) {
+                                switch (reader.nextName()) {
+                                    case "score":
+                                        livenessScore = JsonUtil.readInt(reader, 0);
+                                        break;
+                                    case "feedback":
+                                        livenessFeedback = JsonUtil.readStringArray(reader, null);
+                                        break;
+                                    default:
+                                        reader.skipValue();
+                                        break;
+                                }
+                            }
+                            reader.endObject();
+                        }
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+        }
+        reader.endObject();
+
+        mCapturedFrame = capturedFrame;
+        mCapturedFrameIsConstructed = capturedFrameIsConstructed;
+        mAutocaptureFeedback = autocaptureFeedback;
+        mLivenessScore = livenessScore;
+        mLivenessFeedback = livenessFeedback;
     }
     //endregion
 
@@ -27,11 +27,11 @@
 
 package com.thalesgroup.kyc.idv.helpers.communication;
 
-import com.thalesgroup.kyc.idv.helpers.util.ImageUtil;
+import android.util.JsonReader;
+
 import com.thalesgroup.kyc.idv.helpers.util.JsonUtil;
 
-import org.json.JSONException;
-import org.json.JSONObject;
+import java.io.IOException;
 
 import androidx.annotation.NonNull;
 
@@ -42,7 +42,7 @@ public class KYCFace {
     //region Definition
 
     private final String mResult;
-    private final byte[] mImage;
+    private final KYCLazyImage mImage;
     private final int mScore;
 
     //endregion
@@ -52,13 +52,36 @@ public class KYCFace {
     /**
      * Creates a new {@code KYCFace} instance.
      *
-     * @param response Response received from verification server.
-     * @throws JSONException If value not found in passed response.
+     * @param reader Reader positioned on the response received from verification server.
+     * @throws IOException If response could not be read.
      */
-    KYCFace(@NonNull final JSONObject response) throws JSONException {
-        mResult = JsonUtil.jsonGetString(response, "result", "NO_MATCH");
-        mImage = ImageUtil.imageFromBase64(JsonUtil.jsonGetString(response, "image", null));
-        mScore = JsonUtil.jsonGetInt(response, "score", -1);
+    KYCFace(@NonNull final JsonReader reader) throws IOException {
+        String result = "NO_MATCH";
+        String image = null;
+        int score = -1;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "result":
+                    result = JsonUtil.readString(reader, "NO_MATCH");
+                    break;
+                case "image":
+                    image = JsonUtil.readString(reader, null);
+                    break;
+                case "score":
+                    score = JsonUtil.readInt(reader, -1);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        mResult = result;
+        mImage = new KYCLazyImage(image);
+        mScore = score;
     }
 
     //endregion
@@ -76,12 +99,12 @@ public class KYCFace {
     }
 
     /**
-     * Gets the image.
+     * Gets the image. The image is decoded on first access, the returned array is shared and must not be modified.
      *
-     * @return Image.
+     * @return Image or {@code null} if not present.
      */
     public byte[] getImage() {
-        return mImage.clone();
+        return mImage.get();
     }
 
     /**
@@ -27,10 +27,11 @@
 
 package com.thalesgroup.kyc.idv.helpers.communication;
 
+import android.util.JsonReader;
+
 import com.thalesgroup.kyc.idv.helpers.util.JsonUtil;
 
-import org.json.JSONException;
-import org.json.JSONObject;
+import java.io.IOException;
 
 import androidx.annotation.NonNull;
 
@@ -53,15 +54,46 @@ public class KYCFailedVerification {
     /**
      * Creates a new {@code KYCFailedVerification} instance.
      *
-     * @param response Response received from verification server.
-     * @throws JSONException If value not found in passed response.
+     * @param reader Reader positioned on the response received from verification server.
+     * @throws IOException If response could not be read.
      */
-    KYCFailedVerification(@NonNull final JSONObject response) throws JSONException {
-        mCategory = JsonUtil.jsonGetString(response, "category", null);
-        mName = JsonUtil.jsonGetString(response, "name", null);
-        mType = JsonUtil.jsonGetString(response, "type", null);
-        mScore = JsonUtil.jsonGetInt(response, "score", -1);
-        mThreshold = JsonUtil.jsonGetInt(response, "threshold", -1);
+    KYCFailedVerification(@NonNull final JsonReader reader) throws IOException {
+        String category = null;
+        String name = null;
+        String type = null;
+        int score = -1;
+        int threshold = -1;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "category":
+                    category = JsonUtil.readString(reader, null);
+                    break;
+                case "name":
+                    name = JsonUtil.readString(reader, null);
+                    break;
+                case "type":
+                    type = JsonUtil.readString(reader, null);
+                    break;
+                case "score":
+                    score = JsonUtil.readInt(reader, -1);
+                    break;
+                case "threshold":
+                    threshold = JsonUtil.readInt(reader, -1);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        mCategory = category;
+        mName = name;
+        mType = type;
+        mScore = score;
+        mThreshold = threshold;
     }
 
     //endregion
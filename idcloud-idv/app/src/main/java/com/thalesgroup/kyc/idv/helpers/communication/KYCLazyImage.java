@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers.communication;
+
+import com.thalesgroup.kyc.idv.helpers.util.ImageUtil;
+
+/**
+ * Base64 encoded image received from verification backend.
+ *
+ * The encoded value is kept as received and decoded only on first access. The decoded bytes are cached and
+ * the encoded value released, so subsequent accesses neither decode nor copy.
+ */
+final class KYCLazyImage {
+
+    //region Definition
+
+    private String mBase64;
+    private byte[] mImage;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code KYCLazyImage} instance.
+     *
+     * @param base64 Base64 encoded image, may be {@code null}.
+     */
+    KYCLazyImage(final String base64) {
+        mBase64 = base64;
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Gets the decoded image. The returned array is shared and must not be modified.
+     *
+     * @return Decoded image or {@code null} if not present.
+     */
+    synchronized byte[] get() {
+        if (mImage == null && mBase64 != null) {
+            mImage = ImageUtil.imageFromBase64(mBase64);
+            mBase64 = null;
+        }
+
+        return mImage;
+    }
+
+    //endregion
+}
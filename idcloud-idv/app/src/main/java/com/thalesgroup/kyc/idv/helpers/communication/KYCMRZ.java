@@ -27,12 +27,13 @@
 
 package com.thalesgroup.kyc.idv.helpers.communication;
 
+import android.util.JsonReader;
+
 import androidx.annotation.NonNull;
 
 import com.thalesgroup.kyc.idv.helpers.util.JsonUtil;
 
-import org.json.JSONException;
-import org.json.JSONObject;
+import java.io.IOException;
 
 /**
  * Model class representing the document.
@@ -57,23 +58,73 @@ public class KYCMRZ {
     //region Life Cycle
 
     /**
-     * Creates a new {@code KYCDocument} instance.
+     * Creates a new {@code KYCMRZ} instance.
      *
-     * @param response
-     *         JSON response received from verification backend.
-     * @throws JSONException If value not found in passed response.
+     * @param reader Reader positioned on the response received from verification server.
+     * @throws IOException If response could not be read.
      */
-    KYCMRZ(@NonNull final JSONObject response) throws JSONException {
-        mRawData = JsonUtil.jsonGetString(response, "MrzRawData", "");
-        mDocumentType = JsonUtil.jsonGetString(response,"DocumentType", "");
-        mIssuingState = JsonUtil.jsonGetString(response,"IssuingState", "");
-        mLastName = JsonUtil.jsonGetString(response, "LastName", "");
-        mFirstName = JsonUtil.jsonGetString(response, "FirstName", "");
-        mDocumentNumber = JsonUtil.jsonGetString(response,"DocumentNumber", "");
-        mBirthDate = JsonUtil.jsonGetString(response,"DateOfBirth", "");
-        mNationality = JsonUtil.jsonGetString(response,"Nationality", "");
-        mSex = JsonUtil.jsonGetString(response,"Sex", "");
-        mExpiryDate = JsonUtil.jsonGetString(response,"DateOfExpiry", "");
+    KYCMRZ(@NonNull final JsonReader reader) throws IOException {
+        String rawData = "";
+        String documentType = "";
+        String issuingState = "";
+        String lastName = "";
+        String firstName = "";
+        String documentNumber = "";
+        String birthDate = "";
+        String nationality = "";
+        String sex = "";
+        String expiryDate = "";
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "MrzRawData":
+                    rawData = JsonUtil.readString(reader, "");
+                    break;
+                case "DocumentType":
+                    documentType = JsonUtil.readString(reader, "");
+                    break;
+                case "IssuingState":
+                    issuingState = JsonUtil.readString(reader, "");
+                    break;
+                case "LastName":
+                    lastName = JsonUtil.readString(reader, "");
+                    break;
+                case "FirstName":
+                    firstName = JsonUtil.readString(reader, "");
+                    break;
+                case "DocumentNumber":
+                    documentNumber = JsonUtil.readString(reader, "");
+                    break;
+                case "DateOfBirth":
+                    birthDate = JsonUtil.readString(reader, "");
+                    break;
+                case "Nationality":
+                    nationality = JsonUtil.readString(reader, "");
+                    break;
+                case "Sex":
+                    sex = JsonUtil.readString(reader, "");
+                    break;
+                case "DateOfExpiry":
+                    expiryDate = JsonUtil.readString(reader, "");
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        mRawData = rawData;
+        mDocumentType = documentType;
+        mIssuingState = issuingState;
+        mLastName = lastName;
+        mFirstName = firstName;
+        mDocumentNumber = documentNumber;
+        mBirthDate = birthDate;
+        mNationality = nationality;
+        mSex = sex;
+        mExpiryDate = expiryDate;
     }
 
     //endregion
@@ -0,0 +1,219 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers.communication;
+
+import android.os.SystemClock;
+
+import com.thalesgroup.kyc.idv.helpers.KYCConfiguration;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the polling of a verification result.
+ *
+ * Retries are scheduled on a single shared scheduler thread, so no worker is blocked while waiting. The delay starts
+ * small and grows exponentially with random jitter, a server {@code Retry-After} header takes precedence, and
+ * polling stops once the deadline is reached. The deadline is measured on the monotonic clock, so changes of the
+ * wall clock do not shorten or extend the polling.
+ */
+class KYCPoller {
+
+    //region Definition
+
+    private static final ScheduledExecutorService sScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "KYC-Poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long mDeadline;
+    private final long mMaxDelayMs;
+    private final double mMultiplier;
+    private final double mJitter;
+    private long mNextDelayMs;
+    private long mRetryAfterMs = -1;
+    private int mAttempt = 1;
+    private ScheduledFuture<?> mPending;
+    private boolean mCancelled;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code KYCPoller} instance with the default configuration.
+     */
+    KYCPoller() {
+        this(KYCConfiguration.IDCLOUD_POLL_INITIAL_DELAY_MS,
+             KYCConfiguration.IDCLOUD_POLL_MAX_DELAY_MS,
+             KYCConfiguration.IDCLOUD_POLL_BACKOFF_MULTIPLIER,
+             KYCConfiguration.IDCLOUD_POLL_JITTER,
+             TimeUnit.SECONDS.toMillis(KYCConfiguration.IDCLOUD_POLL_TIMEOUT_SEC));
+    }
+
+    /**
+     * Creates a new {@code KYCPoller} instance.
+     *
+     * @param initialDelayMs Delay before the first retry.
+     * @param maxDelayMs     Upper bound of the delay between two retries.
+     * @param multiplier     Factor applied to the delay after each retry.
+     * @param jitter         Random variation (ratio of the delay) added to each delay.
+     * @param timeoutMs      Maximum polling time.
+     */
+    KYCPoller(final long initialDelayMs,
+              final long maxDelayMs,
+              final double multiplier,
+              final double jitter,
+              final long timeoutMs) {
+        mNextDelayMs = initialDelayMs;
+        mMaxDelayMs = maxDelayMs;
+        mMultiplier = multiplier;
+        mJitter = jitter;
+        mDeadline = SystemClock.elapsedRealtime() + timeoutMs;
+    }
+
+    /**
+     * Creates a new {@code KYCPoller} instance scheduling the retries of a request which failed on a transient error.
+     *
+     * @return Retry scheduler.
+     */
+    static KYCPoller forRetries() {
+        return new KYCPoller(KYCConfiguration.IDCLOUD_REQUEST_RETRY_INITIAL_DELAY_MS,
+                             KYCConfiguration.IDCLOUD_REQUEST_RETRY_MAX_DELAY_MS,
+                             KYCConfiguration.IDCLOUD_REQUEST_RETRY_BACKOFF_MULTIPLIER,
+                             KYCConfiguration.IDCLOUD_POLL_JITTER,
+                             TimeUnit.SECONDS.toMillis(KYCConfiguration.IDCLOUD_REQUEST_RETRY_TIMEOUT_SEC));
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Gets the current attempt number.
+     *
+     * @return Attempt number, starting at 1.
+     */
+    synchronized int getAttempt() {
+        return mAttempt;
+    }
+
+    /**
+     * Updates the delay requested by the server for the next retry.
+     *
+     * @param retryAfter Value of the {@code Retry-After} header, may be {@code null}.
+     */
+    synchronized void setRetryAfter(final String retryAfter) {
+        mRetryAfterMs = parseRetryAfter(retryAfter);
+    }
+
+    /**
+     * Schedules the next polling attempt.
+     *
+     * @param poll Polling operation.
+     * @return {@code True} if scheduled or cancelled, {@code false} if the deadline would be exceeded.
+     */
+    synchronized boolean scheduleNext(final Runnable poll) {
+        if (mCancelled) {
+            return true;
+        }
+
+        final long delay;
+
+        if (mRetryAfterMs >= 0) {
+            delay = mRetryAfterMs;
+        } else {
+            final double variation = mNextDelayMs * mJitter * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+            delay = Math.max(0, Math.round(mNextDelayMs + variation));
+            mNextDelayMs = Math.min(mMaxDelayMs, Math.round(mNextDelayMs * mMultiplier));
+        }
+
+        if (SystemClock.elapsedRealtime() + delay > mDeadline) {
+            return false;
+        }
+
+        mRetryAfterMs = -1;
+        mAttempt++;
+        mPending = sScheduler.schedule(poll, delay, TimeUnit.MILLISECONDS);
+
+        return true;
+    }
+
+    /**
+     * Cancels the scheduled attempt, no further attempt is scheduled.
+     */
+    synchronized void cancel() {
+        mCancelled = true;
+
+        if (mPending != null) {
+            mPending.cancel(false);
+            mPending = null;
+        }
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Parses the {@code Retry-After} header (delay in seconds or HTTP date).
+     *
+     * @param retryAfter Header value.
+     * @return Delay in milliseconds or {@code -1} if not present or invalid.
+     */
+    private static long parseRetryAfter(final String retryAfter) {
+        if (retryAfter == null || retryAfter.trim().isEmpty()) {
+            return -1;
+        }
+
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (final NumberFormatException exception) {
+            // Not a delay, try HTTP date.
+        }
+
+        try {
+            final SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+            format.setTimeZone(TimeZone.getTimeZone("GMT"));
+
+            return Math.max(0, format.parse(retryAfter.trim()).getTime() - System.currentTimeMillis());
+        } catch (final ParseException exception) {
+            return -1;
+        }
+    }
+
+    //endregion
+}
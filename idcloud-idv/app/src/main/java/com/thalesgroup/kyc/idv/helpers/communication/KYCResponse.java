@@ -27,12 +27,11 @@
 
 package com.thalesgroup.kyc.idv.helpers.communication;
 
-import com.thalesgroup.kyc.idv.helpers.DataContainer;
-import com.thalesgroup.kyc.idv.helpers.util.JsonUtil;
+import android.util.JsonReader;
 
-import org.json.JSONException;
-import org.json.JSONObject;
+import com.thalesgroup.kyc.idv.helpers.util.JsonUtil;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 import androidx.annotation.NonNull;
@@ -59,38 +58,44 @@ public class KYCResponse implements Serializable {
     //region Life Cycle
 
     /**
-     * Creates a new {@code KYCFailedVerification} instance.
+     * Creates a new {@code KYCResponse} instance.
      *
-     * @param response Response received from verification server.
-     * @throws JSONException If value not found in passed response.
+     * @param reader Reader positioned on the response received from verification server.
+     * @throws IOException If response could not be read.
      */
-    KYCResponse(@NonNull final JSONObject response) throws JSONException {
-        mCode = JsonUtil.jsonGetInt(response, "code", -1);
-        mMessage = JsonUtil.jsonGetString(response,"message", "Unknown");
-        mType =  JsonUtil.jsonGetString(response, "type", "Unknown");
-
-        // All objects are optional, we might not get them from server.
-        if (response.has("object")) {
-            final JSONObject object = response.getJSONObject("object");
-            if (object.has("document")) {
-                mDocument = new KYCDocument(object.getJSONObject("document"));
-            }
-
-            if (object.has("chipResult")) {
-                mChipNfc = new KYCChipNfc(object.getJSONObject("chipResult"));
-            }
-            else if (DataContainer.instance().mIdvChipResult != null) {
-                mChipNfc = new KYCChipNfc(new JSONObject(DataContainer.instance().mIdvChipResult));
-            }
-
-            if (object.has("face")) {
-                mFace = new KYCFace(object.getJSONObject("face"));
-            }
-
-            if (object.has("enhancedLiveness")) {
-                mEnhancedLiveness = new KYCEnhancedLiveness(object.getJSONObject("enhancedLiveness"));
+    KYCResponse(@NonNull final JsonReader reader) throws IOException {
+        int code = -1;
+        String message = "Unknown";
+        String type = "Unknown";
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "code":
+                    code = JsonUtil.readInt(reader, -1);
+                    break;
+                case "message":
+                    message = JsonUtil.readString(reader, "Unknown");
+                    break;
+                case "type":
+                    type = JsonUtil.readString(reader, "Unknown");
+                    break;
+                case "object":
+                    // All objects are optional, we might not get them from server.
+                    if (JsonUtil.isObject(reader)) {
+                        readObject(reader);
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
         }
+        reader.endObject();
+
+        mCode = code;
+        mMessage = message;
+        mType = type;
     }
 
     //endregion
@@ -153,6 +158,15 @@ public class KYCResponse implements Serializable {
         return mChipNfc;
     }
 
+    /**
+     * Sets the chip data, when it was returned by a previous step of the session.
+     *
+     * @param chipNfc Chip data.
+     */
+    void setChipNfc(final KYCChipNfc chipNfc) {
+        mChipNfc = chipNfc;
+    }
+
     /**
      * Gets the {@code KYCDocument}.
      *
@@ -182,4 +196,46 @@ public class KYCResponse implements Serializable {
 
     //endregion
 
+    //region Private Helpers
+
+    /**
+     * Binds the optional verification objects.
+     *
+     * @param reader Reader positioned on the {@code object} value.
+     * @throws IOException If response could not be read.
+     */
+    private void readObject(final JsonReader reader) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "document":
+                    if (JsonUtil.isObject(reader)) {
+                        mDocument = new KYCDocument(reader);
+                    }
+                    break;
+                case "chipResult":
+                    if (JsonUtil.isObject(reader)) {
+                        mChipNfc = new KYCChipNfc(reader);
+                    }
+                    break;
+                case "face":
+                    if (JsonUtil.isObject(reader)) {
+                        mFace = new KYCFace(reader);
+                    }
+                    break;
+                case "enhancedLiveness":
+                    if (JsonUtil.isObject(reader)) {
+                        mEnhancedLiveness = new KYCEnhancedLiveness(reader);
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+    }
+
+    //endregion
+
 }
@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers.communication;
+
+import android.util.JsonReader;
+
+import com.thalesgroup.kyc.idv.helpers.util.JsonUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Verification backend operation envelope, holding the operation {@code id}, {@code status} and {@code state.result}.
+ *
+ * The response is bound in a single streaming pass, without building an intermediate {@code JSONObject} tree.
+ * Custom {@link KYCTransport} implementations use {@link #parse(InputStream)} or {@link #parse(String)} to build the
+ * response they pass to {@link KYCTransport.ResponseHandler#onSuccess}.
+ */
+public final class KYCServerResponse {
+
+    //region Definition
+
+    private final String mId;
+    private final String mStatus;
+    private final KYCResponse mResult;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code KYCServerResponse} instance.
+     *
+     * @param reader Reader positioned on the response received from verification server.
+     * @throws IOException If response could not be read.
+     */
+    private KYCServerResponse(@NonNull final JsonReader reader) throws IOException {
+        String id = null;
+        String status = null;
+        KYCResponse result = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = JsonUtil.readString(reader, null);
+                    break;
+                case "status":
+                    status = JsonUtil.readString(reader, null);
+                    break;
+                case "state":
+                    if (JsonUtil.isObject(reader)) {
+                        result = readState(reader);
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        mId = id;
+        mStatus = status;
+        mResult = result;
+    }
+
+    /**
+     * Parses the response received from verification server.
+     *
+     * @param response Response received from verification server.
+     * @return Parsed response.
+     * @throws IOException If response is not valid.
+     */
+    public static KYCServerResponse parse(@NonNull final String response) throws IOException {
+        try (JsonReader reader = new JsonReader(new StringReader(response))) {
+            return new KYCServerResponse(reader);
+        } catch (final IllegalStateException | NumberFormatException exception) {
+            // Unexpected token, structure does not match the expected response.
+            throw new IOException(exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Parses the response received from verification server while it is read from the connection, without
+     * buffering the body. The stream is not closed, so the caller can consume the rest of the body.
+     *
+     * @param response Response body received from verification server.
+     * @return Parsed response.
+     * @throws IOException If response could not be read or is not valid.
+     */
+    public static KYCServerResponse parse(@NonNull final InputStream response) throws IOException {
+        // Not closed, closing the reader would close the connection stream before it is fully consumed.
+        final JsonReader reader = new JsonReader(new InputStreamReader(response, StandardCharsets.UTF_8));
+        try {
+            return new KYCServerResponse(reader);
+        } catch (final IllegalStateException | NumberFormatException exception) {
+            // Unexpected token, structure does not match the expected response.
+            throw new IOException(exception.getMessage(), exception);
+        }
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Gets the operation id.
+     *
+     * @return Operation id or {@code null} if not present.
+     */
+    public String getId() {
+        return mId;
+    }
+
+    /**
+     * Gets the operation status.
+     *
+     * @return Operation status or {@code null} if not present.
+     */
+    public String getStatus() {
+        return mStatus;
+    }
+
+    /**
+     * Gets the operation result.
+     *
+     * @return Operation result.
+     * @throws IOException If result is not present in the response.
+     */
+    public KYCResponse getResult() throws IOException {
+        if (mResult == null) {
+            throw new IOException("No value for state.result");
+        }
+
+        return mResult;
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Binds the {@code state} object, which wraps the operation result.
+     *
+     * @param reader Reader positioned on the {@code state} value.
+     * @return Operation result or {@code null} if not present.
+     * @throws IOException If response could not be read.
+     */
+    private static KYCResponse readState(final JsonReader reader) throws IOException {
+        KYCResponse result = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("result")) {
+                reader.skipValue();
+            } else if (JsonUtil.isObject(reader)) {
+                result = new KYCResponse(reader);
+            }
+        }
+        reader.endObject();
+
+        return result;
+    }
+
+    //endregion
+}
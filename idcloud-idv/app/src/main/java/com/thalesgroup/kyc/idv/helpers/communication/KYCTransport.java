@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers.communication;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transport layer used to exchange {@code KYCRequest} with the verification backend.
+ */
+public interface KYCTransport {
+
+    /**
+     * Status code reported when no HTTP response was received because of a timeout or a dropped connection. Sending
+     * the request again may succeed.
+     */
+    int STATUS_NO_RESPONSE = -1;
+
+    /**
+     * Status code reported when the exchange failed for a non communication related reason.
+     */
+    int STATUS_UNKNOWN = -2;
+
+    /**
+     * Status code reported when the request was cancelled.
+     */
+    int STATUS_CANCELLED = -3;
+
+    /**
+     * Status code reported when no HTTP response was received and sending the request again does not help, e.g. the
+     * host is unknown or the TLS handshake or the certificate check failed.
+     */
+    int STATUS_CONNECTION_FAILED = -4;
+
+    /**
+     * Status code reported when the backend rejected the request in its current encoding, e.g. compressed, and the
+     * transport changed it. The request must be sent again right away as a new attempt.
+     */
+    int STATUS_RESEND = -5;
+
+    /**
+     * Response callback.
+     */
+    interface ResponseHandler {
+
+        /**
+         * Successful HTTP exchange.
+         *
+         * @param statusCode HTTP status code.
+         * @param headers    Response headers, keys are case insensitive.
+         * @param response   Response body, bound while received, or {@code null} if empty.
+         */
+        void onSuccess(int statusCode, Map<String, List<String>> headers, KYCServerResponse response);
+
+        /**
+         * Failed HTTP exchange.
+         *
+         * @param statusCode HTTP status code or one of the {@code STATUS_} codes.
+         * @param error      Error description.
+         */
+        void onFailure(int statusCode, String error);
+    }
+
+    /**
+     * Executes the request asynchronously. The handler is called on a transport thread.
+     *
+     * @param request Request.
+     * @param handler Callback.
+     */
+    void execute(KYCRequest request, ResponseHandler handler);
+
+    /**
+     * Opens a connection to the host of the given URL ahead of time, so the next request does not pay the DNS, TCP
+     * and TLS handshakes. Does nothing if the host was reached recently.
+     *
+     * @param url URL of the host.
+     */
+    void warmUp(URL url);
+}
@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.idv.helpers.communication;
+
+import android.util.Base64;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.Reader;
+import java.util.Map;
+
+/**
+ * Builders of the verification request bodies which do not depend on the application state.
+ *
+ * The builders only use JSON and Base64, so they can also be exercised outside of the application (benchmarks).
+ */
+final class KYCVerificationJson {
+
+    //region Life Cycle
+
+    private KYCVerificationJson() {
+        // Utility class.
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Creates the HTTP JSON body for the NFC verification.
+     *
+     * @param com       EF.COM of the chip.
+     * @param sod       EF.SOD of the chip.
+     * @param dg        Data groups read from the chip.
+     * @param status    Read status of each data group.
+     * @param signature Active authentication signature.
+     * @param name      Verification scenario.
+     * @return JSON representation of the data.
+     * @throws JSONException If error occured while setting up JSON object.
+     */
+    static JSONObject nfcVerification(final byte[] com,
+                                      final byte[] sod,
+                                      final Map<String, byte[]> dg,
+                                      final Map<String, Integer> status,
+                                      final byte[] signature,
+                                      final String name) throws JSONException {
+        final JSONObject chipData = new JSONObject();
+        final JSONObject dgJson = new JSONObject();
+        final JSONObject statusJson = new JSONObject();
+
+        try {
+            // DG
+            for (final Map.Entry<String, byte[]> entry : dg.entrySet()) {
+                dgJson.put(entry.getKey(), Base64.encodeToString(entry.getValue(), Base64.NO_WRAP));
+            }
+
+            // Status
+            for (final Map.Entry<String, Integer> entry : status.entrySet()) {
+                statusJson.put(entry.getKey(), Integer.toString(entry.getValue()));
+            }
+
+            // ChipData
+            chipData.put("com", Base64.encodeToString(com, Base64.NO_WRAP));
+            chipData.put("sod", Base64.encodeToString(sod, Base64.NO_WRAP));
+            chipData.put("dg", dgJson);
+            chipData.put("status", statusJson);
+            chipData.put("signature", Base64.encodeToString(signature, Base64.NO_WRAP));
+            chipData.put("version", "2");
+        }
+        catch(Exception e) {
+        }
+
+        // Input is object containing document and optionally face.
+        final JSONObject input = new JSONObject();
+
+        input.put("chipData", chipData);
+        input.put("channel", "defaultchip");
+
+        // Build final JSON.
+        final JSONObject json = new JSONObject();
+        json.put("name", name);
+        json.put("input", input);
+
+        return json;
+    }
+
+    /**
+     * Creates the HTTP JSON body for the enhanced liveness verification.
+     *
+     * Only the first 3 frames and the meta data expected by the backend are kept from the Aware server package, which
+     * is read as a stream instead of being parsed as a whole.
+     *
+     * @param enhancedSelfieJson Aware server data, closed once read.
+     * @param name               Verification scenario.
+     * @return JSON representation of the data.
+     * @throws JSONException If error occurred while setting up JSON object.
+     */
+    static JSONObject enhancedLiveness(final Reader enhancedSelfieJson, final String name) throws JSONException {
+        // Read only the first 3 frames and the meta data expected by the backend from the Aware data.
+        final KYCLivenessPackage serverPackage = KYCLivenessPackage.read(enhancedSelfieJson,
+                                                                         3,
+                                                                         "client_device_brand",
+                                                                         "client_device_model",
+                                                                         "client_os_version",
+                                                                         "client_version",
+                                                                         "localization",
+                                                                         "programming_language_version");
+
+        final JSONObject newServerData = new JSONObject();
+        final JSONObject newWorkflowData = new JSONObject();
+
+        // New Workflow Data
+        newWorkflowData.put("workflow", "charlie4");
+        newWorkflowData.put("frames", serverPackage.getFrames());
+
+        // Rebuild Aware server data
+        final JSONObject video = new JSONObject();
+        video.put("meta_data", serverPackage.getMetaData());
+        video.put("workflow_data", newWorkflowData);
+        newServerData.put("video", video);
+
+        // Build final JSON.
+        final JSONObject json = new JSONObject();
+        json.put("name", name);
+
+        final JSONObject input = new JSONObject();
+        input.put("enhancedLiveness", newServerData);
+        json.put("input", input);
+
+        return json;
+    }
+
+    //endregion
+}
@@ -28,6 +28,7 @@
 package com.thalesgroup.kyc.idv.helpers.util;
 
 import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
 import android.util.Base64;
 
 import java.io.BufferedInputStream;
@@ -58,6 +59,42 @@ public class ImageUtil {
         return stream.toByteArray();
     }
 
+    /**
+     * Checks if an encoded image is a JPEG.
+     *
+     * @param image Encoded image.
+     * @return {@code True} if JPEG, else {@code false}.
+     */
+    public static boolean isJpeg(final byte[] image) {
+        return image != null
+                && image.length > 2
+                && (image[0] & 0xFF) == 0xFF
+                && (image[1] & 0xFF) == 0xD8
+                && (image[2] & 0xFF) == 0xFF;
+    }
+
+    /**
+     * Converts an encoded image to JPEG. JPEG images are returned untouched.
+     *
+     * @param image Encoded image.
+     * @return JPEG image or {@code null} if it cannot be decoded.
+     */
+    public static byte[] toJpeg(final byte[] image) {
+        if (image == null || isJpeg(image)) {
+            return image;
+        }
+
+        final Bitmap bitmap = BitmapFactory.decodeByteArray(image, 0, image.length);
+        if (bitmap == null) {
+            return null;
+        }
+
+        final byte[] jpeg = bitmapToBytes(bitmap, Bitmap.CompressFormat.JPEG);
+        bitmap.recycle();
+
+        return jpeg;
+    }
+
     /**
      * Encodes the input byte array as Base64.
      *
@@ -27,6 +27,8 @@
 
 package com.thalesgroup.kyc.idv.helpers.util;
 
+import android.util.JsonReader;
+import android.util.JsonToken;
 import android.util.Log;
 
 import com.thalesgroup.kyc.idv.BuildConfig;
@@ -35,6 +37,7 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -134,6 +137,137 @@ public class JsonUtil {
         }
     }
 
+    /**
+     * Reads the next value from {@code JsonReader} as {@code String}.
+     *
+     * @param reader
+     *         Input {@code JsonReader} positioned on the value.
+     * @param defaultValue
+     *         Default value if the value is {@code null} or not a primitive.
+     * @return Parsed value or default value.
+     * @throws IOException If value could not be read.
+     */
+    public static String readString(final JsonReader reader, final String defaultValue) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+            case BOOLEAN:
+                return String.valueOf(reader.nextBoolean());
+            case NULL:
+                reader.nextNull();
+                return defaultValue;
+            default:
+                reader.skipValue();
+                return defaultValue;
+        }
+    }
+
+    /**
+     * Reads the next value from {@code JsonReader} as {@code int}.
+     *
+     * @param reader
+     *         Input {@code JsonReader} positioned on the value.
+     * @param defaultValue
+     *         Default value if the value is missing or not a number.
+     * @return Parsed value or default value.
+     * @throws IOException If value could not be read.
+     */
+    public static int readInt(final JsonReader reader, final int defaultValue) throws IOException {
+        final String value = readString(reader, null);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return (int) Double.parseDouble(value);
+        } catch (final NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Reads the next value from {@code JsonReader} as {@code boolean}.
+     *
+     * @param reader
+     *         Input {@code JsonReader} positioned on the value.
+     * @param defaultValue
+     *         Default value if the value is missing or not a boolean.
+     * @return Parsed value or default value.
+     * @throws IOException If value could not be read.
+     */
+    public static boolean readBoolean(final JsonReader reader, final boolean defaultValue) throws IOException {
+        final String value = readString(reader, null);
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        } else if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+
+        return defaultValue;
+    }
+
+    /**
+     * Reads the next value from {@code JsonReader} as {@code String[]}.
+     *
+     * @param reader
+     *         Input {@code JsonReader} positioned on the value.
+     * @param defaultValue
+     *         Default value if the value is not an array.
+     * @return Parsed value or default value.
+     * @throws IOException If value could not be read.
+     */
+    public static String[] readStringArray(final JsonReader reader, final String[] defaultValue) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return defaultValue;
+        }
+
+        final List<String> strings = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            strings.add(readString(reader, null));
+        }
+        reader.endArray();
+
+        return strings.toArray(new String[0]);
+    }
+
+    /**
+     * Checks whether the next value is a JSON object, skipping it otherwise.
+     *
+     * @param reader
+     *         Input {@code JsonReader} positioned on the value.
+     * @return {@code True} if the reader is positioned on the beginning of an object.
+     * @throws IOException If value could not be read.
+     */
+    public static boolean isObject(final JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+            return true;
+        }
+
+        reader.skipValue();
+        return false;
+    }
+
+    /**
+     * Logs a JSON document in debug builds.
+     *
+     * @param jsonStr
+     *         JSON document, nothing is logged if empty.
+     * @param name
+     *         Name of the document in the log.
+     */
+    public static void logJson(final String jsonStr, final String name) {
+        if (BuildConfig.DEBUG && jsonStr != null && !jsonStr.isEmpty()) {
+            try {
+                logJson(new JSONObject(jsonStr), name);
+            } catch (final JSONException exception) {
+                Log.w("KYC", name + " is not valid JSON: " + exception.getMessage());
+            }
+        }
+    }
+
     public static void logJson(JSONObject json, String name) {
         if (BuildConfig.DEBUG) {
             try {
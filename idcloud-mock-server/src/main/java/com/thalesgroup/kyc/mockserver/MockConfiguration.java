@@ -0,0 +1,273 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.mockserver;
+
+/**
+ * Behaviour of the mock verification server, parsed from the command line.
+ */
+final class MockConfiguration {
+
+    //region Definition
+
+    private int mPort = 8080;
+    private String mBasePath = "/api/v1/verifications";
+    private long mRunningMs = 2000;
+    private long mLatencyMs;
+    private long mBandwidthKbps;
+    private int mErrorCode;
+    private int mErrorEvery;
+    private int mRetryAfterSeconds;
+    private boolean mGzip = true;
+    private int mLoseEvery;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code MockConfiguration} instance from the command line arguments.
+     *
+     * @param args Arguments in the form {@code --name value}.
+     * @throws IllegalArgumentException If an argument is unknown or invalid.
+     */
+    MockConfiguration(final String[] args) {
+        for (int index = 0; index < args.length; index += 2) {
+            if (index + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[index]);
+            }
+
+            final String value = args[index + 1];
+            switch (args[index]) {
+                case "--port":
+                    mPort = parseInt(args[index], value);
+                    break;
+                case "--base-path":
+                    mBasePath = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    break;
+                case "--running-ms":
+                    mRunningMs = parseInt(args[index], value);
+                    break;
+                case "--latency-ms":
+                    mLatencyMs = parseInt(args[index], value);
+                    break;
+                case "--bandwidth-kbps":
+                    mBandwidthKbps = parseInt(args[index], value);
+                    break;
+                case "--error-code":
+                    mErrorCode = parseInt(args[index], value);
+                    if (!isDocumentError(mErrorCode) && !isFaceError(mErrorCode)) {
+                        throw new IllegalArgumentException("Unsupported error code " + mErrorCode);
+                    }
+                    break;
+                case "--error-every":
+                    mErrorEvery = parseInt(args[index], value);
+                    break;
+                case "--retry-after":
+                    mRetryAfterSeconds = parseInt(args[index], value);
+                    break;
+                case "--lose-every":
+                    mLoseEvery = parseInt(args[index], value);
+                    break;
+                case "--gzip":
+                    mGzip = parseBoolean(args[index], value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + args[index]);
+            }
+        }
+
+        if (mErrorCode != 0 && mErrorEvery == 0) {
+            mErrorEvery = 1;
+        }
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Gets the listening port.
+     *
+     * @return Port.
+     */
+    int getPort() {
+        return mPort;
+    }
+
+    /**
+     * Gets the path of the verification endpoint, without trailing slash.
+     *
+     * @return Base path.
+     */
+    String getBasePath() {
+        return mBasePath;
+    }
+
+    /**
+     * Gets the duration a verification step stays in the {@code Running} state.
+     *
+     * @return Duration in milliseconds.
+     */
+    long getRunningMs() {
+        return mRunningMs;
+    }
+
+    /**
+     * Gets the delay added before each response.
+     *
+     * @return Delay in milliseconds.
+     */
+    long getLatencyMs() {
+        return mLatencyMs;
+    }
+
+    /**
+     * Gets the bandwidth limit applied to request and response bodies.
+     *
+     * @return Bandwidth in kilobits per second, {@code 0} if not limited.
+     */
+    long getBandwidthKbps() {
+        return mBandwidthKbps;
+    }
+
+    /**
+     * Gets the error code injected for the selected sessions.
+     *
+     * @param sessionNumber Sequence number of the session, starting with 1.
+     * @return Error code or {@code 0} if the session succeeds.
+     */
+    int getErrorCode(final long sessionNumber) {
+        return mErrorEvery > 0 && sessionNumber % mErrorEvery == 0 ? mErrorCode : 0;
+    }
+
+    /**
+     * Gets the value of the {@code Retry-After} header sent while a step is running.
+     *
+     * @return Delay in seconds, {@code 0} if the header is not sent.
+     */
+    int getRetryAfterSeconds() {
+        return mRetryAfterSeconds;
+    }
+
+    /**
+     * Checks if the response to the request is lost: the request is processed, but answered with {@code 502} as if
+     * a gateway had dropped the response.
+     *
+     * @param requestNumber Sequence number of the request, starting with 1.
+     * @return {@code True} if lost, else {@code false}.
+     */
+    boolean isResponseLost(final long requestNumber) {
+        return mLoseEvery > 0 && requestNumber % mLoseEvery == 0;
+    }
+
+    /**
+     * Checks if gzip content encoding is supported.
+     *
+     * @return {@code True} if compressed requests are accepted and responses compressed on demand, {@code false} if
+     * compressed requests are rejected with {@code 415}.
+     */
+    boolean isGzip() {
+        return mGzip;
+    }
+
+    /**
+     * Checks if the error code is reported by the document verification.
+     *
+     * @param code Error code.
+     * @return {@code True} if document error, else {@code false}.
+     */
+    static boolean isDocumentError(final int code) {
+        return (code >= 4600 && code <= 4604) || code == 5301;
+    }
+
+    /**
+     * Checks if the error code is reported by the face verification.
+     *
+     * @param code Error code.
+     * @return {@code True} if face error, else {@code false}.
+     */
+    static boolean isFaceError(final int code) {
+        return code >= 5331 && code <= 5333;
+    }
+
+    @Override
+    public String toString() {
+        return "port=" + mPort
+                + ", basePath=" + mBasePath
+                + ", runningMs=" + mRunningMs
+                + ", latencyMs=" + mLatencyMs
+                + ", bandwidthKbps=" + mBandwidthKbps
+                + ", errorCode=" + mErrorCode
+                + ", errorEvery=" + mErrorEvery
+                + ", retryAfter=" + mRetryAfterSeconds
+                + ", loseEvery=" + mLoseEvery
+                + ", gzip=" + mGzip;
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Parses a positive integer argument.
+     *
+     * @param name  Argument name.
+     * @param value Argument value.
+     * @return Value.
+     * @throws IllegalArgumentException If value is not a positive integer.
+     */
+    private static int parseInt(final String name, final String value) {
+        try {
+            final int result = Integer.parseInt(value);
+            if (result < 0) {
+                throw new IllegalArgumentException("Negative value for " + name);
+            }
+            return result;
+        } catch (final NumberFormatException exception) {
+            throw new IllegalArgumentException("Invalid value for " + name + ": " + value, exception);
+        }
+    }
+
+    /**
+     * Parses a boolean argument.
+     *
+     * @param name  Argument name.
+     * @param value Argument value.
+     * @return Value.
+     * @throws IllegalArgumentException If value is neither {@code true} nor {@code false}.
+     */
+    private static boolean parseBoolean(final String name, final String value) {
+        if ("true".equals(value) || "false".equals(value)) {
+            return Boolean.parseBoolean(value);
+        }
+
+        throw new IllegalArgumentException("Invalid value for " + name + ": " + value);
+    }
+
+    //endregion
+}
@@ -0,0 +1,450 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.mockserver;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Handles the verification endpoints used by both sample applications:
+ * <ul>
+ *     <li>{@code POST <base>}: creates the session, starts the document verification if the document is attached.</li>
+ *     <li>{@code GET <base>/<id>}: polls the session.</li>
+ *     <li>{@code PATCH <base>/<id>/state/steps/<step>}: sends {@code frontWhiteImage}, {@code backWhiteImage},
+ *     {@code verifyResults}, {@code faceMatch} or {@code enhancedLiveness}.</li>
+ * </ul>
+ */
+final class MockHandler implements HttpHandler {
+
+    //region Definition
+
+    private static final String METHOD_GET = "GET";
+    private static final String METHOD_POST = "POST";
+    private static final String METHOD_PATCH = "PATCH";
+    private static final String METHOD_OVERRIDE = "X-HTTP-Method-Override";
+    private static final String STEPS = "/state/steps/";
+    private static final String GZIP = "gzip";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String REQUEST_NUMBER = "requestNumber";
+    private static final int CHUNK_SIZE = 8 * 1024;
+    private static final Pattern SCENARIO = Pattern.compile("\"name\"\\s*:\\s*\"([^\"]*)\"");
+
+    private final MockConfiguration mConfiguration;
+    private final Map<String, MockSession> mSessions = new ConcurrentHashMap<>();
+    private final Map<String, MockSession> mIdempotencyKeys = new ConcurrentHashMap<>();
+    private final AtomicLong mSessionCount = new AtomicLong();
+    private final AtomicLong mRequestCount = new AtomicLong();
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code MockHandler} instance.
+     *
+     * @param configuration Server configuration.
+     */
+    MockHandler(final MockConfiguration configuration) {
+        mConfiguration = configuration;
+    }
+
+    //endregion
+
+    //region Public API
+
+    @Override
+    public void handle(final HttpExchange exchange) throws IOException {
+        exchange.setAttribute(REQUEST_NUMBER, mRequestCount.incrementAndGet());
+
+        try {
+            byte[] body = readBody(exchange.getRequestBody());
+            sleep(mConfiguration.getLatencyMs());
+
+            final String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            if (encoding != null && !encoding.equalsIgnoreCase("identity")) {
+                if (!mConfiguration.isGzip() || !encoding.equalsIgnoreCase(GZIP)) {
+                    sendError(exchange, 415, "Unsupported content encoding " + encoding);
+                    return;
+                }
+                body = gunzip(body);
+            }
+
+            final String path = exchange.getRequestURI().getPath().substring(mConfiguration.getBasePath().length());
+            final String method = getMethod(exchange);
+
+            if (path.isEmpty() || path.equals("/")) {
+                if (METHOD_POST.equals(method)) {
+                    create(exchange, new String(body, StandardCharsets.UTF_8));
+                } else {
+                    sendError(exchange, 405, "Method not allowed");
+                }
+                return;
+            }
+
+            final int stepIndex = path.indexOf(STEPS);
+            final String sessionId = path.substring(1, stepIndex < 0 ? path.length() : stepIndex);
+            final MockSession session = mSessions.get(sessionId);
+            if (session == null) {
+                sendError(exchange, 404, "Unknown session " + sessionId);
+            } else if (stepIndex < 0 && METHOD_GET.equals(method)) {
+                send(exchange, session);
+            } else if (stepIndex >= 0 && METHOD_PATCH.equals(method)) {
+                step(exchange, session, path.substring(stepIndex + STEPS.length()));
+            } else {
+                sendError(exchange, 405, "Method not allowed");
+            }
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Gets the number of sessions created.
+     *
+     * @return Number of sessions.
+     */
+    long getSessionCount() {
+        return mSessionCount.get();
+    }
+
+    /**
+     * Gets the number of requests received.
+     *
+     * @return Number of requests.
+     */
+    long getRequestCount() {
+        return mRequestCount.get();
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Creates a verification session.
+     *
+     * @param exchange HTTP exchange.
+     * @param body     Request body.
+     * @throws IOException          If response cannot be sent.
+     * @throws InterruptedException If interrupted while throttling.
+     */
+    private void create(final HttpExchange exchange, final String body) throws IOException, InterruptedException {
+        final MockSession created = getReplayed(exchange);
+        if (created != null) {
+            send(exchange, created);
+            return;
+        }
+
+        final Matcher matcher = SCENARIO.matcher(body);
+        final String scenario = matcher.find() ? matcher.group(1) : "";
+        final long number = mSessionCount.incrementAndGet();
+        final MockSession session = new MockSession(String.format("mock-%08d", number),
+                                                    scenario,
+                                                    mConfiguration.getErrorCode(number),
+                                                    mConfiguration.getRunningMs());
+        mSessions.put(session.getId(), session);
+        setApplied(exchange, session);
+
+        // IDV sends the document with the session creation, IDV Connect sends it in the following steps.
+        if (body.contains("\"front\"") || body.contains("\"chipData\"")) {
+            session.startDocument(System.currentTimeMillis());
+        }
+
+        send(exchange, session);
+    }
+
+    /**
+     * Handles a verification step.
+     *
+     * @param exchange HTTP exchange.
+     * @param session  Verification session.
+     * @param step     Step name.
+     * @throws IOException          If response cannot be sent.
+     * @throws InterruptedException If interrupted while waiting for the verification.
+     */
+    private void step(final HttpExchange exchange, final MockSession session, final String step)
+            throws IOException, InterruptedException {
+        if (getReplayed(exchange) == session) {
+            send(exchange, session);
+            return;
+        }
+
+        switch (step) {
+            case "frontWhiteImage":
+            case "backWhiteImage":
+                break;
+            case "verifyResults":
+                // Answered once the document is verified, the client does not poll this step.
+                waitUntil(session.startDocument(System.currentTimeMillis()));
+                break;
+            case "faceMatch":
+                final long until = session.startFace(System.currentTimeMillis());
+                // Only the liveness scenarios poll the face verification.
+                if (!session.isFacePolled()) {
+                    waitUntil(until);
+                }
+                break;
+            case "enhancedLiveness":
+                session.startFace(System.currentTimeMillis());
+                break;
+            default:
+                sendError(exchange, 404, "Unknown step " + step);
+                return;
+        }
+
+        setApplied(exchange, session);
+        send(exchange, session);
+    }
+
+    /**
+     * Gets the session to which a request with the same {@code Idempotency-Key} was already applied.
+     *
+     * @param exchange HTTP exchange.
+     * @return Session or {@code null} if the request is new.
+     */
+    private MockSession getReplayed(final HttpExchange exchange) {
+        final String key = exchange.getRequestHeaders().getFirst(IDEMPOTENCY_KEY);
+        return key == null ? null : mIdempotencyKeys.get(key);
+    }
+
+    /**
+     * Remembers the {@code Idempotency-Key} of an applied request, a retry is answered without applying it again.
+     *
+     * @param exchange HTTP exchange.
+     * @param session  Verification session.
+     */
+    private void setApplied(final HttpExchange exchange, final MockSession session) {
+        final String key = exchange.getRequestHeaders().getFirst(IDEMPOTENCY_KEY);
+        if (key != null) {
+            mIdempotencyKeys.put(key, session);
+        }
+    }
+
+    /**
+     * Gets the request method. The {@code X-HTTP-Method-Override} header is honoured, so that clients which do not
+     * support {@code PATCH} (e.g. {@code HttpURLConnection} outside Android) can reach the verification steps.
+     *
+     * @param exchange HTTP exchange.
+     * @return Request method.
+     */
+    private static String getMethod(final HttpExchange exchange) {
+        final String override = exchange.getRequestHeaders().getFirst(METHOD_OVERRIDE);
+        return override != null && METHOD_POST.equals(exchange.getRequestMethod())
+                ? override.toUpperCase(Locale.ROOT)
+                : exchange.getRequestMethod();
+    }
+
+    /**
+     * Sends the session.
+     *
+     * @param exchange HTTP exchange.
+     * @param session  Verification session.
+     * @throws IOException          If response cannot be sent.
+     * @throws InterruptedException If interrupted while throttling.
+     */
+    private void send(final HttpExchange exchange, final MockSession session)
+            throws IOException, InterruptedException {
+        if (mConfiguration.isResponseLost((Long) exchange.getAttribute(REQUEST_NUMBER))) {
+            sendError(exchange, 502, "Response lost");
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        if (MockSession.STATUS_RUNNING.equals(session.getStatus(now)) && mConfiguration.getRetryAfterSeconds() > 0) {
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(mConfiguration.getRetryAfterSeconds()));
+        }
+
+        sendJson(exchange, 200, session.toJson(now));
+    }
+
+    /**
+     * Sends an error.
+     *
+     * @param exchange HTTP exchange.
+     * @param code     HTTP status code.
+     * @param message  Error message.
+     * @throws IOException          If response cannot be sent.
+     * @throws InterruptedException If interrupted while throttling.
+     */
+    private void sendError(final HttpExchange exchange, final int code, final String message)
+            throws IOException, InterruptedException {
+        sendJson(exchange, code, "{\"message\":\"" + message.replace("\"", "'") + "\"}");
+    }
+
+    /**
+     * Sends a JSON response, throttled to the configured bandwidth.
+     *
+     * @param exchange HTTP exchange.
+     * @param code     HTTP status code.
+     * @param json     Response body.
+     * @throws IOException          If response cannot be sent.
+     * @throws InterruptedException If interrupted while throttling.
+     */
+    private void sendJson(final HttpExchange exchange, final int code, final String json)
+            throws IOException, InterruptedException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (acceptsGzip(exchange)) {
+            bytes = gzip(bytes);
+            exchange.getResponseHeaders().set("Content-Encoding", GZIP);
+        }
+        exchange.sendResponseHeaders(code, bytes.length);
+
+        final OutputStream output = exchange.getResponseBody();
+        final long start = System.currentTimeMillis();
+        for (int offset = 0; offset < bytes.length; offset += CHUNK_SIZE) {
+            final int length = Math.min(CHUNK_SIZE, bytes.length - offset);
+            output.write(bytes, offset, length);
+            throttle(start, offset + length);
+        }
+        output.flush();
+    }
+
+    /**
+     * Reads the request body, throttled to the configured bandwidth.
+     *
+     * @param input Request body.
+     * @return Body.
+     * @throws IOException          If body cannot be read.
+     * @throws InterruptedException If interrupted while throttling.
+     */
+    private byte[] readBody(final InputStream input) throws IOException, InterruptedException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[CHUNK_SIZE];
+        final long start = System.currentTimeMillis();
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            body.write(buffer, 0, read);
+            throttle(start, body.size());
+        }
+
+        return body.toByteArray();
+    }
+
+    /**
+     * Checks if the response can be gzip compressed.
+     *
+     * @param exchange HTTP exchange.
+     * @return {@code True} if enabled and accepted by the client, else {@code false}.
+     */
+    private boolean acceptsGzip(final HttpExchange exchange) {
+        final String accept = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        return mConfiguration.isGzip() && accept != null && accept.toLowerCase(Locale.US).contains(GZIP);
+    }
+
+    /**
+     * Compresses data with gzip.
+     *
+     * @param data Data.
+     * @return Compressed data.
+     * @throws IOException If data cannot be compressed.
+     */
+    private static byte[] gzip(final byte[] data) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(data);
+        }
+
+        return output.toByteArray();
+    }
+
+    /**
+     * Decompresses gzip data.
+     *
+     * @param data Compressed data.
+     * @return Data.
+     * @throws IOException If data is not valid gzip.
+     */
+    private static byte[] gunzip(final byte[] data) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(data.length * 4);
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data), CHUNK_SIZE)) {
+            final byte[] buffer = new byte[CHUNK_SIZE];
+            int read;
+            while ((read = gzip.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+        }
+
+        return output.toByteArray();
+    }
+
+    /**
+     * Waits until the transferred bytes match the configured bandwidth.
+     *
+     * @param start       Start of the transfer in milliseconds.
+     * @param transferred Number of bytes transferred so far.
+     * @throws InterruptedException If interrupted.
+     */
+    private void throttle(final long start, final long transferred) throws InterruptedException {
+        final long bandwidthKbps = mConfiguration.getBandwidthKbps();
+        if (bandwidthKbps > 0) {
+            waitUntil(start + transferred * 8 / bandwidthKbps);
+        }
+    }
+
+    /**
+     * Waits until the given time.
+     *
+     * @param time Time in milliseconds.
+     * @throws InterruptedException If interrupted.
+     */
+    private static void waitUntil(final long time) throws InterruptedException {
+        sleep(time - System.currentTimeMillis());
+    }
+
+    /**
+     * Sleeps for the given duration.
+     *
+     * @param duration Duration in milliseconds, nothing happens if not positive.
+     * @throws InterruptedException If interrupted.
+     */
+    private static void sleep(final long duration) throws InterruptedException {
+        if (duration > 0) {
+            Thread.sleep(duration);
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.mockserver;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the IdCloud verification backend, so that the client throughput and latency can be measured
+ * offline and deterministically.
+ */
+public final class MockServer {
+
+    //region Definition
+
+    private static final String USAGE = "Usage: MockServer [--port 8080] [--base-path /api/v1/verifications]"
+            + " [--running-ms 2000] [--latency-ms 0] [--bandwidth-kbps 0]"
+            + " [--error-code 4600-4604|5301|5331-5333] [--error-every 1] [--retry-after 0]";
+
+    //endregion
+
+    //region Life Cycle
+
+    private MockServer() {
+        // Utility class.
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Starts the server until the process is stopped.
+     *
+     * @param args Command line arguments, see {@link #USAGE}.
+     * @throws IOException If server cannot be started.
+     */
+    public static void main(final String[] args) throws IOException {
+        final MockConfiguration configuration;
+        try {
+            configuration = new MockConfiguration(args);
+        } catch (final IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+
+        final MockHandler handler = new MockHandler(configuration);
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        final HttpServer server = HttpServer.create(new InetSocketAddress(configuration.getPort()), 0);
+        server.createContext(configuration.getBasePath(), handler);
+        server.setExecutor(executor);
+        server.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(0);
+            executor.shutdownNow();
+            System.out.println("Sessions: " + handler.getSessionCount() + ", requests: " + handler.getRequestCount());
+        }));
+
+        System.out.println("Mock verification server listening on http://0.0.0.0:" + server.getAddress().getPort()
+                + configuration.getBasePath() + " (" + configuration + ")");
+    }
+
+    //endregion
+}
@@ -0,0 +1,212 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Thales DIS
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * IMPORTANT: This source code is intended to serve training information purposes only.
+ *            Please make sure to review our IdCloud documentation, including security guidelines.
+ */
+
+package com.thalesgroup.kyc.mockserver;
+
+/**
+ * Verification session of the mock server.
+ * <p>
+ * The document is verified first, then the face if the scenario requires it. Each verification stays in the
+ * {@code Running} state for the configured duration, so that the client polling is exercised.
+ */
+final class MockSession {
+
+    //region Definition
+
+    static final String STATUS_WAITING = "Waiting";
+    static final String STATUS_RUNNING = "Running";
+    static final String STATUS_FINISHED = "Finished";
+    static final String STATUS_FAILED = "Failed";
+
+    private static final String DOCUMENT = "{\"result\":\"Passed\",\"firstName\":\"John\",\"surname\":\"Doe\","
+            + "\"gender\":\"M\",\"nationality\":\"FRA\",\"birthDate\":\"1980-01-01\",\"expiryDate\":\"2030-01-01\","
+            + "\"documentType\":\"Passport\",\"documentNumber\":\"12AB34567\",\"totalVerifications\":1,"
+            + "\"verificationResults\":{\"result\":\"Passed\",\"firstName\":\"John\",\"surname\":\"Doe\","
+            + "\"gender\":\"M\",\"nationality\":\"FRA\",\"birthDate\":\"1980-01-01\","
+            + "\"expirationDate\":\"2030-01-01\",\"documentType\":\"Passport\",\"documentNumber\":\"12AB34567\","
+            + "\"totalVerificationsDone\":1,\"fields\":{\"OCR\":[],\"MRZ\":[],\"MAGSTRIPE\":[],\"BARCODE_2D\":[],"
+            + "\"NATIVE\":[]},\"template\":{\"id\":\"mock\",\"issuerName\":\"Mock\"},\"alerts\":[]}}";
+    private static final String FACE = "{\"result\":\"Passed\",\"score\":95}";
+
+    private final String mId;
+    private final String mScenario;
+    private final int mErrorCode;
+    private final long mRunningMs;
+    private String mStatus = STATUS_WAITING;
+    private boolean mStarted;
+    private boolean mFaceStep;
+    private long mRunningUntil;
+
+    //endregion
+
+    //region Life Cycle
+
+    /**
+     * Creates a new {@code MockSession} instance.
+     *
+     * @param id        Session id.
+     * @param scenario  Name of the verification scenario.
+     * @param errorCode Error code to report, {@code 0} if the verification succeeds.
+     * @param runningMs Duration of each verification step.
+     */
+    MockSession(final String id, final String scenario, final int errorCode, final long runningMs) {
+        mId = id;
+        mScenario = scenario;
+        mErrorCode = errorCode;
+        mRunningMs = runningMs;
+    }
+
+    //endregion
+
+    //region Public API
+
+    /**
+     * Gets the session id.
+     *
+     * @return Session id.
+     */
+    String getId() {
+        return mId;
+    }
+
+    /**
+     * Checks if the face is verified after the document.
+     *
+     * @return {@code True} if face is verified, else {@code false}.
+     */
+    boolean hasFace() {
+        return mScenario.contains("Face");
+    }
+
+    /**
+     * Checks if the client polls the result of the face verification, which is the case of the liveness scenarios.
+     *
+     * @return {@code True} if face verification is polled, else {@code false}.
+     */
+    boolean isFacePolled() {
+        return mScenario.contains("Liveness");
+    }
+
+    /**
+     * Starts the document verification.
+     *
+     * @param now Current time in milliseconds.
+     * @return Time when the verification completes.
+     */
+    synchronized long startDocument(final long now) {
+        mFaceStep = false;
+        return start(now);
+    }
+
+    /**
+     * Starts the face verification.
+     *
+     * @param now Current time in milliseconds.
+     * @return Time when the verification completes.
+     */
+    synchronized long startFace(final long now) {
+        mFaceStep = true;
+        return start(now);
+    }
+
+    /**
+     * Gets the current status.
+     *
+     * @param now Current time in milliseconds.
+     * @return Status.
+     */
+    synchronized String getStatus(final long now) {
+        if (STATUS_RUNNING.equals(mStatus) && now >= mRunningUntil) {
+            mStatus = resolve();
+        }
+
+        return mStatus;
+    }
+
+    /**
+     * Gets the session as returned by the verification backend.
+     *
+     * @param now Current time in milliseconds.
+     * @return JSON document.
+     */
+    synchronized String toJson(final long now) {
+        final String status = getStatus(now);
+        final StringBuilder json = new StringBuilder(1024)
+                .append("{\"id\":\"").append(mId)
+                .append("\",\"status\":\"").append(status).append('"');
+
+        if (STATUS_FAILED.equals(status)) {
+            json.append(",\"state\":{\"result\":{\"code\":").append(mErrorCode)
+                .append(",\"message\":\"Injected error ").append(mErrorCode)
+                .append("\",\"type\":\"Error\"}}");
+        } else if (mStarted && !STATUS_RUNNING.equals(status)) {
+            json.append(",\"state\":{\"result\":{\"code\":0,\"message\":\"Verification done\",\"type\":\"Success\"")
+                .append(",\"object\":{\"document\":").append(DOCUMENT);
+            if (mFaceStep) {
+                json.append(",\"face\":").append(FACE);
+            }
+            json.append("}}}");
+        }
+
+        return json.append('}').toString();
+    }
+
+    //endregion
+
+    //region Private Helpers
+
+    /**
+     * Moves the session to the {@code Running} state.
+     *
+     * @param now Current time in milliseconds.
+     * @return Time when the verification completes.
+     */
+    private long start(final long now) {
+        mStarted = true;
+        mStatus = STATUS_RUNNING;
+        mRunningUntil = now + mRunningMs;
+        return mRunningUntil;
+    }
+
+    /**
+     * Gets the status once the current verification step is done.
+     *
+     * @return Status.
+     */
+    private String resolve() {
+        if (!mFaceStep) {
+            if (MockConfiguration.isDocumentError(mErrorCode)) {
+                return STATUS_FAILED;
+            }
+            return hasFace() ? STATUS_WAITING : STATUS_FINISHED;
+        }
+
+        return MockConfiguration.isFaceError(mErrorCode) ? STATUS_FAILED : STATUS_FINISHED;
+    }
+
+    //endregion
+}